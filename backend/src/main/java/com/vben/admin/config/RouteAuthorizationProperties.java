@@ -0,0 +1,66 @@
+package com.vben.admin.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 接口路由授权配置
+ * 声明接口路由（模式 + HTTP 方法）是否允许匿名访问以及需要的权限码，
+ * 与内置白名单一起编译为 {@link com.vben.admin.core.utils.RouteTrie}
+ *
+ * @author vben
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "security.route-authorization")
+public class RouteAuthorizationProperties {
+
+    /**
+     * 路由规则
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    /**
+     * 路由规则
+     */
+    @Data
+    public static class Rule {
+
+        /**
+         * 路由模式（支持 *、{var}、末尾的 **）
+         */
+        private String pattern;
+
+        /**
+         * HTTP 方法，为空表示任意方法
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * 是否允许匿名访问
+         */
+        private boolean permitAll;
+
+        /**
+         * 需要的权限码（菜单 auth_code），为空表示登录即可访问
+         */
+        private String authCode;
+
+        /**
+         * 创建允许匿名访问的规则
+         *
+         * @param pattern 路由模式
+         * @return 路由规则
+         */
+        public static Rule permitAll(String pattern) {
+            Rule rule = new Rule();
+            rule.setPattern(pattern);
+            rule.setPermitAll(true);
+            return rule;
+        }
+    }
+}
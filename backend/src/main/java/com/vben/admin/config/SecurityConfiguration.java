@@ -1,9 +1,14 @@
 package com.vben.admin.config;
 
+import com.vben.admin.core.cache.LoginUserCache;
+import com.vben.admin.core.cache.PermissionCodeCache;
+import com.vben.admin.core.cache.TokenVerificationCache;
 import com.vben.admin.core.exception.CustomAccessDeniedHandler;
 import com.vben.admin.core.exception.CustomAuthenticationEntryPoint;
 import com.vben.admin.core.filter.JwtAuthenticationFilter;
-import com.vben.admin.core.utils.JwtUtils;
+import com.vben.admin.core.filter.RouteAuthorizationTable;
+import com.vben.admin.core.security.OnlineUserRegistry;
+import com.vben.admin.core.token.AccessTokenDenylist;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,14 +22,12 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 /**
  * Spring Security 配置
@@ -36,21 +39,27 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class SecurityConfiguration {
 
-    private final JwtUtils jwtUtils;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final LoginUserCache loginUserCache;
+    private final PermissionCodeCache permissionCodeCache;
+    private final OnlineUserRegistry onlineUserRegistry;
+    private final RouteAuthorizationProperties routeAuthorizationProperties;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity httpSecurity,
                                            AuthenticationEntryPoint authenticationEntryPoint,
                                            AccessDeniedHandler accessDeniedHandler) throws Exception {
-        // 需要排除校验的接口
-        Set<RequestMatcher> ignoreUrls = this.getIgnoreUrls();
+        // 接口路由授权表（白名单 + 配置的路由规则）
+        RouteAuthorizationTable routeAuthorizationTable =
+                new RouteAuthorizationTable(this.getIgnoreUrls(), routeAuthorizationProperties.getRules());
         httpSecurity
                 .sessionManagement(sessionManage -> {
                     // 禁用 Session
                     sessionManage.sessionCreationPolicy(SessionCreationPolicy.STATELESS);
                 })
                 .authorizeHttpRequests(requestMatcherRegistry -> {
-                    requestMatcherRegistry.requestMatchers(ignoreUrls.toArray(new RequestMatcher[0])).permitAll();
+                    requestMatcherRegistry.requestMatchers((RequestMatcher) routeAuthorizationTable::isPermitAll).permitAll();
                     requestMatcherRegistry.anyRequest().authenticated();
                 })
                 .exceptionHandling(exceptionHandlingConfigurer -> {
@@ -63,7 +72,8 @@ public class SecurityConfiguration {
 
         // 添加 JWT 过滤器
         httpSecurity.addFilterBefore(
-                new JwtAuthenticationFilter(jwtUtils, authenticationEntryPoint, accessDeniedHandler, ignoreUrls),
+                new JwtAuthenticationFilter(tokenVerificationCache, accessTokenDenylist, loginUserCache, permissionCodeCache,
+                        onlineUserRegistry, authenticationEntryPoint, accessDeniedHandler, routeAuthorizationTable),
                 UsernamePasswordAuthenticationFilter.class);
 
         return httpSecurity.build();
@@ -74,22 +84,21 @@ public class SecurityConfiguration {
      *
      * @return 忽略的 url
      */
-    private Set<RequestMatcher> getIgnoreUrls() {
-        Set<RequestMatcher> ignoreUrls = new HashSet<>(16);
-        // 白名单：登录、退出登录、刷新token、API文档
-        ignoreUrls.add(new AntPathRequestMatcher("/auth/login"));
-        ignoreUrls.add(new AntPathRequestMatcher("/auth/logout")); // 退出登录允许无token访问
-        ignoreUrls.add(new AntPathRequestMatcher("/auth/refresh"));
-        // Knife4j 文档相关路径
-        ignoreUrls.add(new AntPathRequestMatcher("/doc.html"));
-        ignoreUrls.add(new AntPathRequestMatcher("/v3/api-docs/**"));
-        ignoreUrls.add(new AntPathRequestMatcher("/v3/api-docs"));
-        ignoreUrls.add(new AntPathRequestMatcher("/swagger-ui/**"));
-        ignoreUrls.add(new AntPathRequestMatcher("/swagger-ui.html"));
-        ignoreUrls.add(new AntPathRequestMatcher("/swagger-resources/**"));
-        ignoreUrls.add(new AntPathRequestMatcher("/webjars/**"));
-        ignoreUrls.add(new AntPathRequestMatcher("/favicon.ico"));
-        return ignoreUrls;
+    private List<String> getIgnoreUrls() {
+        return List.of(
+                // 白名单：登录、退出登录（允许无token访问）、刷新token
+                "/auth/login",
+                "/auth/logout",
+                "/auth/refresh",
+                // Knife4j 文档相关路径（** 同时匹配 /v3/api-docs 本身）
+                "/doc.html",
+                "/v3/api-docs/**",
+                "/swagger-ui/**",
+                "/swagger-ui.html",
+                "/swagger-resources/**",
+                "/webjars/**",
+                "/favicon.ico"
+        );
     }
 
     @Bean
@@ -1,6 +1,7 @@
 package com.vben.admin.controller;
 
 import com.vben.admin.core.model.BaseResult;
+import com.vben.admin.core.security.ClientIpResolver;
 import com.vben.admin.core.utils.CookieUtils;
 import com.vben.admin.model.dto.LoginDTO;
 import com.vben.admin.model.vo.LoginResultVO;
@@ -29,13 +30,16 @@ import java.util.List;
 public class AuthController {
 
     private final AuthService authService;
+    private final ClientIpResolver clientIpResolver;
 
     @Operation(summary = "登录", description = "用户登录接口")
     @PostMapping("/login")
     public BaseResult<LoginResultVO> login(
             @Valid @RequestBody LoginDTO loginDTO,
+            HttpServletRequest request,
             HttpServletResponse response) {
-        LoginResultVO result = authService.login(loginDTO);
+        LoginResultVO result = authService.login(loginDTO, clientIpResolver.resolve(request),
+                request.getHeader("User-Agent"));
 
         // 将 refreshToken 设置到 Cookie 中
         if (result.getRefreshToken() != null) {
@@ -49,8 +53,8 @@ public class AuthController {
 
     @Operation(summary = "退出登录", description = "用户退出登录接口")
     @PostMapping("/logout")
-    public BaseResult<Boolean> logout(HttpServletResponse response) {
-        authService.logout();
+    public BaseResult<Boolean> logout(HttpServletRequest request, HttpServletResponse response) {
+        authService.logout(getAccessToken(request), CookieUtils.getRefreshTokenFromCookie(request));
         // 清除 refreshToken Cookie
         CookieUtils.clearRefreshTokenCookie(response);
         return new BaseResult<>(true);
@@ -58,7 +62,7 @@ public class AuthController {
 
     @Operation(summary = "刷新Token", description = "刷新AccessToken接口")
     @PostMapping("/refresh")
-    public BaseResult<String> refresh(HttpServletRequest request) {
+    public BaseResult<String> refresh(HttpServletRequest request, HttpServletResponse response) {
         // 从 Cookie 中获取 RefreshToken
         String refreshToken = CookieUtils.getRefreshTokenFromCookie(request);
 
@@ -66,9 +70,21 @@ public class AuthController {
             throw new com.vben.admin.core.exception.BusinessException("RefreshToken 不存在，请重新登录");
         }
 
-        // 刷新 token（生成新的 accessToken，继续使用原 refreshToken）
-        String newAccessToken = authService.refreshToken(refreshToken);
-        return new BaseResult<>(newAccessToken);
+        // 刷新 token（生成新的 accessToken，同时轮换 refreshToken）
+        LoginResultVO result = authService.refreshToken(refreshToken);
+        CookieUtils.setRefreshTokenCookie(response, result.getRefreshToken());
+        return new BaseResult<>(result.getAccessToken());
+    }
+
+    /**
+     * 从请求头中获取 AccessToken
+     */
+    private static String getAccessToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring("Bearer ".length());
+        }
+        return null;
     }
 
     @Operation(summary = "获取权限码列表", description = "获取当前用户的权限码列表")
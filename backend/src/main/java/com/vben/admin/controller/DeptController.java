@@ -1,5 +1,6 @@
 package com.vben.admin.controller;
 
+import com.vben.admin.core.annotation.RequiresPermission;
 import com.vben.admin.core.model.BaseResult;
 import com.vben.admin.core.validation.ValidId;
 import com.vben.admin.model.dto.DeptDTO;
@@ -7,6 +8,7 @@ import com.vben.admin.model.vo.DeptVO;
 import com.vben.admin.service.DeptService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
@@ -28,14 +30,23 @@ public class DeptController {
 
     private final DeptService deptService;
 
-    @Operation(summary = "获取部门列表", description = "获取部门列表（树形结构）")
+    @Operation(summary = "获取部门列表", description = "获取部门列表（树形结构，支持按状态过滤、搜索、深度限制和按父级懒加载，搜索结果保留上级部门）")
     @GetMapping
-    public BaseResult<List<DeptVO>> getList() {
-        List<DeptVO> depts = deptService.getDeptList();
+    public BaseResult<List<DeptVO>> getList(
+            @Parameter(description = "状态（0-禁用，1-启用，不传则返回所有状态）")
+            @RequestParam(required = false) Integer status,
+            @Parameter(description = "搜索关键词（匹配部门名称、备注）")
+            @RequestParam(required = false) String search,
+            @Parameter(description = "最大深度（从起始层开始计为 1）")
+            @RequestParam(required = false) Integer maxDepth,
+            @Parameter(description = "起始父级ID（用于按层懒加载子部门）")
+            @RequestParam(required = false) String pid) {
+        List<DeptVO> depts = deptService.getDeptList(status, search, maxDepth, pid);
         return new BaseResult<>(depts);
     }
 
     @Operation(summary = "创建部门", description = "创建新部门")
+    @RequiresPermission("ac:system:dept:add")
     @PostMapping
     public BaseResult<String> create(@Valid @RequestBody DeptDTO deptDTO) {
         String id = deptService.createDept(deptDTO);
@@ -43,6 +54,7 @@ public class DeptController {
     }
 
     @Operation(summary = "更新部门", description = "更新部门信息")
+    @RequiresPermission("ac:system:dept:edit")
     @PutMapping("/{id}")
     public BaseResult<Boolean> update(@ValidId(message = "部门ID不能为空或无效值") @PathVariable String id, @Valid @RequestBody DeptDTO deptDTO) {
         deptService.updateDept(id, deptDTO);
@@ -50,6 +62,7 @@ public class DeptController {
     }
 
     @Operation(summary = "删除部门", description = "删除部门")
+    @RequiresPermission("ac:system:dept:delete")
     @DeleteMapping("/{id}")
     public BaseResult<Boolean> delete(@ValidId(message = "部门ID不能为空或无效值") @PathVariable String id) {
         deptService.deleteDept(id);
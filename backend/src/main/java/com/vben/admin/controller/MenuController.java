@@ -1,5 +1,6 @@
 package com.vben.admin.controller;
 
+import com.vben.admin.core.annotation.RequiresPermission;
 import com.vben.admin.core.model.BaseResult;
 import com.vben.admin.core.validation.ValidId;
 import com.vben.admin.model.dto.BatchMenuOrderDTO;
@@ -30,12 +31,20 @@ public class MenuController {
 
     private final MenuService menuService;
 
-    @Operation(summary = "获取菜单列表", description = "获取菜单列表（支持按状态过滤）")
+    @Operation(summary = "获取菜单列表", description = "获取菜单列表（支持按状态过滤、搜索、深度限制和按父级懒加载，搜索结果保留父级菜单）")
     @GetMapping
     public BaseResult<List<MenuVO>> getList(
             @Parameter(description = "状态（0-禁用，1-启用，不传则返回所有状态）")
-            @RequestParam(required = false) Integer status) {
-        List<MenuVO> menus = menuService.getMenuList(status);
+            @RequestParam(required = false) Integer status,
+            @Parameter(description = "搜索关键词（匹配标题、名称、路径）")
+            @RequestParam(required = false) String search,
+            @Parameter(description = "菜单类型（catalog、menu、embedded、link、button）")
+            @RequestParam(required = false) String type,
+            @Parameter(description = "最大深度（从起始层开始计为 1）")
+            @RequestParam(required = false) Integer maxDepth,
+            @Parameter(description = "起始父级ID（用于按层懒加载子菜单）")
+            @RequestParam(required = false) String pid) {
+        List<MenuVO> menus = menuService.getMenuList(status, search, type, maxDepth, pid);
         return new BaseResult<>(menus);
     }
 
@@ -62,6 +71,7 @@ public class MenuController {
     }
 
     @Operation(summary = "创建菜单", description = "创建新菜单")
+    @RequiresPermission("ac:system:menu:add")
     @PostMapping
     public BaseResult<String> create(@Valid @RequestBody MenuDTO menuDTO) {
         String id = menuService.createMenu(menuDTO);
@@ -69,6 +79,7 @@ public class MenuController {
     }
 
     @Operation(summary = "更新菜单", description = "更新菜单信息")
+    @RequiresPermission("ac:system:menu:edit")
     @PutMapping("/{id}")
     public BaseResult<Boolean> update(@ValidId(message = "菜单ID不能为空或无效值") @PathVariable String id, @Valid @RequestBody MenuDTO menuDTO) {
         menuService.updateMenu(id, menuDTO);
@@ -76,6 +87,7 @@ public class MenuController {
     }
 
     @Operation(summary = "删除菜单", description = "删除菜单")
+    @RequiresPermission("ac:system:menu:delete")
     @DeleteMapping("/{id}")
     public BaseResult<Boolean> delete(@ValidId(message = "菜单ID不能为空或无效值") @PathVariable String id) {
         menuService.deleteMenu(id);
@@ -83,6 +95,7 @@ public class MenuController {
     }
 
     @Operation(summary = "批量更新菜单排序", description = "批量更新菜单的排序和父级关系（用于拖拽排序）")
+    @RequiresPermission("ac:system:menu:edit")
     @PutMapping("/batch-order")
     public BaseResult<Boolean> batchUpdateOrder(@Valid @RequestBody BatchMenuOrderDTO request) {
         menuService.batchUpdateMenuOrder(request.getMenus());
@@ -1,16 +1,17 @@
 package com.vben.admin.controller;
 
-import com.vben.admin.core.model.BaseResult;
-import com.vben.admin.model.vo.MenuVO;
-import com.vben.admin.service.MenuService;
+import com.vben.admin.core.cache.MenuRouterPayloadCache;
+import com.vben.admin.core.utils.SecurityUtils;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * 菜单路由控制器（管理端）
  *
@@ -23,12 +24,32 @@ import java.util.List;
 @RequiredArgsConstructor
 public class MenuRouterController {
 
-    private final MenuService menuService;
+    private final MenuRouterPayloadCache menuRouterPayloadCache;
 
-    @Operation(summary = "获取所有菜单", description = "获取所有菜单（用于前端路由生成）")
+    @Operation(summary = "获取所有菜单", description = "获取所有菜单（用于前端路由生成），支持 ETag 协商缓存和 gzip 压缩")
     @GetMapping("/all")
-    public BaseResult<List<MenuVO>> getAllMenus() {
-        List<MenuVO> menus = menuService.getAllMenus();
-        return new BaseResult<>(menus);
+    public ResponseEntity<byte[]> getAllMenus(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        MenuRouterPayloadCache.MenuPayload payload = menuRouterPayloadCache.getPayload(SecurityUtils.getCurrentUserId());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(payload.getEtag());
+        headers.setCacheControl("private, no-cache");
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // 客户端缓存仍然有效，直接返回 304
+        if (payload.matches(ifNoneMatch)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        byte[] body = gzip ? payload.getGzipBytes() : payload.getBytes();
+        headers.setContentLength(body.length);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 }
@@ -0,0 +1,54 @@
+package com.vben.admin.controller;
+
+import com.vben.admin.core.annotation.RequiresPermission;
+import com.vben.admin.core.model.BaseResult;
+import com.vben.admin.model.vo.CacheStatsVO;
+import com.vben.admin.model.vo.OnlineStatsVO;
+import com.vben.admin.model.vo.OnlineUserVO;
+import com.vben.admin.service.MonitorService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 系统监控控制器（管理端）
+ *
+ * @author vben
+ */
+@Tag(name = "系统监控")
+@RestController
+@RequestMapping("/system/monitor")
+@Validated
+@RequiredArgsConstructor
+public class MonitorController {
+
+    private final MonitorService monitorService;
+
+    @Operation(summary = "获取Token缓存统计", description = "获取Token校验缓存的命中率、条目数和移除次数")
+    @RequiresPermission("ac:system:monitor:view")
+    @GetMapping("/token-cache")
+    public BaseResult<CacheStatsVO> getTokenCacheStats() {
+        CacheStatsVO stats = monitorService.getTokenCacheStats();
+        return new BaseResult<>(stats);
+    }
+
+    @Operation(summary = "获取在线用户列表", description = "获取超时时间内有请求的用户，按最后活跃时间倒序（从内存读取）")
+    @RequiresPermission("ac:system:monitor:view")
+    @GetMapping("/online")
+    public BaseResult<List<OnlineUserVO>> getOnlineUsers() {
+        List<OnlineUserVO> users = monitorService.getOnlineUsers();
+        return new BaseResult<>(users);
+    }
+
+    @Operation(summary = "获取在线用户统计", description = "获取在线用户数和最近 1、5、15 分钟内活跃的用户数")
+    @RequiresPermission("ac:system:monitor:view")
+    @GetMapping("/online/stats")
+    public BaseResult<OnlineStatsVO> getOnlineStats() {
+        OnlineStatsVO stats = monitorService.getOnlineStats();
+        return new BaseResult<>(stats);
+    }
+}
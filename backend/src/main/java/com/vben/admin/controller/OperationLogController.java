@@ -1,5 +1,6 @@
 package com.vben.admin.controller;
 
+import com.vben.admin.core.annotation.RequiresPermission;
 import com.vben.admin.core.model.BaseResult;
 import com.vben.admin.core.model.PageResult;
 import com.vben.admin.core.validation.ValidId;
@@ -31,6 +32,7 @@ public class OperationLogController {
     private final OperationLogService operationLogService;
 
     @Operation(summary = "获取操作日志列表", description = "获取操作日志列表（支持分页、筛选）")
+    @RequiresPermission("ac:system:operation-log:view")
     @GetMapping
     public BaseResult<PageResult<OperationLogVO>> getList(OperationLogQueryDTO queryDTO) {
         PageResult<OperationLogVO> result = operationLogService.getOperationLogList(queryDTO);
@@ -38,6 +40,7 @@ public class OperationLogController {
     }
 
     @Operation(summary = "获取操作日志详情", description = "根据ID获取操作日志详细信息")
+    @RequiresPermission("ac:system:operation-log:view")
     @GetMapping("/{id}")
     public BaseResult<OperationLogVO> getById(@ValidId(message = "操作日志ID不能为空或无效值") @PathVariable String id) {
         OperationLogVO operationLog = operationLogService.getOperationLogDetail(id);
@@ -45,6 +48,7 @@ public class OperationLogController {
     }
 
     @Operation(summary = "删除操作日志", description = "删除操作日志")
+    @RequiresPermission("ac:system:operation-log:delete")
     @DeleteMapping("/{id}")
     public BaseResult<Boolean> delete(@ValidId(message = "操作日志ID不能为空或无效值") @PathVariable String id) {
         operationLogService.deleteOperationLog(id);
@@ -52,6 +56,7 @@ public class OperationLogController {
     }
 
     @Operation(summary = "批量删除操作日志", description = "批量删除操作日志")
+    @RequiresPermission("ac:system:operation-log:delete")
     @DeleteMapping("/batch")
     public BaseResult<Boolean> batchDelete(@RequestBody List<String> ids) {
         operationLogService.batchDeleteOperationLog(ids);
@@ -1,10 +1,12 @@
 package com.vben.admin.controller;
 
+import com.vben.admin.core.annotation.RequiresPermission;
 import com.vben.admin.core.model.BaseResult;
 import com.vben.admin.core.model.PageResult;
 import com.vben.admin.core.validation.ValidId;
 import com.vben.admin.model.dto.RoleDTO;
 import com.vben.admin.model.dto.RoleOptionQueryDTO;
+import com.vben.admin.model.vo.RoleOptionVO;
 import com.vben.admin.model.vo.RoleVO;
 import com.vben.admin.service.RoleService;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -57,6 +59,7 @@ public class RoleController {
     }
 
     @Operation(summary = "创建角色", description = "创建新角色")
+    @RequiresPermission("ac:system:role:add")
     @PostMapping
     public BaseResult<String> create(@Validated(RoleDTO.Create.class) @RequestBody RoleDTO roleDTO) {
         String id = roleService.createRole(roleDTO);
@@ -64,6 +67,7 @@ public class RoleController {
     }
 
     @Operation(summary = "更新角色", description = "更新角色信息")
+    @RequiresPermission("ac:system:role:edit")
     @PutMapping("/{id}")
     public BaseResult<Boolean> update(@ValidId(message = "角色ID不能为空或无效值") @PathVariable String id, @Validated(RoleDTO.Update.class) @RequestBody RoleDTO roleDTO) {
         roleService.updateRole(id, roleDTO);
@@ -71,6 +75,7 @@ public class RoleController {
     }
 
     @Operation(summary = "删除角色", description = "删除角色")
+    @RequiresPermission("ac:system:role:delete")
     @DeleteMapping("/{id}")
     public BaseResult<Boolean> delete(@ValidId(message = "角色ID不能为空或无效值") @PathVariable String id) {
         roleService.deleteRole(id);
@@ -83,4 +88,11 @@ public class RoleController {
         PageResult<RoleVO> result = roleService.getRoleOptions(queryDTO);
         return new BaseResult<>(result);
     }
+
+    @Operation(summary = "获取精简角色选项列表", description = "查询条件与 /options 相同，只返回ID、名称和状态，不关联其他信息，适用于大数据量下拉选项")
+    @GetMapping("/options/simple")
+    public BaseResult<PageResult<RoleOptionVO>> getSimpleOptions(RoleOptionQueryDTO queryDTO) {
+        PageResult<RoleOptionVO> result = roleService.getRoleSimpleOptions(queryDTO);
+        return new BaseResult<>(result);
+    }
 }
@@ -1,10 +1,14 @@
 package com.vben.admin.controller;
 
+import com.vben.admin.core.annotation.RequiresPermission;
 import com.vben.admin.core.model.BaseResult;
 import com.vben.admin.core.model.PageResult;
 import com.vben.admin.model.dto.UserDTO;
 import com.vben.admin.model.dto.UserOptionQueryDTO;
+import com.vben.admin.model.vo.UserImportResultVO;
+import com.vben.admin.model.vo.UserOptionVO;
 import com.vben.admin.model.vo.UserVO;
+import com.vben.admin.service.UserImportService;
 import com.vben.admin.service.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,12 +17,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import com.vben.admin.core.validation.ValidId;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -35,6 +42,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
 
     @Operation(summary = "获取用户列表", description = "获取用户列表（支持分页和搜索）")
     @GetMapping
@@ -69,6 +77,7 @@ public class UserController {
     }
 
     @Operation(summary = "创建用户", description = "创建新用户")
+    @RequiresPermission("ac:system:user:add")
     @PostMapping
     public BaseResult<String> create(@Validated(UserDTO.Create.class) @RequestBody UserDTO userDTO) {
         String id = userService.createUser(userDTO);
@@ -76,6 +85,7 @@ public class UserController {
     }
 
     @Operation(summary = "更新用户", description = "更新用户信息")
+    @RequiresPermission("ac:system:user:edit")
     @PutMapping("/{id}")
     public BaseResult<Boolean> update(@ValidId(message = "用户ID不能为空或无效值") @PathVariable String id, @Validated(UserDTO.Update.class) @RequestBody UserDTO userDTO) {
         userService.updateUser(id, userDTO);
@@ -83,6 +93,7 @@ public class UserController {
     }
 
     @Operation(summary = "删除用户", description = "删除用户（逻辑删除）")
+    @RequiresPermission("ac:system:user:delete")
     @DeleteMapping("/{id}")
     public BaseResult<Boolean> delete(@ValidId(message = "用户ID不能为空或无效值") @PathVariable String id) {
         userService.deleteUser(id);
@@ -90,6 +101,7 @@ public class UserController {
     }
 
     @Operation(summary = "启用/禁用用户", description = "更新用户状态")
+    @RequiresPermission("ac:system:user:edit")
     @PutMapping("/{id}/status")
     public BaseResult<Boolean> updateStatus(
             @ValidId(message = "用户ID不能为空或无效值") @PathVariable String id,
@@ -99,6 +111,7 @@ public class UserController {
     }
 
     @Operation(summary = "重置密码", description = "重置用户密码")
+    @RequiresPermission("ac:system:user:edit")
     @PutMapping("/{id}/password")
     public BaseResult<Boolean> resetPassword(
             @ValidId(message = "用户ID不能为空或无效值") @PathVariable String id,
@@ -107,6 +120,48 @@ public class UserController {
         return new BaseResult<>(true);
     }
 
+    @Operation(summary = "批量启用/禁用用户", description = "批量更新用户状态（单次最多 1000 个用户，任一用户校验失败时整体不执行），返回用户数")
+    @RequiresPermission("ac:system:user:edit")
+    @PutMapping("/batch/status")
+    public BaseResult<Integer> batchUpdateStatus(@Valid @RequestBody BatchStatusDTO batchDTO) {
+        int count = userService.batchUpdateUserStatus(batchDTO.getUserIds(), batchDTO.getStatus());
+        return new BaseResult<>(count);
+    }
+
+    @Operation(summary = "批量设置用户角色", description = "将所选用户的角色替换为指定角色（空列表表示清空），返回角色发生变化的用户数")
+    @RequiresPermission("ac:system:user:edit")
+    @PutMapping("/batch/roles")
+    public BaseResult<Integer> batchUpdateRoles(@Valid @RequestBody BatchRolesDTO batchDTO) {
+        int count = userService.batchUpdateUserRoles(batchDTO.getUserIds(), batchDTO.getRoleIds());
+        return new BaseResult<>(count);
+    }
+
+    @Operation(summary = "批量调整用户部门", description = "将所选用户移动到指定部门，返回用户数")
+    @RequiresPermission("ac:system:user:edit")
+    @PutMapping("/batch/dept")
+    public BaseResult<Integer> batchUpdateDept(@Valid @RequestBody BatchDeptDTO batchDTO) {
+        int count = userService.batchUpdateUserDept(batchDTO.getUserIds(), batchDTO.getDeptId());
+        return new BaseResult<>(count);
+    }
+
+    @Operation(summary = "批量删除用户", description = "批量删除用户（逻辑删除），返回用户数")
+    @RequiresPermission("ac:system:user:delete")
+    @DeleteMapping("/batch")
+    public BaseResult<Integer> batchDelete(@Valid @RequestBody BatchUserIdsDTO batchDTO) {
+        int count = userService.batchDeleteUsers(batchDTO.getUserIds());
+        return new BaseResult<>(count);
+    }
+
+    @Operation(summary = "导入用户", description = "批量导入用户（CSV 或 XLSX，第一行为表头）。表头支持中文或字段名：用户名、密码、真实姓名、昵称、手机号、性别、工号、部门ID、角色ID（多个用逗号或分号分隔）、状态；密码为空时使用默认密码，昵称为空时使用真实姓名。校验失败的行不导入，返回逐行错误")
+    @RequiresPermission("ac:system:user:add")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public BaseResult<UserImportResultVO> importUsers(
+            @Parameter(description = "导入文件（.csv 或 .xlsx）")
+            @RequestParam("file") MultipartFile file) {
+        UserImportResultVO result = userImportService.importUsers(file);
+        return new BaseResult<>(result);
+    }
+
     @Operation(summary = "获取用户选项列表", description = "获取用户选项列表（用于下拉选项，支持分页或 limit 限制，支持条件查询，返回完整用户信息，前端自行处理 label 和 value）。如果传了 page 和 pageSize，则使用分页查询；否则使用 limit 限制（默认 1000）")
     @GetMapping("/options")
     public BaseResult<PageResult<UserVO>> getOptions(UserOptionQueryDTO queryDTO) {
@@ -114,6 +169,13 @@ public class UserController {
         return new BaseResult<>(result);
     }
 
+    @Operation(summary = "获取精简用户选项列表", description = "查询条件与 /options 相同，只返回ID、用户名、真实姓名和状态，不关联其他信息，适用于大数据量下拉选项")
+    @GetMapping("/options/simple")
+    public BaseResult<PageResult<UserOptionVO>> getSimpleOptions(UserOptionQueryDTO queryDTO) {
+        PageResult<UserOptionVO> result = userService.getUserSimpleOptions(queryDTO);
+        return new BaseResult<>(result);
+    }
+
     /**
      * 更新状态DTO
      */
@@ -136,4 +198,64 @@ public class UserController {
         @Size(min = 6, max = 50, message = "密码长度必须在6-50之间")
         private String password;
     }
+
+    /**
+     * 批量操作用户ID DTO
+     */
+    @Data
+    @Schema(description = "批量操作用户ID DTO")
+    public static class BatchUserIdsDTO {
+        @Schema(description = "用户ID列表（最多 1000 个）")
+        @NotEmpty(message = "用户ID列表不能为空")
+        @Size(max = 1000, message = "单次最多操作 1000 个用户")
+        private List<String> userIds;
+    }
+
+    /**
+     * 批量更新状态DTO
+     */
+    @Data
+    @Schema(description = "批量更新状态DTO")
+    public static class BatchStatusDTO {
+        @Schema(description = "用户ID列表（最多 1000 个）")
+        @NotEmpty(message = "用户ID列表不能为空")
+        @Size(max = 1000, message = "单次最多操作 1000 个用户")
+        private List<String> userIds;
+
+        @Schema(description = "状态：0-禁用，1-启用", example = "0")
+        @NotNull(message = "状态不能为空")
+        private Integer status;
+    }
+
+    /**
+     * 批量设置角色DTO
+     */
+    @Data
+    @Schema(description = "批量设置角色DTO")
+    public static class BatchRolesDTO {
+        @Schema(description = "用户ID列表（最多 1000 个）")
+        @NotEmpty(message = "用户ID列表不能为空")
+        @Size(max = 1000, message = "单次最多操作 1000 个用户")
+        private List<String> userIds;
+
+        @Schema(description = "角色ID列表（空列表表示清空角色）")
+        @NotNull(message = "角色列表不能为空")
+        private List<String> roleIds;
+    }
+
+    /**
+     * 批量调整部门DTO
+     */
+    @Data
+    @Schema(description = "批量调整部门DTO")
+    public static class BatchDeptDTO {
+        @Schema(description = "用户ID列表（最多 1000 个）")
+        @NotEmpty(message = "用户ID列表不能为空")
+        @Size(max = 1000, message = "单次最多操作 1000 个用户")
+        private List<String> userIds;
+
+        @Schema(description = "部门ID")
+        @NotBlank(message = "部门ID不能为空")
+        private String deptId;
+    }
 }
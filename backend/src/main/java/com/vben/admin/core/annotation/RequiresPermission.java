@@ -0,0 +1,33 @@
+package com.vben.admin.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 接口权限校验注解
+ * 当前用户必须拥有指定的权限码（菜单 auth_code 或直接授予的权限码）才能访问，超级管理员角色不受限制
+ *
+ * <p>使用示例：</p>
+ * <pre>
+ * {@code
+ * @RequiresPermission("ac:system:user:edit")
+ * @PutMapping("/{id}")
+ * public BaseResult<Boolean> update(...)
+ * }
+ * </pre>
+ *
+ * @author vben
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    /**
+     * 权限码
+     */
+    String value();
+}
@@ -2,16 +2,17 @@ package com.vben.admin.core.aspect;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vben.admin.core.cache.UserNameCache;
 import com.vben.admin.core.model.BaseResult;
+import com.vben.admin.core.model.LoginUser;
 import com.vben.admin.core.model.PageResult;
+import com.vben.admin.core.security.ClientIpResolver;
 import com.vben.admin.core.utils.BrowserInfoParser;
 import com.vben.admin.core.utils.OperationInfoParser;
 import com.vben.admin.core.utils.SensitiveDataFilter;
 import com.vben.admin.core.utils.SecurityUtils;
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.vben.admin.model.entity.SysOperationLog;
 import com.vben.admin.model.entity.SysUser;
-import com.vben.admin.mapper.UserMapper;
 import com.vben.admin.service.MenuService;
 import com.vben.admin.service.OperationLogService;
 import lombok.RequiredArgsConstructor;
@@ -19,11 +20,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -45,9 +48,10 @@ import java.util.stream.Collectors;
 public class OperationLogAspect {
 
     private final OperationLogService operationLogService;
-    private final UserMapper userMapper;
+    private final UserNameCache userNameCache;
     private final MenuService menuService;
     private final com.vben.admin.core.utils.MenuModuleResolver menuModuleResolver;
+    private final ClientIpResolver clientIpResolver;
 
     // 配置 ObjectMapper，确保能正确序列化所有对象
     private final ObjectMapper objectMapper = new ObjectMapper()
@@ -100,20 +104,8 @@ public class OperationLogAspect {
         String realName = null;
 
         if (isLogin) {
-            // 登录操作：从请求参数中获取用户名（此时用户还未认证）
+            // 登录操作：从请求参数中获取用户名（此时用户还未认证），用户ID和真实姓名在登录执行后获取
             username = extractUsernameFromLoginRequest(joinPoint);
-            if (StringUtils.hasText(username)) {
-            // 根据用户名查询用户信息
-            SysUser user = userMapper.selectOne(
-                new LambdaQueryWrapper<SysUser>()
-                    .eq(SysUser::getUsername, username)
-                    .last("LIMIT 1")
-            );
-                if (user != null) {
-                    userId = user.getId();
-                    realName = user.getRealName();
-                }
-            }
         } else if (isLogout) {
             // 登出操作：在执行前获取用户信息（执行后用户可能已退出）
             // 优先从 request 属性中获取（JwtAuthenticationFilter 设置的）
@@ -138,7 +130,7 @@ public class OperationLogAspect {
         }
 
         // 获取IP和浏览器信息
-        String ipAddress = getIpAddress(request);
+        String ipAddress = clientIpResolver.resolve(request);
         String userAgent = request.getHeader("User-Agent");
         BrowserInfoParser.BrowserInfo browserInfo = BrowserInfoParser.parseUserAgent(userAgent);
 
@@ -247,6 +239,12 @@ public class OperationLogAspect {
             }
 
 
+            // 登录操作：使用登录过程中已加载的用户（用户名存在时），不再重复查询
+            if (isLogin && request.getAttribute(SecurityUtils.LOGIN_ATTEMPT_USER_ATTRIBUTE) instanceof SysUser loginAttemptUser) {
+                userId = loginAttemptUser.getId();
+                realName = loginAttemptUser.getRealName();
+            }
+
             // 构建操作日志实体
             SysOperationLog operationLog = new SysOperationLog();
             // 对于登录和登出操作，如果用户信息为空，设置默认值
@@ -348,6 +346,10 @@ public class OperationLogAspect {
                             .filter(arg -> !(arg instanceof HttpServletRequest))
                             .filter(arg -> !(arg instanceof HttpServletResponse))
                             .filter(arg -> arg != null)
+                            // 上传的文件只记录文件名，不序列化文件内容
+                            .map(arg -> arg instanceof MultipartFile multipartFile
+                                    ? Map.of("file", String.valueOf(multipartFile.getOriginalFilename()))
+                                    : arg)
                             .collect(Collectors.toList());
 
                     if (!filteredArgs.isEmpty()) {
@@ -428,6 +430,10 @@ public class OperationLogAspect {
         if (result == null) {
             return null;
         }
+        // 预序列化的二进制响应（如路由菜单缓存，可能为 gzip）不记录响应体
+        if (result instanceof ResponseEntity && ((ResponseEntity<?>) result).getBody() instanceof byte[]) {
+            return null;
+        }
         try {
             // 统一序列化为 JSON 字符串（保持 BaseResult 的完整格式）
             return objectMapper.writeValueAsString(result);
@@ -505,9 +511,13 @@ public class OperationLogAspect {
         if (!StringUtils.hasText(userId)) {
             return null;
         }
+        // 优先从当前登录用户中获取，避免查询数据库
+        LoginUser loginUser = SecurityUtils.getLoginUser();
+        if (loginUser != null && userId.equals(loginUser.getUserId())) {
+            return loginUser.getRealName();
+        }
         try {
-            SysUser user = userMapper.selectById(userId);
-            return user != null ? user.getRealName() : null;
+            return userNameCache.getRealName(userId);
         } catch (Exception e) {
             log.debug("获取用户真实姓名失败: {}", e.getMessage());
             return null;
@@ -553,31 +563,4 @@ public class OperationLogAspect {
         }
         return null;
     }
-
-    /**
-     * 获取IP地址
-     */
-    private String getIpAddress(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("WL-Proxy-Client-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_CLIENT_IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("HTTP_X_FORWARDED_FOR");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // 处理多个IP的情况，取第一个
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip;
-    }
 }
@@ -0,0 +1,45 @@
+package com.vben.admin.core.aspect;
+
+import com.vben.admin.core.annotation.RequiresPermission;
+import com.vben.admin.core.cache.PermissionCodeCache;
+import com.vben.admin.core.model.LoginUser;
+import com.vben.admin.core.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 接口权限校验切面
+ * 处理 {@link RequiresPermission}：权限码映射为整数ID后，
+ * 读取当前用户预编译的权限位图完成校验，不访问数据库
+ *
+ * @author vben
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class PermissionAspect {
+
+    private final PermissionCodeCache permissionCodeCache;
+
+    /**
+     * 校验当前用户是否拥有注解指定的权限码
+     */
+    @Before("@annotation(requiresPermission)")
+    public void checkPermission(JoinPoint joinPoint, RequiresPermission requiresPermission) {
+        LoginUser loginUser = SecurityUtils.getLoginUser();
+        if (loginUser == null) {
+            throw new AccessDeniedException("没有访问权限");
+        }
+        if (!permissionCodeCache.hasPermission(loginUser, requiresPermission.value())) {
+            log.debug("用户 {} 缺少权限 {}，拒绝访问 {}", loginUser.getUsername(),
+                    requiresPermission.value(), joinPoint.getSignature().toShortString());
+            throw new AccessDeniedException("没有访问权限");
+        }
+    }
+}
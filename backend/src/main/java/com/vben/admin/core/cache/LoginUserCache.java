@@ -0,0 +1,142 @@
+package com.vben.admin.core.cache;
+
+import com.vben.admin.core.event.RolePermissionChangedEvent;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.event.UserRoleChangedEvent;
+import com.vben.admin.core.model.LoginUser;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.mapper.UserRoleMapper;
+import com.vben.admin.model.entity.SysUser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 登录用户缓存
+ * 按用户ID缓存 {@link LoginUser}（用户基本信息和角色），用户、用户角色或角色权限变更（事务提交后）时失效；
+ * 已删除或已禁用的用户不返回登录用户（不缓存），其 token 即使尚未撤销也不能再访问接口
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginUserCache {
+
+    private final UserMapper userMapper;
+    private final UserRoleMapper userRoleMapper;
+
+    @Value("${security.login-user-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 权限版本号，角色或权限变化时递增
+     */
+    private final AtomicLong permissionVersion = new AtomicLong();
+
+    /**
+     * 用户ID -> 登录用户
+     */
+    private final Map<String, LoginUser> loginUsers = new ConcurrentHashMap<>();
+
+    /**
+     * 获取登录用户（未缓存时从数据库加载）
+     *
+     * @param userId   用户ID
+     * @param username 用户名（来自 token）
+     * @return 登录用户，用户不存在或已禁用时返回 null
+     */
+    public LoginUser get(String userId, String username) {
+        LoginUser loginUser = loginUsers.get(userId);
+        if (loginUser != null && loginUser.getPermissionVersion() == permissionVersion.get()) {
+            return loginUser;
+        }
+
+        long version = permissionVersion.get();
+        loginUser = load(userId, username, version);
+        if (loginUser == null) {
+            return null;
+        }
+        if (loginUsers.size() >= maxSize) {
+            loginUsers.clear();
+        }
+        // 加载期间权限发生变化时不缓存，下次请求重新加载
+        if (permissionVersion.get() == version) {
+            loginUsers.put(userId, loginUser);
+        }
+        return loginUser;
+    }
+
+    /**
+     * 获取当前权限版本号
+     *
+     * @return 权限版本号
+     */
+    public long getPermissionVersion() {
+        return permissionVersion.get();
+    }
+
+    /**
+     * 失效全部缓存（其他节点修改了权限数据时使用）
+     */
+    public void invalidateAll() {
+        permissionVersion.incrementAndGet();
+        loginUsers.clear();
+    }
+
+    /**
+     * 用户变更后失效受影响用户的缓存
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        event.getUserIds().forEach(loginUsers::remove);
+    }
+
+    /**
+     * 用户角色变更后失效受影响用户的缓存，并递增权限版本号
+     *
+     * @param event 用户角色变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        permissionVersion.incrementAndGet();
+        event.getUserIds().forEach(loginUsers::remove);
+    }
+
+    /**
+     * 角色权限变更后递增权限版本号（所有缓存的登录用户在下次使用时重建）
+     *
+     * @param event 角色权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        permissionVersion.incrementAndGet();
+    }
+
+    /**
+     * 从数据库加载登录用户
+     *
+     * @param userId   用户ID
+     * @param username 用户名（来自 token）
+     * @param version  权限版本号
+     * @return 登录用户，用户已被删除或已禁用时返回 null
+     */
+    private LoginUser load(String userId, String username, long version) {
+        SysUser user = userMapper.selectById(userId);
+        if (user == null || user.getStatus() == null || user.getStatus() != 1) {
+            log.debug("用户已被删除或禁用，拒绝访问: userId={}, username={}", userId, username);
+            return null;
+        }
+        List<String> roleIds = userRoleMapper.selectRoleIdsByUserId(userId);
+        return new LoginUser(userId, user.getUsername(), user.getRealName(), List.copyOf(roleIds), version);
+    }
+}
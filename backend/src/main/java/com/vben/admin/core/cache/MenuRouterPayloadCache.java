@@ -0,0 +1,244 @@
+package com.vben.admin.core.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vben.admin.core.event.MenuChangedEvent;
+import com.vben.admin.core.event.RolePermissionChangedEvent;
+import com.vben.admin.core.exception.BusinessException;
+import com.vben.admin.core.model.BaseResult;
+import com.vben.admin.mapper.UserRoleMapper;
+import com.vben.admin.model.vo.MenuVO;
+import com.vben.admin.service.MenuService;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 路由菜单响应缓存
+ * 按角色集合缓存 /menu/all 已序列化（及 gzip 压缩）的响应体和 ETag，
+ * 本节点的菜单或角色权限变更后整体失效，共享的权限版本号变化（其他节点的修改）后同样整体失效；
+ * ETag 由共享的权限版本号、角色集合和响应内容生成，所有节点对相同内容返回相同的 ETag
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuRouterPayloadCache {
+
+    /**
+     * 最多缓存的角色组合数量，超出后清空重建（角色组合通常很少）
+     */
+    private static final int MAX_ENTRIES = 256;
+
+    private final MenuService menuService;
+    private final UserRoleMapper userRoleMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 共享的权限版本号（数据库中的权限版本号，由 {@link PermissionCodeCache} 定期比对后同步）
+     */
+    private final AtomicLong sharedVersion = new AtomicLong();
+
+    /**
+     * 本地失效代数，每次失效时递增
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 角色组合 key -> 响应缓存
+     */
+    private final Map<String, MenuPayload> payloads = new ConcurrentHashMap<>();
+
+    /**
+     * 获取用户的路由菜单响应
+     *
+     * @param userId 用户ID（未登录时为 null）
+     * @return 响应缓存
+     */
+    public MenuPayload getPayload(String userId) {
+        List<String> roleIds = userId == null ? new ArrayList<>() : userRoleMapper.selectRoleIdsByActiveUserId(userId);
+        String key = String.join(",", new TreeSet<>(roleIds));
+
+        long currentGeneration = generation.get();
+        long currentVersion = sharedVersion.get();
+        MenuPayload payload = payloads.get(key);
+        if (payload != null && payload.getGeneration() == currentGeneration && payload.getVersion() == currentVersion) {
+            return payload;
+        }
+
+        payload = buildPayload(key, roleIds, currentVersion, currentGeneration);
+        if (payloads.size() >= MAX_ENTRIES) {
+            payloads.clear();
+        }
+        // 构建期间如果发生了失效，不写入缓存，下次请求重新构建
+        if (generation.get() == currentGeneration) {
+            payloads.put(key, payload);
+        }
+        return payload;
+    }
+
+    /**
+     * 菜单变更后失效缓存
+     *
+     * @param event 菜单变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 角色权限变更后失效缓存
+     *
+     * @param event 角色权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 同步共享的权限版本号，版本号变化时失效所有缓存（需在菜单快照失效之后调用）
+     *
+     * @param version 数据库中的权限版本号
+     */
+    public void updateSharedVersion(long version) {
+        if (sharedVersion.getAndSet(version) != version) {
+            invalidate();
+        }
+    }
+
+    /**
+     * 失效所有缓存
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        payloads.clear();
+    }
+
+    /**
+     * 构建响应缓存
+     *
+     * @param key        角色集合 key
+     * @param roleIds    角色ID列表
+     * @param version    共享的权限版本号
+     * @param generation 本地失效代数
+     * @return 响应缓存
+     */
+    private MenuPayload buildPayload(String key, List<String> roleIds, long version, long generation) {
+        List<MenuVO> menus = menuService.getMenusByRoleIds(roleIds);
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(new BaseResult<>(menus));
+            String etag = "\"" + Long.toHexString(version) + "-" + digest(key, bytes) + "\"";
+            return new MenuPayload(bytes, gzip(bytes), etag, version, generation);
+        } catch (IOException e) {
+            log.error("序列化路由菜单失败", e);
+            throw new BusinessException("获取菜单失败");
+        }
+    }
+
+    /**
+     * 计算角色集合和内容的摘要（SHA-256 前 16 字节）
+     *
+     * @param key   角色集合 key
+     * @param bytes 内容
+     * @return 十六进制摘要
+     */
+    private static String digest(String key, byte[] bytes) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(key.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) 0);
+            byte[] hash = messageDigest.digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * gzip 压缩
+     *
+     * @param bytes 原始内容
+     * @return 压缩后的内容
+     */
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 路由菜单响应缓存项（不可变）
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class MenuPayload {
+
+        /**
+         * JSON 响应体（UTF-8）
+         */
+        private final byte[] bytes;
+
+        /**
+         * gzip 压缩后的响应体
+         */
+        private final byte[] gzipBytes;
+
+        /**
+         * 强 ETag（含引号）
+         */
+        private final String etag;
+
+        /**
+         * 构建时的共享权限版本号
+         */
+        private final long version;
+
+        /**
+         * 构建时的本地失效代数
+         */
+        private final long generation;
+
+        /**
+         * 判断 If-None-Match 请求头是否命中当前 ETag
+         *
+         * @param ifNoneMatch If-None-Match 请求头
+         * @return 是否命中
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (!StringUtils.hasText(ifNoneMatch)) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String trimmed = tag.trim();
+                if (trimmed.startsWith("W/")) {
+                    trimmed = trimmed.substring(2);
+                }
+                if ("*".equals(trimmed) || etag.equals(trimmed)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
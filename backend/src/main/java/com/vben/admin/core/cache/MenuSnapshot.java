@@ -0,0 +1,182 @@
+package com.vben.admin.core.cache;
+
+import com.vben.admin.core.utils.TreeHelper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 菜单快照（不可变）
+ * 持有全部未删除菜单及预先解析好的 meta，供菜单树构建、名称查询等读场景使用，避免重复查询和 JSON 解析
+ *
+ * @author vben
+ */
+@Getter
+public class MenuSnapshot {
+
+    /**
+     * 快照版本号（每次重建递增）
+     */
+    private final long version;
+
+    /**
+     * 菜单ID -> 菜单
+     */
+    private final Map<String, MenuEntry> menusById;
+
+    /**
+     * 路由路径 -> 启用状态的菜单
+     */
+    private final Map<String, MenuEntry> activeMenusByPath;
+
+    public MenuSnapshot(long version, Map<String, MenuEntry> menusById, Map<String, MenuEntry> activeMenusByPath) {
+        this.version = version;
+        this.menusById = Collections.unmodifiableMap(menusById);
+        this.activeMenusByPath = Collections.unmodifiableMap(activeMenusByPath);
+    }
+
+    /**
+     * 根据ID获取菜单
+     *
+     * @param id 菜单ID
+     * @return 菜单，不存在时返回 null
+     */
+    public MenuEntry get(String id) {
+        return id == null ? null : menusById.get(id);
+    }
+
+    /**
+     * 根据路径获取启用状态的菜单
+     *
+     * @param path 路由路径
+     * @return 菜单，不存在时返回 null
+     */
+    public MenuEntry getActiveByPath(String path) {
+        return path == null ? null : activeMenusByPath.get(path);
+    }
+
+    /**
+     * 获取全部菜单（按排序值升序）
+     *
+     * @return 菜单集合
+     */
+    public Collection<MenuEntry> all() {
+        return menusById.values();
+    }
+
+    /**
+     * 展开菜单及其全部祖先菜单（不存在的菜单和父菜单缺失处停止）
+     *
+     * @param menuIds 菜单ID集合
+     * @return 菜单ID集合（包含祖先菜单，保持输入顺序，祖先在后）
+     */
+    public Set<String> withAncestors(Collection<String> menuIds) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String menuId : menuIds) {
+            MenuEntry menu = get(menuId);
+            // 祖先已收集过时停止
+            while (menu != null && result.add(menu.getId())) {
+                menu = TreeHelper.ROOT_ID.equals(menu.getPid()) ? null : get(menu.getPid());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取菜单上的权限码
+     *
+     * @param menuIds 菜单ID集合
+     * @return 权限码集合（不包含不存在的菜单和空权限码）
+     */
+    public Set<String> authCodes(Collection<String> menuIds) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (String menuId : menuIds) {
+            MenuEntry menu = get(menuId);
+            if (menu != null && StringUtils.hasText(menu.getAuthCode())) {
+                codes.add(menu.getAuthCode());
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * 快照中的单个菜单（不可变）
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class MenuEntry {
+
+        private final String id;
+        private final String name;
+        private final String path;
+        private final String pid;
+        private final String type;
+        private final String component;
+        private final String redirect;
+        private final String authCode;
+        private final Integer sortOrder;
+        private final Integer status;
+
+        /**
+         * 菜单标题（meta.title）
+         */
+        private final String title;
+
+        /**
+         * 菜单图标（meta.icon）
+         */
+        private final String icon;
+
+        /**
+         * 是否在菜单中隐藏（meta.hideInMenu）
+         */
+        private final boolean hideInMenu;
+
+        /**
+         * 外链地址（meta.link）
+         */
+        private final String link;
+
+        /**
+         * 内嵌地址（meta.iframeSrc）
+         */
+        private final String iframeSrc;
+
+        /**
+         * 原始 meta JSON
+         */
+        private final String rawMeta;
+
+        /**
+         * 解析后的 meta（只读）
+         */
+        private final Map<String, Object> meta;
+
+        /**
+         * 是否启用
+         *
+         * @return 是否启用
+         */
+        public boolean isActive() {
+            return status != null && status == 1;
+        }
+
+        /**
+         * 获取菜单显示名称（优先使用 meta.title，否则使用 name）
+         *
+         * @return 显示名称
+         */
+        public String getDisplayName() {
+            if (title != null) {
+                return title;
+            }
+            return name != null ? name : "";
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.vben.admin.core.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vben.admin.core.event.MenuChangedEvent;
+import com.vben.admin.mapper.MenuMapper;
+import com.vben.admin.model.entity.SysMenu;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 菜单快照缓存
+ * 首次使用时一次性加载全部菜单并解析 meta，菜单变更（事务提交后）或其他节点修改了菜单（权限版本号变化）时失效，
+ * 下次使用时重建
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuSnapshotCache {
+
+    private final MenuMapper menuMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 失效代数，每次菜单变更递增；重建期间发生变更时，重建结果不会被缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile MenuSnapshot snapshot;
+
+    /**
+     * 获取当前菜单快照
+     *
+     * @return 菜单快照
+     */
+    public MenuSnapshot get() {
+        MenuSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long gen = generation.get();
+            MenuSnapshot rebuilt = load(gen);
+            if (generation.get() == gen) {
+                snapshot = rebuilt;
+            }
+            return rebuilt;
+        }
+    }
+
+    /**
+     * 菜单变更后失效快照（优先于其他依赖快照的缓存执行）
+     *
+     * @param event 菜单变更事件
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        invalidate();
+    }
+
+    /**
+     * 失效快照，下次使用时重建
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * 从数据库加载菜单快照
+     *
+     * @param gen 加载时的失效代数
+     * @return 菜单快照
+     */
+    private MenuSnapshot load(long gen) {
+        List<SysMenu> menus = menuMapper.selectList(
+                new LambdaQueryWrapper<SysMenu>().orderByAsc(SysMenu::getSortOrder)
+        );
+
+        Map<String, MenuSnapshot.MenuEntry> byId = new LinkedHashMap<>(menus.size() * 2);
+        Map<String, MenuSnapshot.MenuEntry> activeByPath = new HashMap<>(menus.size() * 2);
+        for (SysMenu menu : menus) {
+            MenuSnapshot.MenuEntry entry = toEntry(menu);
+            byId.put(entry.getId(), entry);
+            if (entry.isActive() && StringUtils.hasText(entry.getPath())) {
+                activeByPath.putIfAbsent(entry.getPath(), entry);
+            }
+        }
+        log.debug("菜单快照已重建，菜单数量: {}", byId.size());
+        return new MenuSnapshot(gen, byId, activeByPath);
+    }
+
+    /**
+     * 转换为快照菜单（解析 meta 并提取常用字段）
+     *
+     * @param menu 菜单实体
+     * @return 快照菜单
+     */
+    private MenuSnapshot.MenuEntry toEntry(SysMenu menu) {
+        Map<String, Object> meta = parseMeta(menu);
+        return new MenuSnapshot.MenuEntry(
+                menu.getId(),
+                menu.getName(),
+                menu.getPath(),
+                menu.getPid(),
+                menu.getType(),
+                menu.getComponent(),
+                menu.getRedirect(),
+                menu.getAuthCode(),
+                menu.getSortOrder(),
+                menu.getStatus(),
+                asString(meta.get("title")),
+                asString(meta.get("icon")),
+                Boolean.TRUE.equals(meta.get("hideInMenu")) || "true".equals(meta.get("hideInMenu")),
+                asString(meta.get("link")),
+                asString(meta.get("iframeSrc")),
+                menu.getMeta(),
+                Collections.unmodifiableMap(meta)
+        );
+    }
+
+    /**
+     * 解析 meta JSON，解析失败时返回空 Map
+     *
+     * @param menu 菜单实体
+     * @return meta
+     */
+    private Map<String, Object> parseMeta(SysMenu menu) {
+        if (!StringUtils.hasText(menu.getMeta())) {
+            return new LinkedHashMap<>();
+        }
+        try {
+            Map<String, Object> meta = objectMapper.readValue(menu.getMeta(), new TypeReference<LinkedHashMap<String, Object>>() {});
+            return meta != null ? meta : new LinkedHashMap<>();
+        } catch (Exception e) {
+            log.warn("菜单元数据解析失败，菜单ID: {}", menu.getId());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,341 @@
+package com.vben.admin.core.cache;
+
+import com.vben.admin.core.constants.SystemConstants;
+import com.vben.admin.core.event.MenuChangedEvent;
+import com.vben.admin.core.event.RolePermissionChangedEvent;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.event.UserRoleChangedEvent;
+import com.vben.admin.core.model.LoginUser;
+import com.vben.admin.mapper.PermissionMapper;
+import com.vben.admin.mapper.RoleMenuMapper;
+import com.vben.admin.mapper.UserRoleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 权限码缓存
+ * 按角色缓存角色菜单上的权限码，按用户缓存合并后的权限码（角色权限码 + 直接授予的权限码），
+ * 两者都同时预编译为位图（见 {@link PermissionCodeIndex}），权限校验不访问数据库；
+ * 角色菜单、用户角色、菜单权限码、用户状态变更（事务提交后）时精确失效；
+ * 这些变更以及任何菜单变更都递增数据库中的权限版本号，其他节点定期比对版本号后整体刷新
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PermissionCodeCache {
+
+    /**
+     * 版本号尚未读取
+     */
+    private static final long UNKNOWN_VERSION = -1L;
+
+    /**
+     * 递增版本号时与其他节点冲突的最大重试次数
+     */
+    private static final int BUMP_MAX_ATTEMPTS = 5;
+
+    private final PermissionMapper permissionMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final RoleMenuMapper roleMenuMapper;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final MenuRouterPayloadCache menuRouterPayloadCache;
+    private final LoginUserCache loginUserCache;
+    private final UserNameCache userNameCache;
+    private final PermissionCodeIndex permissionCodeIndex;
+    private final UserSearchIndex userSearchIndex;
+
+    @Value("${security.permission-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 角色ID -> 角色权限码
+     */
+    private final Map<String, RoleCodes> roleCodes = new ConcurrentHashMap<>();
+
+    /**
+     * 用户ID -> 用户权限码
+     */
+    private final Map<String, UserCodes> userCodes = new ConcurrentHashMap<>();
+
+    /**
+     * 失效代数，每次失效时递增；加载期间发生失效时，加载结果不会被缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 最近一次读取或写入的数据库权限版本号
+     */
+    private final AtomicLong knownVersion = new AtomicLong(UNKNOWN_VERSION);
+
+    /**
+     * 获取用户的权限码（已禁用或已删除的用户没有任何权限码）
+     *
+     * @param userId 用户ID
+     * @return 权限码列表（只读）
+     */
+    public List<String> getUserCodes(String userId) {
+        return getUser(userId).codes;
+    }
+
+    /**
+     * 判断登录用户是否拥有指定权限码（超级管理员角色拥有全部权限）
+     *
+     * @param loginUser 登录用户
+     * @param code      权限码
+     * @return 是否拥有
+     */
+    public boolean hasPermission(LoginUser loginUser, String code) {
+        if (loginUser.getRoleIds().contains(SystemConstants.ADMIN_ROLE_ID)) {
+            return true;
+        }
+        return hasPermission(loginUser.getUserId(), permissionCodeIndex.intern(code));
+    }
+
+    /**
+     * 判断用户是否拥有指定权限码
+     *
+     * @param userId 用户ID
+     * @param codeId 权限码ID（{@link PermissionCodeIndex#intern(String)}）
+     * @return 是否拥有
+     */
+    public boolean hasPermission(String userId, int codeId) {
+        return PermissionCodeIndex.contains(getUser(userId).bits, codeId);
+    }
+
+    /**
+     * 获取角色的权限码
+     *
+     * @param roleId 角色ID
+     * @return 权限码集合（只读）
+     */
+    public Set<String> getRoleCodes(String roleId) {
+        return getRole(roleId).codes;
+    }
+
+    private UserCodes getUser(String userId) {
+        UserCodes cached = userCodes.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long gen = generation.get();
+        List<String> roleIds = userRoleMapper.selectRoleIdsByActiveUserId(userId);
+        List<String> directCodes = permissionMapper.selectDirectCodesByUserId(userId);
+        Set<String> codes = new LinkedHashSet<>(directCodes);
+        long[] bits = permissionCodeIndex.compile(directCodes);
+        for (String roleId : roleIds) {
+            RoleCodes role = getRole(roleId);
+            codes.addAll(role.codes);
+            bits = PermissionCodeIndex.or(bits, role.bits);
+        }
+
+        UserCodes loaded = new UserCodes(Set.copyOf(roleIds), List.copyOf(codes), bits);
+        if (generation.get() == gen) {
+            if (userCodes.size() >= maxSize) {
+                userCodes.clear();
+            }
+            userCodes.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    private RoleCodes getRole(String roleId) {
+        RoleCodes cached = roleCodes.get(roleId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long gen = generation.get();
+        // 角色菜单在写入时已展开祖先菜单，这里只需按菜单快照取权限码
+        Set<String> codes = Set.copyOf(menuSnapshotCache.get().authCodes(roleMenuMapper.selectMenuIdsByRoleId(roleId)));
+        RoleCodes loaded = new RoleCodes(codes, permissionCodeIndex.compile(codes));
+        if (generation.get() == gen) {
+            roleCodes.put(roleId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * 角色权限变更：失效该角色及拥有该角色的用户
+     *
+     * @param event 角色权限变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void onRolePermissionChanged(RolePermissionChangedEvent event) {
+        generation.incrementAndGet();
+        roleCodes.remove(event.getRoleId());
+        userCodes.values().removeIf(codes -> codes.roleIds.contains(event.getRoleId()));
+        bumpVersion();
+    }
+
+    /**
+     * 用户角色变更：失效受影响的用户
+     *
+     * @param event 用户角色变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void onUserRoleChanged(UserRoleChangedEvent event) {
+        generation.incrementAndGet();
+        event.getUserIds().forEach(userCodes::remove);
+        bumpVersion();
+    }
+
+    /**
+     * 用户变更（启用/禁用、删除等）：失效受影响的用户
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        event.getUserIds().forEach(userCodes::remove);
+        bumpVersion();
+    }
+
+    /**
+     * 菜单变更：权限码变更时无法确定受影响的角色，整体失效；
+     * 任何菜单变更（包括名称、排序、路由、meta）都递增版本号，通知其他节点刷新菜单快照和路由菜单
+     *
+     * @param event 菜单变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.isAuthCodeChanged()) {
+            invalidateAll();
+        }
+        bumpVersion();
+    }
+
+    /**
+     * 定期比对数据库中的权限版本号，其他节点修改了权限、菜单或用户数据时整体刷新本地缓存
+     * （包括菜单快照、路由菜单响应和用户名称缓存，用户搜索索引标记为过期后重建）
+     */
+    @Scheduled(fixedDelayString = "${security.permission-version.poll-interval:5000}")
+    public void checkVersion() {
+        Long version;
+        try {
+            version = permissionMapper.selectPermissionVersion();
+        } catch (Exception e) {
+            log.debug("读取权限版本号失败: {}", e.getMessage());
+            return;
+        }
+        if (version == null) {
+            return;
+        }
+
+        long known = knownVersion.getAndSet(version);
+        if (known != UNKNOWN_VERSION && known != version) {
+            log.debug("权限版本号已变化（{} -> {}），刷新本地权限缓存", known, version);
+            // 先失效菜单快照，避免角色权限码和路由菜单按旧快照重建
+            menuSnapshotCache.invalidate();
+            invalidateAll();
+            loginUserCache.invalidateAll();
+            userNameCache.invalidateAll();
+            userSearchIndex.markStale();
+        }
+        // 同步路由菜单 ETag 使用的共享版本号，版本号变化时失效路由菜单响应
+        menuRouterPayloadCache.updateSharedVersion(version);
+    }
+
+    /**
+     * 失效全部缓存
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        roleCodes.clear();
+        userCodes.clear();
+    }
+
+    /**
+     * 递增数据库中的权限版本号，通知其他节点刷新
+     * 锁定读取当前版本号后按该版本号条件更新（不在事务中时锁不生效，由条件更新发现冲突并重试），
+     * 只有递增前的版本号就是本节点已知的版本号时才把递增后的版本号记为已知；
+     * 否则说明中间有其他节点的修改尚未应用，保留旧值由定期比对整体刷新
+     */
+    private void bumpVersion() {
+        try {
+            for (int attempt = 0; attempt < BUMP_MAX_ATTEMPTS; attempt++) {
+                Long current = permissionMapper.selectPermissionVersionForUpdate();
+                if (current == null) {
+                    return;
+                }
+                if (permissionMapper.incrementPermissionVersion(current) == 1) {
+                    if (knownVersion.compareAndSet(current, current + 1)) {
+                        menuRouterPayloadCache.updateSharedVersion(current + 1);
+                    }
+                    return;
+                }
+            }
+            log.warn("递增权限版本号冲突次数过多，其他节点将无法及时刷新权限缓存");
+        } catch (Exception e) {
+            log.warn("递增权限版本号失败，其他节点将无法及时刷新权限缓存: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 角色权限码缓存项（不可变）
+     */
+    private static final class RoleCodes {
+
+        /**
+         * 权限码
+         */
+        private final Set<String> codes;
+
+        /**
+         * 权限码位图
+         */
+        private final long[] bits;
+
+        private RoleCodes(Set<String> codes, long[] bits) {
+            this.codes = codes;
+            this.bits = bits;
+        }
+    }
+
+    /**
+     * 用户权限码缓存项（不可变）
+     */
+    private static final class UserCodes {
+
+        /**
+         * 计算时使用的角色ID（用于按角色精确失效）
+         */
+        private final Set<String> roleIds;
+
+        /**
+         * 合并后的权限码
+         */
+        private final List<String> codes;
+
+        /**
+         * 合并后的权限码位图
+         */
+        private final long[] bits;
+
+        private UserCodes(Set<String> roleIds, List<String> codes, long[] bits) {
+            this.roleIds = roleIds;
+            this.codes = codes;
+            this.bits = bits;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.vben.admin.core.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 权限码索引
+ * 将权限码映射为连续的整数ID（只增不减，进程内稳定），并把权限码集合编译为位图，
+ * 权限校验时只需一次数组下标访问和一次按位与
+ *
+ * @author vben
+ */
+@Component
+public class PermissionCodeIndex {
+
+    /**
+     * 空位图
+     */
+    public static final long[] EMPTY = new long[0];
+
+    /**
+     * 权限码 -> 整数ID
+     */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * 获取权限码的整数ID（首次出现时分配）
+     *
+     * @param code 权限码
+     * @return 整数ID
+     */
+    public int intern(String code) {
+        Integer id = ids.get(code);
+        return id != null ? id : ids.computeIfAbsent(code, key -> nextId.getAndIncrement());
+    }
+
+    /**
+     * 将权限码集合编译为位图
+     *
+     * @param codes 权限码集合
+     * @return 位图
+     */
+    public long[] compile(Collection<String> codes) {
+        long[] bits = EMPTY;
+        for (String code : codes) {
+            if (code == null) {
+                continue;
+            }
+            int id = intern(code);
+            int word = id >>> 6;
+            if (word >= bits.length) {
+                bits = Arrays.copyOf(bits, word + 1);
+            }
+            bits[word] |= 1L << id;
+        }
+        return bits;
+    }
+
+    /**
+     * 合并两个位图
+     *
+     * @param a 位图
+     * @param b 位图
+     * @return 新的位图（不修改入参）
+     */
+    public static long[] or(long[] a, long[] b) {
+        long[] longer = a.length >= b.length ? a : b;
+        long[] shorter = longer == a ? b : a;
+        long[] bits = Arrays.copyOf(longer, longer.length);
+        for (int i = 0; i < shorter.length; i++) {
+            bits[i] |= shorter[i];
+        }
+        return bits;
+    }
+
+    /**
+     * 判断位图中是否包含指定ID
+     *
+     * @param bits 位图
+     * @param id   权限码ID
+     * @return 是否包含
+     */
+    public static boolean contains(long[] bits, int id) {
+        int word = id >>> 6;
+        return word < bits.length && (bits[word] & (1L << id)) != 0;
+    }
+}
@@ -0,0 +1,204 @@
+package com.vben.admin.core.cache;
+
+import com.vben.admin.core.model.JwtPrincipal;
+import com.vben.admin.core.utils.JwtUtils;
+import com.vben.admin.model.vo.CacheStatsVO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Token 校验结果缓存
+ * 以 token 的 SHA-256 摘要为 key 缓存已校验的认证主体，命中时跳过签名校验和载荷解析；
+ * 条目在 token 过期或被撤销时移除，未命中时回退到完整解析。
+ * 按摘要分段，每段是按访问顺序排列的 LinkedHashMap（LRU），超出容量时移除最久未访问的条目，
+ * 请求线程上的读写都是 O(1)；已过期的条目在命中时或由后台定期清理
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+public class TokenVerificationCache {
+
+    /**
+     * 分段数量（2 的幂）
+     */
+    private static final int SEGMENT_COUNT = 16;
+
+    private final JwtUtils jwtUtils;
+
+    private final int maxSize;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public TokenVerificationCache(JwtUtils jwtUtils,
+                                  @Value("${jwt.verification-cache.max-size:10000}") int maxSize) {
+        this.jwtUtils = jwtUtils;
+        this.maxSize = maxSize;
+        int segmentCapacity = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * 认证 token（优先从缓存中获取）
+     *
+     * @param token token
+     * @return 认证主体，token 无效或已过期时返回 null
+     */
+    public JwtPrincipal authenticate(String token) {
+        String digest = digest(token);
+        Segment segment = segmentOf(digest);
+        synchronized (segment) {
+            JwtPrincipal cached = segment.get(digest);
+            if (cached != null) {
+                if (!isExpired(cached, System.currentTimeMillis())) {
+                    hitCount.increment();
+                    return cached;
+                }
+                // 已过期，移除后按未命中处理（完整解析会拒绝过期 token）
+                segment.remove(digest);
+                evictionCount.increment();
+            }
+        }
+
+        missCount.increment();
+        JwtPrincipal principal = jwtUtils.authenticate(token);
+        if (principal != null && principal.getExpiration() != null) {
+            synchronized (segment) {
+                segment.put(digest, principal);
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * 撤销单个 token 的缓存
+     *
+     * @param token token
+     */
+    public void invalidate(String token) {
+        if (token == null) {
+            return;
+        }
+        String digest = digest(token);
+        Segment segment = segmentOf(digest);
+        synchronized (segment) {
+            if (segment.remove(digest) != null) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    /**
+     * 撤销某个用户的全部 token 缓存
+     *
+     * @param userId 用户ID
+     */
+    public void invalidateUser(String userId) {
+        if (userId == null) {
+            return;
+        }
+        removeIf(principal -> userId.equals(principal.getUserId()));
+    }
+
+    /**
+     * 定期清理已过期的条目（每分钟执行一次，在后台线程中逐段进行）
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        removeIf(principal -> isExpired(principal, now));
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 缓存统计信息
+     */
+    public CacheStatsVO getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return CacheStatsVO.of("token-verification", size, maxSize,
+                hitCount.sum(), missCount.sum(), evictionCount.sum());
+    }
+
+    private void removeIf(Predicate<JwtPrincipal> predicate) {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.values().removeIf(principal -> {
+                    boolean matched = predicate.test(principal);
+                    if (matched) {
+                        evictionCount.increment();
+                    }
+                    return matched;
+                });
+            }
+        }
+    }
+
+    private Segment segmentOf(String digest) {
+        int hash = digest.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static boolean isExpired(JwtPrincipal principal, long now) {
+        return principal.getExpiration().getTime() <= now;
+    }
+
+    /**
+     * 计算 token 的 SHA-256 摘要（缓存中不保存 token 原文）
+     *
+     * @param token token
+     * @return 十六进制摘要
+     */
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 分段：按访问顺序排列的 LRU 表（调用方持有分段锁）
+     */
+    private final class Segment extends LinkedHashMap<String, JwtPrincipal> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JwtPrincipal> eldest) {
+            if (size() > capacity) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.vben.admin.core.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.model.entity.SysUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 用户名称缓存
+ * 按用户ID缓存用户名和真实姓名，供 VO 的创建人/更新人名称和操作日志使用；
+ * 批量获取时未缓存的用户合并为一次查询，不存在的用户同样缓存，用户变更（事务提交后）时失效
+ *
+ * @author vben
+ */
+@Component
+@RequiredArgsConstructor
+public class UserNameCache {
+
+    /**
+     * 不存在的用户
+     */
+    private static final UserName MISSING = new UserName(null, null);
+
+    private final UserMapper userMapper;
+
+    @Value("${security.user-name-cache.max-size:10000}")
+    private int maxSize;
+
+    /**
+     * 用户ID -> 用户名称
+     */
+    private final Map<String, UserName> names = new ConcurrentHashMap<>();
+
+    /**
+     * 失效代数，加载期间发生失效时不缓存加载结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 获取用户显示名称（优先使用真实姓名，否则使用用户名）
+     *
+     * @param userId 用户ID
+     * @return 显示名称，用户不存在时返回 null
+     */
+    public String getDisplayName(String userId) {
+        return StringUtils.hasText(userId) ? get(userId).getDisplayName() : null;
+    }
+
+    /**
+     * 获取用户真实姓名
+     *
+     * @param userId 用户ID
+     * @return 真实姓名，用户不存在时返回 null
+     */
+    public String getRealName(String userId) {
+        return StringUtils.hasText(userId) ? get(userId).getRealName() : null;
+    }
+
+    /**
+     * 批量获取用户显示名称（未缓存的用户合并为一次查询）
+     *
+     * @param userIds 用户ID集合（忽略空值）
+     * @return 用户ID -> 显示名称（不包含不存在的用户）
+     */
+    public Map<String, String> getDisplayNames(Collection<String> userIds) {
+        Map<String, String> result = new HashMap<>((int) (userIds.size() / 0.75F) + 1);
+        List<String> missing = new ArrayList<>();
+        for (String userId : userIds) {
+            if (!StringUtils.hasText(userId) || result.containsKey(userId)) {
+                continue;
+            }
+            UserName name = names.get(userId);
+            if (name == null) {
+                missing.add(userId);
+            } else if (name != MISSING) {
+                result.put(userId, name.getDisplayName());
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long version = generation.get();
+        Map<String, UserName> loaded = new HashMap<>((int) (missing.size() / 0.75F) + 1);
+        for (SysUser user : userMapper.selectList(new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getId, SysUser::getUsername, SysUser::getRealName)
+                .in(SysUser::getId, missing))) {
+            loaded.put(user.getId(), new UserName(user.getUsername(), user.getRealName()));
+        }
+        for (String userId : missing) {
+            UserName name = loaded.getOrDefault(userId, MISSING);
+            put(userId, name, version);
+            if (name != MISSING) {
+                result.put(userId, name.getDisplayName());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 失效全部缓存（其他节点修改了用户数据时使用）
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        names.clear();
+    }
+
+    /**
+     * 用户变更后失效受影响用户的缓存
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        generation.incrementAndGet();
+        event.getUserIds().forEach(names::remove);
+    }
+
+    private UserName get(String userId) {
+        UserName name = names.get(userId);
+        if (name != null) {
+            return name;
+        }
+        long version = generation.get();
+        SysUser user = userMapper.selectOne(new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getId, SysUser::getUsername, SysUser::getRealName)
+                .eq(SysUser::getId, userId));
+        name = user != null ? new UserName(user.getUsername(), user.getRealName()) : MISSING;
+        put(userId, name, version);
+        return name;
+    }
+
+    private void put(String userId, UserName name, long version) {
+        if (names.size() >= maxSize) {
+            names.clear();
+        }
+        if (generation.get() == version) {
+            names.put(userId, name);
+        }
+    }
+
+    /**
+     * 用户名称
+     */
+    private static final class UserName {
+
+        private final String username;
+        private final String realName;
+
+        private UserName(String username, String realName) {
+            this.username = username;
+            this.realName = realName;
+        }
+
+        private String getRealName() {
+            return realName;
+        }
+
+        private String getDisplayName() {
+            return realName != null ? realName : username;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.vben.admin.core.cache;
+
+import cn.hutool.extra.pinyin.PinyinUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.model.entity.SysUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 用户搜索索引
+ * 在内存中索引未删除的用户，代替 {@code username LIKE '%x%' OR real_name LIKE '%x%'} 全表扫描，供用户列表和下拉选项的关键词搜索使用
+ *
+ * <ul>
+ *     <li>用户名、真实姓名、姓名拼音全拼和首字母按单字和二元组建立倒排表，查询时取最短的倒排表逐个核对，结果与模糊查询一致（另外支持拼音）</li>
+ *     <li>结果按匹配程度排序：用户名完全匹配、用户名前缀、姓名前缀、拼音前缀、用户名或姓名包含、拼音包含</li>
+ *     <li>用户变更（事务提交后）时重新加载受影响的用户，并定期全量重建（同时清理已删除的条目）</li>
+ *     <li>其他节点修改了数据（共享的权限版本号变化）时标记索引过期，过期期间回退到数据库查询，并尽快全量重建</li>
+ *     <li>首次构建完成前 {@link #search} 返回 null，调用方回退到数据库查询</li>
+ * </ul>
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    /**
+     * 每次按ID加载的用户数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final UserMapper userMapper;
+
+    @Value("${user.search-index.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 当前索引（首次构建完成前为 null）
+     */
+    private volatile Index index;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 全量重建期间变更的用户ID（重建完成后重新加载；不在重建时为 null，由写锁保护）
+     */
+    private Set<String> changedDuringRebuild;
+
+    /**
+     * 过期代数，其他节点修改了数据时递增
+     */
+    private final AtomicLong staleGeneration = new AtomicLong();
+
+    /**
+     * 当前索引开始构建时的过期代数（落后于 {@link #staleGeneration} 时索引已过期）
+     */
+    private volatile long indexedGeneration;
+
+    /**
+     * 搜索用户
+     *
+     * @param keyword 关键词（不区分大小写）
+     * @param deptId  部门ID（为空时不过滤）
+     * @param status  状态（为空时不过滤）
+     * @param offset  跳过的结果数
+     * @param limit   返回的最大结果数
+     * @return 搜索结果，索引不可用或已过期时返回 null
+     */
+    public SearchResult search(String keyword, String deptId, Integer status, int offset, int limit) {
+        Index current = index;
+        if (current == null || indexedGeneration != staleGeneration.get() || !StringUtils.hasText(keyword)) {
+            return null;
+        }
+        String query = normalize(keyword.trim());
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            IntList candidates = current.candidates(query);
+            if (candidates == null) {
+                return new SearchResult(Collections.emptyList(), 0);
+            }
+            for (int i = 0; i < candidates.size; i++) {
+                Doc doc = current.docs.get(candidates.values[i]);
+                if (doc == null
+                        || (StringUtils.hasText(deptId) && !deptId.equals(doc.deptId))
+                        || (status != null && !status.equals(doc.status))) {
+                    continue;
+                }
+                int rank = doc.rank(query);
+                if (rank >= 0) {
+                    matches.add(new Match(doc, rank));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Match.ORDER);
+        int from = Math.min(Math.max(offset, 0), matches.size());
+        int to = Math.min(from + Math.max(limit, 0), matches.size());
+        List<String> userIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            userIds.add(matches.get(i).doc.userId);
+        }
+        return new SearchResult(userIds, matches.size());
+    }
+
+    /**
+     * 重新加载指定用户（批量导入等不发布用户变更事件的写入后调用）
+     *
+     * @param userIds 用户ID集合
+     */
+    public void refreshUsers(Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(new HashSet<>(userIds));
+        if (index == null) {
+            // 首次构建尚未完成，记录下来在构建完成后加载
+            lock.writeLock().lock();
+            try {
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.addAll(ids);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        Map<String, Doc> loaded = new HashMap<>((int) (ids.size() / 0.75F) + 1);
+        for (int from = 0; from < ids.size(); from += LOAD_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + LOAD_BATCH_SIZE, ids.size()));
+            userMapper.selectList(columns().in(SysUser::getId, batch),
+                    context -> loaded.put(context.getResultObject().getId(), Doc.of(context.getResultObject())));
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String userId : ids) {
+                index.remove(userId);
+                Doc doc = loaded.get(userId);
+                if (doc != null) {
+                    index.add(doc);
+                }
+            }
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.addAll(ids);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 用户变更后重新加载受影响的用户（删除的用户从索引中移除）
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        refreshUsers(event.getUserIds());
+    }
+
+    /**
+     * 标记索引过期（其他节点修改了用户数据时调用），重建完成前搜索回退到数据库查询
+     */
+    public void markStale() {
+        staleGeneration.incrementAndGet();
+    }
+
+    /**
+     * 索引已过期时全量重建
+     */
+    @Scheduled(fixedDelayString = "${user.search-index.stale-check-interval:5000}")
+    public void rebuildIfStale() {
+        if (enabled && indexedGeneration != staleGeneration.get()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 全量重建索引（启动后立即执行一次，之后定期执行）
+     */
+    @Scheduled(fixedDelayString = "${user.search-index.rebuild-interval:600000}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // 构建期间再次过期时，构建完成后仍视为过期
+        long generation = staleGeneration.get();
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        Index rebuilt = new Index();
+        try {
+            userMapper.selectList(columns(), context -> rebuilt.add(Doc.of(context.getResultObject())));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("用户搜索索引构建失败，关键词搜索暂时使用数据库查询", e);
+            return;
+        }
+
+        Set<String> changed;
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            indexedGeneration = generation;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // 构建期间发生的变更可能未包含在加载结果中，重新加载这些用户
+        refreshUsers(changed);
+        log.debug("用户搜索索引构建完成，用户数: {}，耗时: {}ms", rebuilt.userDocs.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 索引需要的列（逻辑删除的用户由全局配置自动排除）
+     */
+    private static LambdaQueryWrapper<SysUser> columns() {
+        return new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getId, SysUser::getUsername, SysUser::getRealName,
+                        SysUser::getDeptId, SysUser::getStatus);
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 搜索结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+
+        /**
+         * 当前页的用户ID（按匹配程度排序）
+         */
+        private final List<String> userIds;
+
+        /**
+         * 匹配的用户总数
+         */
+        private final int total;
+    }
+
+    /**
+     * 倒排索引（由 {@link #lock} 保护）
+     */
+    private static final class Index {
+
+        /**
+         * 文档编号 -> 文档（移除的文档置为 null，全量重建时清理）
+         */
+        private final List<Doc> docs = new ArrayList<>();
+
+        /**
+         * 用户ID -> 文档编号
+         */
+        private final Map<String, Integer> userDocs = new HashMap<>();
+
+        /**
+         * 单字/二元组 -> 文档编号（升序）
+         */
+        private final Map<Integer, IntList> postings = new HashMap<>();
+
+        private void add(Doc doc) {
+            int docId = docs.size();
+            docs.add(doc);
+            userDocs.put(doc.userId, docId);
+
+            Set<Integer> grams = new HashSet<>();
+            for (String field : doc.fields()) {
+                for (int i = 0; i < field.length(); i++) {
+                    grams.add(unigram(field.charAt(i)));
+                    if (i + 1 < field.length()) {
+                        grams.add(bigram(field.charAt(i), field.charAt(i + 1)));
+                    }
+                }
+            }
+            for (Integer gram : grams) {
+                postings.computeIfAbsent(gram, key -> new IntList()).add(docId);
+            }
+        }
+
+        private void remove(String userId) {
+            Integer docId = userDocs.remove(userId);
+            if (docId != null) {
+                docs.set(docId, null);
+            }
+        }
+
+        /**
+         * 获取可能匹配的文档（查询中各单字/二元组倒排表中最短的一个）
+         *
+         * @param query 规范化后的关键词
+         * @return 候选文档编号，没有候选时返回 null
+         */
+        private IntList candidates(String query) {
+            if (query.length() == 1) {
+                return postings.get(unigram(query.charAt(0)));
+            }
+            IntList shortest = null;
+            for (int i = 0; i + 1 < query.length(); i++) {
+                IntList list = postings.get(bigram(query.charAt(i), query.charAt(i + 1)));
+                if (list == null) {
+                    return null;
+                }
+                if (shortest == null || list.size < shortest.size) {
+                    shortest = list;
+                }
+            }
+            return shortest;
+        }
+
+        private static int unigram(char c) {
+            // 文本中不会出现 '\0'，单字与二元组的编码不会冲突
+            return bigram(c, '\0');
+        }
+
+        private static int bigram(char first, char second) {
+            return (first << 16) | second;
+        }
+    }
+
+    /**
+     * 索引文档（一个用户）
+     */
+    private static final class Doc {
+
+        private final String userId;
+        private final String username;
+        private final String realName;
+        private final String pinyin;
+        private final String initials;
+        private final String deptId;
+        private final Integer status;
+
+        private Doc(String userId, String username, String realName, String pinyin, String initials,
+                    String deptId, Integer status) {
+            this.userId = userId;
+            this.username = username;
+            this.realName = realName;
+            this.pinyin = pinyin;
+            this.initials = initials;
+            this.deptId = deptId;
+            this.status = status;
+        }
+
+        private static Doc of(SysUser user) {
+            String username = user.getUsername() == null ? "" : normalize(user.getUsername());
+            String realName = StringUtils.hasText(user.getRealName()) ? normalize(user.getRealName().trim()) : null;
+            String pinyin = null;
+            String initials = null;
+            if (realName != null && containsChinese(realName)) {
+                pinyin = normalize(PinyinUtil.getPinyin(realName, ""));
+                initials = normalize(PinyinUtil.getFirstLetter(realName, ""));
+            }
+            return new Doc(user.getId(), username, realName, pinyin, initials, user.getDeptId(), user.getStatus());
+        }
+
+        private static boolean containsChinese(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (PinyinUtil.isChinese(value.charAt(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private List<String> fields() {
+            List<String> fields = new ArrayList<>(4);
+            fields.add(username);
+            if (realName != null) {
+                fields.add(realName);
+            }
+            if (pinyin != null) {
+                fields.add(pinyin);
+                fields.add(initials);
+            }
+            return fields;
+        }
+
+        /**
+         * 计算匹配程度
+         *
+         * @param query 规范化后的关键词
+         * @return 匹配程度（越小越优先），不匹配时返回 -1
+         */
+        private int rank(String query) {
+            if (username.equals(query)) {
+                return 0;
+            }
+            if (username.startsWith(query)) {
+                return 1;
+            }
+            if (realName != null && realName.startsWith(query)) {
+                return 2;
+            }
+            if (pinyin != null && (pinyin.startsWith(query) || initials.startsWith(query))) {
+                return 3;
+            }
+            if (username.contains(query) || (realName != null && realName.contains(query))) {
+                return 4;
+            }
+            if (pinyin != null && (pinyin.contains(query) || initials.contains(query))) {
+                return 5;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 匹配结果
+     */
+    private static final class Match {
+
+        /**
+         * 排序：匹配程度、用户名长度、用户名
+         */
+        private static final Comparator<Match> ORDER = Comparator.<Match>comparingInt(match -> match.rank)
+                .thenComparingInt(match -> match.doc.username.length())
+                .thenComparing(match -> match.doc.username);
+
+        private final Doc doc;
+        private final int rank;
+
+        private Match(Doc doc, int rank) {
+            this.doc = doc;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * 可增长的 int 数组
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+    }
+}
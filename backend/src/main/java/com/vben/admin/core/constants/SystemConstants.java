@@ -12,6 +12,11 @@ public class SystemConstants {
      */
     public static final String ADMIN_ROLE_ID = "1";
 
+    /**
+     * 新用户的默认密码（创建或导入用户时未指定密码）
+     */
+    public static final String DEFAULT_USER_PASSWORD = "88888888";
+
     /**
      * 私有构造函数，防止实例化
      */
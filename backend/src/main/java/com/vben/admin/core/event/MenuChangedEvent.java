@@ -0,0 +1,31 @@
+package com.vben.admin.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * 菜单变更事件
+ * 菜单新增、修改、删除、批量排序后发布，用于失效菜单相关的缓存
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class MenuChangedEvent {
+
+    /**
+     * 发生变更的菜单ID（可能为空集合，表示整体变更）
+     */
+    private final Set<String> menuIds;
+
+    /**
+     * 是否影响权限码（菜单的 auth_code 被修改，或带权限码的菜单被删除）
+     */
+    private final boolean authCodeChanged;
+
+    public MenuChangedEvent(Set<String> menuIds) {
+        this(menuIds, false);
+    }
+}
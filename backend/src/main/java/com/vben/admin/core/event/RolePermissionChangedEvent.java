@@ -0,0 +1,20 @@
+package com.vben.admin.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 角色权限变更事件
+ * 角色菜单关联发生变化（包括角色删除）后发布，用于失效权限相关的缓存
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class RolePermissionChangedEvent {
+
+    /**
+     * 角色ID
+     */
+    private final String roleId;
+}
@@ -0,0 +1,37 @@
+package com.vben.admin.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户变更事件
+ * 用户新增、修改、删除、启用/禁用、修改密码后发布，用于失效用户相关的缓存；
+ * 删除、禁用、重置或修改密码时同时要求强制下线（撤销该用户已签发的 token）；
+ * 批量操作时一次发布，包含全部受影响的用户
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserChangedEvent {
+
+    /**
+     * 用户ID列表
+     */
+    private final List<String> userIds;
+
+    /**
+     * 是否强制下线
+     */
+    private final boolean signOut;
+
+    public UserChangedEvent(String userId) {
+        this(userId, false);
+    }
+
+    public UserChangedEvent(String userId, boolean signOut) {
+        this(List.of(userId), signOut);
+    }
+}
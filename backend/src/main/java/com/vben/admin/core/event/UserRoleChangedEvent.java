@@ -0,0 +1,26 @@
+package com.vben.admin.core.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 用户角色变更事件
+ * 用户角色关联发生变化后发布，用于失效用户权限相关的缓存；批量操作时一次发布，包含全部受影响的用户
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class UserRoleChangedEvent {
+
+    /**
+     * 用户ID列表
+     */
+    private final List<String> userIds;
+
+    public UserRoleChangedEvent(String userId) {
+        this(List.of(userId));
+    }
+}
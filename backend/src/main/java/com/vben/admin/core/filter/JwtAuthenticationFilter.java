@@ -1,8 +1,15 @@
 package com.vben.admin.core.filter;
 
+import com.vben.admin.config.RouteAuthorizationProperties;
+import com.vben.admin.core.cache.LoginUserCache;
+import com.vben.admin.core.cache.PermissionCodeCache;
+import com.vben.admin.core.cache.TokenVerificationCache;
 import com.vben.admin.core.exception.CustomAccessDeniedHandler;
 import com.vben.admin.core.exception.CustomAuthenticationEntryPoint;
-import com.vben.admin.core.utils.JwtUtils;
+import com.vben.admin.core.model.JwtPrincipal;
+import com.vben.admin.core.model.LoginUser;
+import com.vben.admin.core.security.OnlineUserRegistry;
+import com.vben.admin.core.token.AccessTokenDenylist;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationServiceException;
@@ -12,7 +19,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import jakarta.servlet.FilterChain;
@@ -21,7 +27,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.Set;
 
 /**
  * JWT 认证过滤器
@@ -30,19 +35,31 @@ import java.util.Set;
  */
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtils jwtUtils;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final LoginUserCache loginUserCache;
+    private final PermissionCodeCache permissionCodeCache;
+    private final OnlineUserRegistry onlineUserRegistry;
     private final AuthenticationEntryPoint authenticationEntryPoint;
     private final AccessDeniedHandler accessDeniedHandler;
-    private final Set<RequestMatcher> ignoreUrls;
+    private final RouteAuthorizationTable routeAuthorizationTable;
 
-    public JwtAuthenticationFilter(JwtUtils jwtUtils,
+    public JwtAuthenticationFilter(TokenVerificationCache tokenVerificationCache,
+                                   AccessTokenDenylist accessTokenDenylist,
+                                   LoginUserCache loginUserCache,
+                                   PermissionCodeCache permissionCodeCache,
+                                   OnlineUserRegistry onlineUserRegistry,
                                    AuthenticationEntryPoint authenticationEntryPoint,
                                    AccessDeniedHandler accessDeniedHandler,
-                                   Set<RequestMatcher> ignoreUrls) {
-        this.jwtUtils = jwtUtils;
+                                   RouteAuthorizationTable routeAuthorizationTable) {
+        this.tokenVerificationCache = tokenVerificationCache;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.loginUserCache = loginUserCache;
+        this.permissionCodeCache = permissionCodeCache;
+        this.onlineUserRegistry = onlineUserRegistry;
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
-        this.ignoreUrls = ignoreUrls;
+        this.routeAuthorizationTable = routeAuthorizationTable;
     }
 
     private static final String TOKEN_HEADER = "Authorization";
@@ -51,10 +68,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        // 检查是否在白名单中
-        boolean isIgnore = ignoreUrls.stream()
-                .anyMatch(matcher -> matcher.matches(request));
-        if (isIgnore) {
+        // 查找路由规则（一次前缀树查找），白名单直接放行
+        RouteAuthorizationProperties.Rule rule = routeAuthorizationTable.resolve(request);
+        if (rule != null && rule.isPermitAll()) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -63,14 +79,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             if (StringUtils.isNotEmpty(token)) {
-                if (jwtUtils.validateToken(token)) {
-                    String username = jwtUtils.getUsernameFromToken(token);
-                    String userId = jwtUtils.getUserIdFromToken(token);
+                // 优先使用已校验的缓存结果，未命中时进行一次签名校验
+                JwtPrincipal principal = tokenVerificationCache.authenticate(token);
+                // 只接受访问Token（刷新Token不能用于访问接口），已退出登录或被强制下线的 token 视为无效
+                if (principal != null && principal.isAccessToken() && !accessTokenDenylist.isRevoked(principal)) {
+                    String username = principal.getUsername();
+                    String userId = principal.getUserId();
 
-                    // 创建认证对象
+                    // 获取登录用户（用户信息和角色，按用户缓存）
+                    LoginUser loginUser = loginUserCache.get(userId, username);
+                    if (loginUser == null) {
+                        // 用户已被删除或禁用
+                        throw new AuthenticationServiceException("用户已被禁用, 请重新登录");
+                    }
+
+                    // 创建认证对象（principal 为登录用户，下游通过 SecurityUtils 直接读取）
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
-                                    username,
+                                    loginUser,
                                     null,
                                     Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
                             );
@@ -82,6 +108,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     // 将用户信息存储到 request 属性中，方便后续使用
                     request.setAttribute("userId", userId);
                     request.setAttribute("username", username);
+
+                    // 更新在线用户的活跃时间（合并间隔内不更新）
+                    onlineUserRegistry.touch(userId, username, request);
+
+                    // 路由配置了权限码时校验当前用户的权限
+                    if (StringUtils.isNotEmpty(rule != null ? rule.getAuthCode() : null)
+                            && !permissionCodeCache.hasPermission(loginUser, rule.getAuthCode())) {
+                        throw new AccessDeniedException("没有访问权限");
+                    }
                 } else {
                     throw new AuthenticationServiceException("Token已失效, 请重新登录");
                 }
@@ -0,0 +1,92 @@
+package com.vben.admin.core.filter;
+
+import com.vben.admin.config.RouteAuthorizationProperties;
+import com.vben.admin.core.utils.RouteTrie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 接口路由授权表
+ * 由白名单和配置的路由规则编译而成，一次前缀树查找同时得到"是否允许匿名访问"和"需要的权限码"；
+ * 查找结果按请求路径保存在请求属性中，同一请求内的安全过滤器和授权匹配器共享一次查找
+ *
+ * @author vben
+ */
+public class RouteAuthorizationTable {
+
+    /**
+     * 请求属性：已解析的路由规则
+     */
+    private static final String RULE_ATTRIBUTE = RouteAuthorizationTable.class.getName() + ".rule";
+
+    private final RouteTrie<RouteAuthorizationProperties.Rule> trie = new RouteTrie<>();
+
+    /**
+     * 编译路由授权表（配置的规则在白名单之后添加，同一模式和方法时覆盖白名单）
+     *
+     * @param permitAllPatterns 白名单路由模式
+     * @param rules             配置的路由规则
+     */
+    public RouteAuthorizationTable(Collection<String> permitAllPatterns, List<RouteAuthorizationProperties.Rule> rules) {
+        for (String pattern : permitAllPatterns) {
+            trie.add(pattern, RouteTrie.ANY_METHOD, RouteAuthorizationProperties.Rule.permitAll(pattern));
+        }
+        for (RouteAuthorizationProperties.Rule rule : rules) {
+            if (rule.getMethods() == null || rule.getMethods().isEmpty()) {
+                trie.add(rule.getPattern(), RouteTrie.ANY_METHOD, rule);
+            } else {
+                for (String method : rule.getMethods()) {
+                    trie.add(rule.getPattern(), method, rule);
+                }
+            }
+        }
+    }
+
+    /**
+     * 解析请求匹配的路由规则
+     *
+     * @param request 请求
+     * @return 路由规则，没有匹配时返回 null
+     */
+    public RouteAuthorizationProperties.Rule resolve(HttpServletRequest request) {
+        String path = getPath(request);
+        // 转发或错误分发时路径会变化，只复用同一路径的查找结果
+        if (request.getAttribute(RULE_ATTRIBUTE) instanceof ResolvedRule resolved && resolved.path.equals(path)) {
+            return resolved.rule;
+        }
+        RouteAuthorizationProperties.Rule rule = trie.match(request.getMethod(), path);
+        request.setAttribute(RULE_ATTRIBUTE, new ResolvedRule(path, rule));
+        return rule;
+    }
+
+    /**
+     * 判断请求是否允许匿名访问
+     *
+     * @param request 请求
+     * @return 是否允许匿名访问
+     */
+    public boolean isPermitAll(HttpServletRequest request) {
+        RouteAuthorizationProperties.Rule rule = resolve(request);
+        return rule != null && rule.isPermitAll();
+    }
+
+    /**
+     * 获取请求路径（去掉上下文路径）
+     */
+    private static String getPath(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            return uri.substring(contextPath.length());
+        }
+        return uri;
+    }
+
+    /**
+     * 已解析的路由规则
+     */
+    private record ResolvedRule(String path, RouteAuthorizationProperties.Rule rule) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.vben.admin.core.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * JWT 认证主体（不可变）
+ * 由一次签名校验解析得到，包含令牌ID、用户ID、用户名、令牌类型、签发时间、过期时间和其他载荷数据
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class JwtPrincipal {
+
+    /**
+     * 令牌类型：访问Token
+     */
+    public static final String TOKEN_TYPE_ACCESS = "access";
+
+    /**
+     * 令牌类型：刷新Token
+     */
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    /**
+     * 令牌ID（jti，旧版本签发的 token 可能为空）
+     */
+    private final String tokenId;
+
+    /**
+     * 用户ID
+     */
+    private final String userId;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 令牌类型（access-访问Token，refresh-刷新Token）
+     */
+    private final String tokenType;
+
+    /**
+     * 签发时间
+     */
+    private final Date issuedAt;
+
+    /**
+     * 过期时间
+     */
+    private final Date expiration;
+
+    /**
+     * 全部载荷数据（只读）
+     */
+    private final Map<String, Object> claims;
+
+    /**
+     * 获取载荷数据
+     *
+     * @param name 载荷名称
+     * @return 载荷值，不存在时返回 null
+     */
+    public Object getClaim(String name) {
+        return claims.get(name);
+    }
+
+    /**
+     * 是否为访问Token（只有访问Token可以用于访问接口）
+     *
+     * @return 是否为访问Token
+     */
+    public boolean isAccessToken() {
+        return TOKEN_TYPE_ACCESS.equals(tokenType);
+    }
+
+    /**
+     * 是否为刷新Token（只有刷新Token可以用于换取新的Token）
+     *
+     * @return 是否为刷新Token
+     */
+    public boolean isRefreshToken() {
+        return TOKEN_TYPE_REFRESH.equals(tokenType);
+    }
+}
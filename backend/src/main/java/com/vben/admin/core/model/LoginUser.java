@@ -0,0 +1,48 @@
+package com.vben.admin.core.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * 当前登录用户（不可变）
+ * 由 JWT 过滤器按 token 解析后放入 SecurityContext，供下游直接读取，避免重复查询用户和角色
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class LoginUser implements Principal {
+
+    /**
+     * 用户ID
+     */
+    private final String userId;
+
+    /**
+     * 用户名
+     */
+    private final String username;
+
+    /**
+     * 真实姓名
+     */
+    private final String realName;
+
+    /**
+     * 角色ID列表（只读）
+     */
+    private final List<String> roleIds;
+
+    /**
+     * 构建时的权限版本号（角色、菜单权限变化后递增）
+     */
+    private final long permissionVersion;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,47 @@
+package com.vben.admin.core.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 关联关系同步结果（新增和删除的关联ID）
+ *
+ * @author vben
+ */
+@Getter
+@AllArgsConstructor
+public class RelationDelta {
+
+    private static final RelationDelta EMPTY = new RelationDelta(Collections.emptyList(), Collections.emptyList());
+
+    /**
+     * 新增的关联ID
+     */
+    private final List<String> added;
+
+    /**
+     * 删除的关联ID
+     */
+    private final List<String> removed;
+
+    /**
+     * 空结果（关联没有变化）
+     *
+     * @return 空结果
+     */
+    public static RelationDelta empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 关联是否发生了变化
+     *
+     * @return 是否有新增或删除
+     */
+    public boolean isChanged() {
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.vben.admin.core.security;
+
+import cn.hutool.core.lang.Validator;
+import cn.hutool.core.net.NetUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 客户端IP解析
+ * 默认使用连接的对端地址（request.getRemoteAddr()）；只有对端是受信任的代理时才读取代理转发的请求头，
+ * 避免客户端伪造 X-Forwarded-For 等请求头绕过按IP的限流或篡改日志中的IP
+ *
+ * @author vben
+ */
+@Component
+public class ClientIpResolver {
+
+    /**
+     * 只包含一个地址的代理请求头（X-Forwarded-For 之后依次尝试）
+     */
+    private static final String[] SINGLE_ADDRESS_HEADERS = {"X-Real-IP", "Proxy-Client-IP", "WL-Proxy-Client-IP"};
+
+    /**
+     * 受信任的代理地址（精确匹配）
+     */
+    private final Set<String> trustedAddresses = new HashSet<>();
+
+    /**
+     * 受信任的代理网段（IPv4 CIDR，如 10.0.0.0/8）
+     */
+    private final List<String> trustedRanges = new ArrayList<>();
+
+    public ClientIpResolver(@Value("${security.trusted-proxies:127.0.0.1,0:0:0:0:0:0:0:1}") String[] trustedProxies) {
+        for (String proxy : trustedProxies) {
+            String value = proxy.trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            if (value.contains("/")) {
+                trustedRanges.add(value);
+            } else {
+                trustedAddresses.add(value);
+            }
+        }
+    }
+
+    /**
+     * 获取客户端IP地址
+     * 对端是受信任的代理时，从右向左读取 X-Forwarded-For，返回第一个不受信任的地址（即最后一个受信任代理看到的客户端）
+     *
+     * @param request HTTP 请求
+     * @return IP地址
+     */
+    public String resolve(HttpServletRequest request) {
+        String remoteAddr = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddr)) {
+            return remoteAddr;
+        }
+
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (StringUtils.hasText(forwardedFor)) {
+            String[] hops = forwardedFor.split(",");
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (isAddress(hop) && !isTrustedProxy(hop)) {
+                    return hop;
+                }
+            }
+        }
+        for (String header : SINGLE_ADDRESS_HEADERS) {
+            String ip = request.getHeader(header);
+            if (ip != null && isAddress(ip.trim())) {
+                return ip.trim();
+            }
+        }
+        return remoteAddr;
+    }
+
+    private boolean isTrustedProxy(String ip) {
+        if (ip == null) {
+            return false;
+        }
+        if (trustedAddresses.contains(ip)) {
+            return true;
+        }
+        if (trustedRanges.isEmpty() || !Validator.isIpv4(ip)) {
+            return false;
+        }
+        for (String range : trustedRanges) {
+            if (NetUtil.isInRange(ip, range)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAddress(String value) {
+        return !value.isEmpty() && !"unknown".equalsIgnoreCase(value);
+    }
+}
@@ -0,0 +1,84 @@
+package com.vben.admin.core.security;
+
+import com.vben.admin.core.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 登录限流
+ * 在查询数据库和校验密码之前拒绝过于频繁的登录请求：
+ * 按客户端IP限制登录次数，按用户名 + 客户端IP限制连续失败次数（登录成功后清零）。
+ * 失败次数不只按用户名统计，否则任何人不需要密码就能把指定账号（包括 admin）锁定
+ *
+ * @author vben
+ */
+@Component
+public class LoginThrottle {
+
+    private final SlidingWindowCounter ipAttempts;
+    private final SlidingWindowCounter usernameFailures;
+
+    @Value("${security.login.ip-max-attempts:30}")
+    private int ipMaxAttempts;
+
+    @Value("${security.login.username-max-failures:10}")
+    private int usernameMaxFailures;
+
+    public LoginThrottle(@Value("${security.login.ip-window-seconds:60}") long ipWindowSeconds,
+                         @Value("${security.login.username-window-seconds:300}") long usernameWindowSeconds) {
+        this.ipAttempts = new SlidingWindowCounter(ipWindowSeconds * 1000);
+        this.usernameFailures = new SlidingWindowCounter(usernameWindowSeconds * 1000);
+    }
+
+    /**
+     * 检查并记录一次登录尝试
+     *
+     * @param username 用户名
+     * @param clientIp 客户端IP
+     * @throws BusinessException 如果登录尝试过于频繁
+     */
+    public void checkAndRecordAttempt(String username, String clientIp) {
+        if (usernameFailures.count(failureKey(username, clientIp)) >= usernameMaxFailures) {
+            throw new BusinessException("登录失败次数过多，请稍后再试");
+        }
+        if (clientIp != null && !ipAttempts.tryAcquire(clientIp, ipMaxAttempts)) {
+            throw new BusinessException("登录尝试过于频繁，请稍后再试");
+        }
+    }
+
+    /**
+     * 记录一次登录失败
+     *
+     * @param username 用户名
+     * @param clientIp 客户端IP
+     */
+    public void recordFailure(String username, String clientIp) {
+        usernameFailures.increment(failureKey(username, clientIp));
+    }
+
+    /**
+     * 记录一次登录成功（清除该IP上的失败次数）
+     *
+     * @param username 用户名
+     * @param clientIp 客户端IP
+     */
+    public void recordSuccess(String username, String clientIp) {
+        usernameFailures.reset(failureKey(username, clientIp));
+    }
+
+    /**
+     * 定期移除不再活跃的计数（每分钟执行一次）
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeIdle() {
+        ipAttempts.purgeIdle();
+        usernameFailures.purgeIdle();
+    }
+
+    private static String failureKey(String username, String clientIp) {
+        return username.trim().toLowerCase(Locale.ROOT) + '|' + clientIp;
+    }
+}
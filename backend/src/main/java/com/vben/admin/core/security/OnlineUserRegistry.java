@@ -0,0 +1,302 @@
+package com.vben.admin.core.security;
+
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.utils.BrowserInfoParser;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.model.entity.SysUser;
+import com.vben.admin.model.vo.OnlineStatsVO;
+import com.vben.admin.model.vo.OnlineUserVO;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 在线用户登记表
+ * 登录和每次已认证的请求更新用户的最后活跃时间、IP 和 User-Agent：
+ *
+ * <ul>
+ *     <li>同一用户在合并间隔内的请求只读取一次 volatile 字段，超过间隔后由 CAS 成功的一个请求更新，不加锁</li>
+ *     <li>最后登录时间和最后活跃时间定期批量写入 sys_user（每批一条 UPDATE），不在请求线程中访问数据库</li>
+ *     <li>在线用户列表和活跃数直接从内存读取</li>
+ * </ul>
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OnlineUserRegistry {
+
+    /**
+     * 每批写入的用户数
+     */
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final UserMapper userMapper;
+    private final ClientIpResolver clientIpResolver;
+
+    /**
+     * 用户ID -> 会话
+     */
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * 活跃时间的更新间隔（毫秒），间隔内的请求不更新会话
+     */
+    @Value("${security.online.touch-interval-ms:15000}")
+    private long touchIntervalMillis;
+
+    /**
+     * 超过该时长没有请求的用户视为离线（秒）
+     */
+    @Value("${security.online.idle-timeout-seconds:1800}")
+    private long idleTimeoutSeconds;
+
+    /**
+     * 记录登录
+     *
+     * @param userId    用户ID
+     * @param username  用户名
+     * @param ip        客户端IP
+     * @param userAgent User-Agent
+     */
+    public void recordLogin(String userId, String username, String ip, String userAgent) {
+        long now = System.currentTimeMillis();
+        sessions.compute(userId, (id, session) -> {
+            Session target = session != null ? session : new Session(id);
+            target.username = username;
+            target.ip = ip;
+            target.userAgent = userAgent;
+            target.loginTime = now;
+            target.loggedOut = false;
+            target.lastSeen.set(now);
+            return target;
+        });
+    }
+
+    /**
+     * 记录一次已认证的请求（同一用户在合并间隔内只更新一次）
+     *
+     * @param userId   用户ID
+     * @param username 用户名
+     * @param request  请求
+     */
+    public void touch(String userId, String username, HttpServletRequest request) {
+        long now = System.currentTimeMillis();
+        Session session = sessions.get(userId);
+        if (session == null) {
+            // 服务重启或会话已清理后的第一个请求，登录时间未知
+            session = sessions.computeIfAbsent(userId, Session::new);
+        } else {
+            long lastSeen = session.lastSeen.get();
+            if (now - lastSeen < touchIntervalMillis || !session.lastSeen.compareAndSet(lastSeen, now)) {
+                return;
+            }
+        }
+        session.lastSeen.accumulateAndGet(now, Math::max);
+        session.username = username;
+        session.ip = clientIpResolver.resolve(request);
+        session.userAgent = request.getHeader("User-Agent");
+        session.loggedOut = false;
+    }
+
+    /**
+     * 标记用户已下线（活跃时间写入数据库后移除）
+     *
+     * @param userId 用户ID
+     */
+    public void remove(String userId) {
+        Session session = sessions.get(userId);
+        if (session != null) {
+            session.loggedOut = true;
+        }
+    }
+
+    /**
+     * 用户删除、禁用、重置密码（强制下线）后从在线列表移除
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isSignOut()) {
+            event.getUserIds().forEach(this::remove);
+        }
+    }
+
+    /**
+     * 获取在线用户列表（按最后活跃时间倒序）
+     *
+     * @return 在线用户列表
+     */
+    public List<OnlineUserVO> listOnlineUsers() {
+        long threshold = System.currentTimeMillis() - idleTimeoutSeconds * 1000;
+        List<OnlineUserVO> result = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            long lastSeen = session.lastSeen.get();
+            if (session.loggedOut || lastSeen < threshold) {
+                continue;
+            }
+            OnlineUserVO vo = new OnlineUserVO();
+            vo.setUserId(session.userId);
+            vo.setUsername(session.username);
+            vo.setIpAddress(session.ip);
+            BrowserInfoParser.BrowserInfo browserInfo = BrowserInfoParser.parseUserAgent(session.userAgent);
+            vo.setBrowser(browserInfo.getBrowser());
+            vo.setOs(browserInfo.getOs());
+            vo.setLoginTime(session.loginTime > 0 ? toLocalDateTime(session.loginTime) : null);
+            vo.setLastActiveTime(toLocalDateTime(lastSeen));
+            result.add(vo);
+        }
+        result.sort(Comparator.comparing(OnlineUserVO::getLastActiveTime).reversed());
+        return result;
+    }
+
+    /**
+     * 获取在线用户统计（最近 1、5、15 分钟内活跃的用户数和在线用户数）
+     *
+     * @return 在线用户统计
+     */
+    public OnlineStatsVO getStats() {
+        long now = System.currentTimeMillis();
+        long idleThreshold = now - idleTimeoutSeconds * 1000;
+        int online = 0;
+        int active1m = 0;
+        int active5m = 0;
+        int active15m = 0;
+        for (Session session : sessions.values()) {
+            long lastSeen = session.lastSeen.get();
+            if (session.loggedOut || lastSeen < idleThreshold) {
+                continue;
+            }
+            online++;
+            long idle = now - lastSeen;
+            if (idle <= 60_000L) {
+                active1m++;
+            }
+            if (idle <= 300_000L) {
+                active5m++;
+            }
+            if (idle <= 900_000L) {
+                active15m++;
+            }
+        }
+        OnlineStatsVO vo = new OnlineStatsVO();
+        vo.setOnlineCount(online);
+        vo.setActive1m(active1m);
+        vo.setActive5m(active5m);
+        vo.setActive15m(active15m);
+        vo.setIdleTimeoutSeconds(idleTimeoutSeconds);
+        return vo;
+    }
+
+    /**
+     * 批量写入最后登录时间和最后活跃时间，并移除已下线或长时间不活跃的会话（默认每分钟执行一次）
+     */
+    @Scheduled(fixedDelayString = "${security.online.flush-interval:60000}")
+    public synchronized void flush() {
+        List<Session> dirty = new ArrayList<>();
+        List<SysUser> updates = new ArrayList<>();
+        for (Session session : sessions.values()) {
+            long loginTime = session.loginTime;
+            long lastSeen = session.lastSeen.get();
+            if (loginTime <= session.persistedLoginTime && lastSeen <= session.persistedLastSeen) {
+                continue;
+            }
+            SysUser update = new SysUser();
+            update.setId(session.userId);
+            update.setLastLoginTime(loginTime > session.persistedLoginTime ? toLocalDateTime(loginTime) : null);
+            update.setLastActiveTime(toLocalDateTime(lastSeen));
+            dirty.add(session);
+            updates.add(update);
+        }
+
+        for (int from = 0; from < updates.size(); from += FLUSH_BATCH_SIZE) {
+            int to = Math.min(from + FLUSH_BATCH_SIZE, updates.size());
+            try {
+                userMapper.batchUpdateActivity(updates.subList(from, to));
+            } catch (Exception e) {
+                // 写入失败时保留脏标记，下次重试
+                log.warn("写入用户活跃时间失败: {}", e.getMessage());
+                dirty.subList(from, dirty.size()).clear();
+                break;
+            }
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            Session session = dirty.get(i);
+            SysUser update = updates.get(i);
+            if (update.getLastLoginTime() != null) {
+                session.persistedLoginTime = toEpochMillis(update.getLastLoginTime());
+            }
+            session.persistedLastSeen = toEpochMillis(update.getLastActiveTime());
+        }
+
+        // 移除已下线或超时、且活跃时间已写入的会话
+        long idleThreshold = System.currentTimeMillis() - idleTimeoutSeconds * 1000;
+        sessions.values().removeIf(session -> (session.loggedOut || session.lastSeen.get() < idleThreshold)
+                && session.lastSeen.get() <= session.persistedLastSeen
+                && session.loginTime <= session.persistedLoginTime);
+    }
+
+    /**
+     * 停机前写入尚未持久化的活跃时间
+     */
+    @PreDestroy
+    public void destroy() {
+        flush();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 会话
+     */
+    private static final class Session {
+
+        private final String userId;
+
+        private final AtomicLong lastSeen = new AtomicLong();
+
+        private volatile String username;
+        private volatile String ip;
+        private volatile String userAgent;
+
+        /**
+         * 登录时间（服务重启后未重新登录时为 0）
+         */
+        private volatile long loginTime;
+
+        private volatile boolean loggedOut;
+
+        /**
+         * 已写入数据库的登录时间和活跃时间（仅由 flush 访问）
+         */
+        private long persistedLoginTime;
+        private long persistedLastSeen;
+
+        private Session(String userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.vben.admin.core.security;
+
+import com.vben.admin.core.exception.BusinessException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 登录密码校验
+ * BCrypt 校验是 CPU 密集操作，放在固定大小的线程池中执行：
+ * 同时进行的校验数不超过配置的并发数，超出的请求排队，队列已满或等待超时时快速失败，
+ * 避免登录洪峰占满 Web 容器线程、拖慢其他接口
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+
+    @Value("${security.login.max-concurrency:0}")
+    private int maxConcurrency;
+
+    @Value("${security.login.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${security.login.timeout-ms:10000}")
+    private long timeoutMillis;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        // 未配置时使用一半的 CPU 核数，至少 2 个线程
+        int threads = maxConcurrency > 0 ? maxConcurrency
+                : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-verify-");
+        executor.setDaemon(true);
+        executor.initialize();
+        log.info("登录密码校验线程池已初始化，线程数: {}，队列容量: {}", threads, queueCapacity);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 校验密码
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 加密后的密码
+     * @return 是否匹配
+     * @throws BusinessException 如果校验请求过多或等待超时
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        CompletableFuture<Boolean> future;
+        try {
+            future = CompletableFuture.supplyAsync(
+                    () -> passwordEncoder.matches(rawPassword, encodedPassword), executor);
+        } catch (RejectedExecutionException e) {
+            throw new BusinessException("登录请求过多，请稍后再试");
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new BusinessException("登录请求过多，请稍后再试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("登录请求已中断");
+        } catch (ExecutionException e) {
+            log.error("校验密码失败", e.getCause());
+            return false;
+        }
+    }
+}
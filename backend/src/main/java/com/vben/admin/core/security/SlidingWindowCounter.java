@@ -0,0 +1,144 @@
+package com.vben.admin.core.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 分段加锁的滑动窗口计数器
+ * 每个 key 只保存上一个窗口和当前窗口的计数，按时间比例估算最近一个窗口内的次数（O(1) 内存）
+ *
+ * @author vben
+ */
+public class SlidingWindowCounter {
+
+    /**
+     * 分段数量（2 的幂）
+     */
+    private static final int STRIPE_COUNT = 32;
+
+    private final long windowMillis;
+
+    @SuppressWarnings("unchecked")
+    private final Map<String, Window>[] stripes = new Map[STRIPE_COUNT];
+
+    public SlidingWindowCounter(long windowMillis) {
+        this.windowMillis = windowMillis;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new HashMap<>();
+        }
+    }
+
+    /**
+     * 次数未达到上限时计数一次
+     *
+     * @param key   key
+     * @param limit 上限
+     * @return 是否计数成功（false 表示已达到上限）
+     */
+    public boolean tryAcquire(String key, int limit) {
+        Map<String, Window> stripe = stripeOf(key);
+        long now = System.currentTimeMillis();
+        synchronized (stripe) {
+            Window window = stripe.computeIfAbsent(key, k -> new Window(now));
+            window.roll(now, windowMillis);
+            if (window.estimate(now, windowMillis) >= limit) {
+                return false;
+            }
+            window.current++;
+            return true;
+        }
+    }
+
+    /**
+     * 计数一次
+     *
+     * @param key key
+     */
+    public void increment(String key) {
+        Map<String, Window> stripe = stripeOf(key);
+        long now = System.currentTimeMillis();
+        synchronized (stripe) {
+            Window window = stripe.computeIfAbsent(key, k -> new Window(now));
+            window.roll(now, windowMillis);
+            window.current++;
+        }
+    }
+
+    /**
+     * 获取最近一个窗口内的次数（估算值）
+     *
+     * @param key key
+     * @return 次数
+     */
+    public double count(String key) {
+        Map<String, Window> stripe = stripeOf(key);
+        long now = System.currentTimeMillis();
+        synchronized (stripe) {
+            Window window = stripe.get(key);
+            if (window == null) {
+                return 0;
+            }
+            window.roll(now, windowMillis);
+            return window.estimate(now, windowMillis);
+        }
+    }
+
+    /**
+     * 清除计数
+     *
+     * @param key key
+     */
+    public void reset(String key) {
+        Map<String, Window> stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+
+    /**
+     * 移除两个窗口内没有计数的 key
+     */
+    public void purgeIdle() {
+        long now = System.currentTimeMillis();
+        for (Map<String, Window> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.values().removeIf(window -> now - window.currentStart >= 2 * windowMillis);
+            }
+        }
+    }
+
+    private Map<String, Window> stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * 计数窗口
+     */
+    private static final class Window {
+
+        private long currentStart;
+        private int current;
+        private int previous;
+
+        private Window(long now) {
+            this.currentStart = now;
+        }
+
+        private void roll(long now, long windowMillis) {
+            long elapsed = now - currentStart;
+            if (elapsed < windowMillis) {
+                return;
+            }
+            // 超过一个窗口时当前计数成为上一个窗口；超过两个窗口时全部清零
+            previous = elapsed < 2 * windowMillis ? current : 0;
+            current = 0;
+            currentStart = now - elapsed % windowMillis;
+        }
+
+        private double estimate(long now, long windowMillis) {
+            double previousWeight = 1D - (double) (now - currentStart) / windowMillis;
+            return previous * previousWeight + current;
+        }
+    }
+}
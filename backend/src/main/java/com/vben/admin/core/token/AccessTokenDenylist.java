@@ -0,0 +1,306 @@
+package com.vben.admin.core.token;
+
+import com.vben.admin.core.cache.TokenVerificationCache;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.model.JwtPrincipal;
+import com.vben.admin.core.utils.JwtUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token 撤销名单
+ * 按令牌ID（退出登录）或按用户（强制下线：此前签发的 token 均失效）撤销尚未过期的 token
+ *
+ * <ul>
+ *     <li>撤销记录在被撤销的 token 自然过期后移除，由时间轮统一推进，不为每条记录创建定时器</li>
+ *     <li>查询先经过布隆过滤器：没有撤销记录时只读取一个 volatile 字段，未命中过滤器时不访问撤销记录</li>
+ *     <li>撤销消息通过 {@link RevocationChannel} 广播，所有节点（包括发布者）在收到消息后更新本地名单</li>
+ * </ul>
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessTokenDenylist {
+
+    /**
+     * 时间轮槽数（2 的幂）
+     */
+    private static final int WHEEL_SIZE = 512;
+
+    /**
+     * 时间轮每格时长（毫秒）
+     */
+    private static final long TICK_MILLIS = 1000L;
+
+    /**
+     * 布隆过滤器位数（2 的幂）
+     */
+    private static final int BLOOM_BITS = 1 << 16;
+
+    /**
+     * 布隆过滤器哈希函数个数
+     */
+    private static final int BLOOM_HASHES = 3;
+
+    private static final int TOKEN_SEED = 0x9E3779B9;
+    private static final int USER_SEED = 0x85EBCA6B;
+
+    private final RevocationChannel revocationChannel;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final JwtUtils jwtUtils;
+
+    /**
+     * 被撤销的令牌ID -> 撤销记录
+     */
+    private final Map<String, TokenRevocation> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 被强制下线的用户ID -> 撤销记录
+     */
+    private final Map<String, TokenRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    /**
+     * 布隆过滤器（写时复制，发布后不再修改；没有撤销记录时为 null）
+     */
+    private volatile long[] bloom;
+
+    /**
+     * 时间轮（由 lock 保护）
+     */
+    @SuppressWarnings("unchecked")
+    private final List<WheelEntry>[] wheel = new List[WHEEL_SIZE];
+
+    private int cursor;
+
+    private final Object lock = new Object();
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+        revocationChannel.subscribe(this::apply);
+    }
+
+    /**
+     * 撤销单个 token（退出登录）
+     *
+     * @param principal token 的认证主体
+     */
+    public void revokeToken(JwtPrincipal principal) {
+        if (principal == null || principal.getTokenId() == null || principal.getExpiration() == null
+                || principal.getExpiration().getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        revocationChannel.publish(new TokenRevocation(TokenRevocation.Type.TOKEN,
+                principal.getTokenId(), 0L, principal.getExpiration().getTime()));
+    }
+
+    /**
+     * 强制用户下线：此前签发的 AccessToken 和 RefreshToken 均失效
+     *
+     * @param userId 用户ID
+     */
+    public void revokeUser(String userId) {
+        // token 的签发时间精确到秒，向上取整，保证撤销前签发的 token 一定早于生效时间
+        long notBefore = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        long ttl = Math.max(jwtUtils.getAccessTokenExpiration(), jwtUtils.getRefreshTokenExpiration());
+        revocationChannel.publish(new TokenRevocation(TokenRevocation.Type.USER, userId, notBefore, notBefore + ttl));
+    }
+
+    /**
+     * 用户删除、禁用、重置密码后强制下线
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.isSignOut()) {
+            event.getUserIds().forEach(this::revokeUser);
+        }
+    }
+
+    /**
+     * 判断 token 是否已被撤销
+     *
+     * @param principal token 的认证主体
+     * @return 是否已被撤销
+     */
+    public boolean isRevoked(JwtPrincipal principal) {
+        long[] bits = bloom;
+        if (bits == null) {
+            return false;
+        }
+
+        String tokenId = principal.getTokenId();
+        if (tokenId != null && mightContain(bits, tokenId, TOKEN_SEED) && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+
+        String userId = principal.getUserId();
+        if (userId != null && mightContain(bits, userId, USER_SEED)) {
+            TokenRevocation revocation = revokedUsers.get(userId);
+            return revocation != null && (principal.getIssuedAt() == null
+                    || principal.getIssuedAt().getTime() < revocation.getNotBefore());
+        }
+        return false;
+    }
+
+    /**
+     * 获取当前的撤销记录数
+     *
+     * @return 撤销记录数
+     */
+    public int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    /**
+     * 推进时间轮，移除已过期的撤销记录（每秒执行一次）
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void tick() {
+        synchronized (lock) {
+            cursor = (cursor + 1) & (WHEEL_SIZE - 1);
+            List<WheelEntry> slot = wheel[cursor];
+            if (slot.isEmpty()) {
+                return;
+            }
+
+            boolean expired = false;
+            Iterator<WheelEntry> iterator = slot.iterator();
+            while (iterator.hasNext()) {
+                WheelEntry entry = iterator.next();
+                if (entry.rounds > 0) {
+                    entry.rounds--;
+                    continue;
+                }
+                iterator.remove();
+                expire(entry.revocation);
+                expired = true;
+            }
+            if (expired) {
+                rebuildBloom();
+            }
+        }
+    }
+
+    /**
+     * 应用撤销消息（来自本节点或其他节点）
+     *
+     * @param revocation 撤销消息
+     */
+    private void apply(TokenRevocation revocation) {
+        synchronized (lock) {
+            int seed;
+            if (revocation.getType() == TokenRevocation.Type.TOKEN) {
+                revokedTokens.put(revocation.getKey(), revocation);
+                seed = TOKEN_SEED;
+            } else {
+                // 同一用户多次被强制下线时保留生效时间最晚的记录
+                revokedUsers.merge(revocation.getKey(), revocation,
+                        (current, latest) -> latest.getNotBefore() >= current.getNotBefore() ? latest : current);
+                seed = USER_SEED;
+            }
+            schedule(revocation);
+
+            long[] bits = bloom == null ? new long[BLOOM_BITS / Long.SIZE] : bloom.clone();
+            put(bits, revocation.getKey(), seed);
+            bloom = bits;
+        }
+
+        if (revocation.getType() == TokenRevocation.Type.USER) {
+            tokenVerificationCache.invalidateUser(revocation.getKey());
+            log.debug("用户 {} 已被强制下线", revocation.getKey());
+        }
+    }
+
+    private void schedule(TokenRevocation revocation) {
+        long delay = revocation.getExpiresAt() - System.currentTimeMillis();
+        long ticks = Math.max(1L, (delay + TICK_MILLIS - 1) / TICK_MILLIS);
+        int slot = (int) ((cursor + ticks) & (WHEEL_SIZE - 1));
+        wheel[slot].add(new WheelEntry(revocation, (int) ((ticks - 1) / WHEEL_SIZE)));
+    }
+
+    private void expire(TokenRevocation revocation) {
+        if (revocation.getType() == TokenRevocation.Type.TOKEN) {
+            revokedTokens.remove(revocation.getKey(), revocation);
+        } else {
+            revokedUsers.remove(revocation.getKey(), revocation);
+        }
+    }
+
+    private void rebuildBloom() {
+        if (revokedTokens.isEmpty() && revokedUsers.isEmpty()) {
+            bloom = null;
+            return;
+        }
+        long[] bits = new long[BLOOM_BITS / Long.SIZE];
+        revokedTokens.keySet().forEach(tokenId -> put(bits, tokenId, TOKEN_SEED));
+        revokedUsers.keySet().forEach(userId -> put(bits, userId, USER_SEED));
+        bloom = bits;
+    }
+
+    private static void put(long[] bits, String key, int seed) {
+        int h1 = mix(key.hashCode() ^ seed);
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static boolean mightContain(long[] bits, String key, int seed) {
+        int h1 = mix(key.hashCode() ^ seed);
+        int h2 = mix(h1) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 哈希扰动（MurmurHash3 fmix32）
+     */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * 时间轮条目
+     */
+    private static final class WheelEntry {
+
+        private final TokenRevocation revocation;
+
+        /**
+         * 剩余圈数
+         */
+        private int rounds;
+
+        private WheelEntry(TokenRevocation revocation, int rounds) {
+            this.revocation = revocation;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.vben.admin.core.token;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 进程内刷新令牌存储（默认）
+ * 按令牌ID分段加锁，每段维护一个哈希表和按过期时间排序的队列：
+ * 查找和使用为 O(1)，过期清理只访问已过期的条目；被撤销的令牌族保留到族过期为止
+ *
+ * @author vben
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh-token-store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    /**
+     * 分段数量（2 的幂）
+     */
+    private static final int STRIPE_COUNT = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    /**
+     * 已撤销的令牌族ID -> 族过期时间
+     */
+    private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+
+    public InMemoryRefreshTokenStore() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void save(RefreshTokenRecord record) {
+        Stripe stripe = stripeOf(record.getTokenId());
+        synchronized (stripe) {
+            stripe.purgeExpired(System.currentTimeMillis());
+            Entry entry = new Entry(record);
+            stripe.entries.put(record.getTokenId(), entry);
+            stripe.expiryQueue.add(entry);
+        }
+    }
+
+    @Override
+    public ConsumeResult consume(String tokenId, String successorId) {
+        Stripe stripe = stripeOf(tokenId);
+        synchronized (stripe) {
+            long now = System.currentTimeMillis();
+            Entry entry = stripe.entries.get(tokenId);
+            if (entry == null || entry.record.getExpiresAt() <= now
+                    || revokedFamilies.containsKey(entry.record.getFamilyId())) {
+                return ConsumeResult.notFound();
+            }
+            if (entry.successorId != null) {
+                return ConsumeResult.reused(entry.successorId, entry.usedAt);
+            }
+            entry.successorId = successorId;
+            entry.usedAt = now;
+            return ConsumeResult.consumed();
+        }
+    }
+
+    @Override
+    public void revokeFamily(String familyId, long expiresAt) {
+        // 族内令牌共享过期时间，撤销记录保留到族过期即可
+        if (expiresAt > System.currentTimeMillis()) {
+            revokedFamilies.put(familyId, expiresAt);
+        }
+    }
+
+    /**
+     * 定期清理已过期的令牌和撤销记录（每分钟执行一次）
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.purgeExpired(now);
+            }
+        }
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    private Stripe stripeOf(String tokenId) {
+        int hash = tokenId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * 分段
+     */
+    private static final class Stripe {
+
+        /**
+         * 令牌ID -> 条目
+         */
+        private final Map<String, Entry> entries = new HashMap<>();
+
+        /**
+         * 按过期时间排序的条目
+         */
+        private final PriorityQueue<Entry> expiryQueue =
+                new PriorityQueue<>(Comparator.comparingLong(entry -> entry.record.getExpiresAt()));
+
+        private void purgeExpired(long now) {
+            Entry head;
+            while ((head = expiryQueue.peek()) != null && head.record.getExpiresAt() <= now) {
+                expiryQueue.poll();
+                entries.remove(head.record.getTokenId(), head);
+            }
+        }
+    }
+
+    /**
+     * 条目
+     */
+    private static final class Entry {
+
+        private final RefreshTokenRecord record;
+
+        /**
+         * 使用时签发的新令牌ID（非 null 表示已使用；已使用的条目保留到过期，用于识别重放）
+         */
+        private String successorId;
+
+        /**
+         * 使用时间（毫秒时间戳）
+         */
+        private long usedAt;
+
+        private Entry(RefreshTokenRecord record) {
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.vben.admin.core.token;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.vben.admin.mapper.RefreshTokenMapper;
+import com.vben.admin.model.entity.SysRefreshToken;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 数据库刷新令牌存储（多节点部署使用）
+ * 按主键查找令牌，通过条件更新（used = 0）原子地标记为已使用并记录新令牌ID，多个节点同时使用同一令牌时只有一个成功，
+ * 其余的读取成功者签发的新令牌ID
+ *
+ * @author vben
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.refresh-token-store.type", havingValue = "jdbc")
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenMapper refreshTokenMapper;
+
+    @Override
+    public void save(RefreshTokenRecord record) {
+        SysRefreshToken token = new SysRefreshToken();
+        token.setId(record.getTokenId());
+        token.setFamilyId(record.getFamilyId());
+        token.setUserId(record.getUserId());
+        token.setExpireTime(toLocalDateTime(record.getExpiresAt()));
+        token.setUsed(0);
+        token.setRevoked(0);
+        token.setCreateTime(LocalDateTime.now());
+        refreshTokenMapper.insert(token);
+    }
+
+    @Override
+    public ConsumeResult consume(String tokenId, String successorId) {
+        SysRefreshToken token = refreshTokenMapper.selectById(tokenId);
+        if (token == null || token.getRevoked() == 1 || !token.getExpireTime().isAfter(LocalDateTime.now())) {
+            return ConsumeResult.notFound();
+        }
+        if (token.getUsed() == 1) {
+            return reused(token);
+        }
+        int updated = refreshTokenMapper.update(null, new LambdaUpdateWrapper<SysRefreshToken>()
+                .set(SysRefreshToken::getUsed, 1)
+                .set(SysRefreshToken::getSuccessorId, successorId)
+                .set(SysRefreshToken::getUsedTime, LocalDateTime.now())
+                .eq(SysRefreshToken::getId, tokenId)
+                .eq(SysRefreshToken::getUsed, 0)
+                .eq(SysRefreshToken::getRevoked, 0));
+        if (updated == 1) {
+            return ConsumeResult.consumed();
+        }
+        // 其他节点同时使用了该令牌：重新读取它签发的新令牌
+        token = refreshTokenMapper.selectById(tokenId);
+        return token != null && token.getRevoked() == 0 ? reused(token) : ConsumeResult.notFound();
+    }
+
+    @Override
+    public void revokeFamily(String familyId, long expiresAt) {
+        refreshTokenMapper.update(null, new LambdaUpdateWrapper<SysRefreshToken>()
+                .set(SysRefreshToken::getRevoked, 1)
+                .eq(SysRefreshToken::getFamilyId, familyId));
+    }
+
+    /**
+     * 定期删除已过期的令牌（每小时执行一次）
+     */
+    @Scheduled(fixedDelay = 3600000)
+    public void purgeExpired() {
+        int deleted = refreshTokenMapper.delete(new LambdaQueryWrapper<SysRefreshToken>()
+                .le(SysRefreshToken::getExpireTime, LocalDateTime.now()));
+        if (deleted > 0) {
+            log.debug("已删除 {} 条过期的刷新令牌", deleted);
+        }
+    }
+
+    private static ConsumeResult reused(SysRefreshToken token) {
+        long usedAt = token.getUsedTime() != null
+                ? token.getUsedTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        return ConsumeResult.reused(token.getSuccessorId(), usedAt);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
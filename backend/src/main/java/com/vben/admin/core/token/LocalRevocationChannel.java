@@ -0,0 +1,31 @@
+package com.vben.admin.core.token;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 进程内 Token 撤销消息通道（单节点部署使用）
+ * 发布时同步投递给本进程内的订阅者，多节点部署时替换为基于消息中间件的实现
+ *
+ * @author vben
+ */
+@Component
+public class LocalRevocationChannel implements RevocationChannel {
+
+    private final List<Consumer<TokenRevocation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(TokenRevocation revocation) {
+        for (Consumer<TokenRevocation> subscriber : subscribers) {
+            subscriber.accept(revocation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<TokenRevocation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
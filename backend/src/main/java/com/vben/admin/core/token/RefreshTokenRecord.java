@@ -0,0 +1,35 @@
+package com.vben.admin.core.token;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 刷新令牌记录（不可变）
+ * 同一次登录通过轮换产生的刷新令牌属于同一个令牌族，共享族ID和过期时间
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class RefreshTokenRecord {
+
+    /**
+     * 令牌ID（JWT jti）
+     */
+    private final String tokenId;
+
+    /**
+     * 令牌族ID
+     */
+    private final String familyId;
+
+    /**
+     * 用户ID
+     */
+    private final String userId;
+
+    /**
+     * 过期时间（毫秒时间戳）
+     */
+    private final long expiresAt;
+}
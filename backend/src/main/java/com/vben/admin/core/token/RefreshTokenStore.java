@@ -0,0 +1,102 @@
+package com.vben.admin.core.token;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 刷新令牌存储
+ * 记录已签发的刷新令牌，每个令牌只能使用一次（轮换）；已使用的令牌在宽限期内再次出现时返回已签发的新令牌
+ * （同一用户的多个标签页同时刷新），超过宽限期后再次出现视为被盗用，撤销整个令牌族
+ *
+ * <p>默认使用进程内存储（{@link InMemoryRefreshTokenStore}），
+ * 多节点部署时配置 {@code jwt.refresh-token-store.type=jdbc} 使用数据库存储（{@link JdbcRefreshTokenStore}）</p>
+ *
+ * @author vben
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 保存新签发的刷新令牌
+     *
+     * @param record 刷新令牌记录
+     */
+    void save(RefreshTokenRecord record);
+
+    /**
+     * 使用刷新令牌（原子操作：未使用的令牌标记为已使用，同时记录接替它的令牌ID和使用时间）
+     *
+     * @param tokenId     令牌ID
+     * @param successorId 本次使用签发的新令牌ID
+     * @return 使用结果
+     */
+    ConsumeResult consume(String tokenId, String successorId);
+
+    /**
+     * 撤销令牌族（族内所有令牌均不能再使用）
+     *
+     * @param familyId  令牌族ID
+     * @param expiresAt 令牌族过期时间（毫秒时间戳）
+     */
+    void revokeFamily(String familyId, long expiresAt);
+
+    /**
+     * 刷新令牌使用结果（不可变）
+     */
+    @Getter
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    final class ConsumeResult {
+
+        private static final ConsumeResult CONSUMED = new ConsumeResult(Status.CONSUMED, null, 0);
+
+        private static final ConsumeResult NOT_FOUND = new ConsumeResult(Status.NOT_FOUND, null, 0);
+
+        /**
+         * 使用状态
+         */
+        private final Status status;
+
+        /**
+         * 令牌已被使用过时：第一次使用时签发的新令牌ID（旧数据可能为 null）
+         */
+        private final String successorId;
+
+        /**
+         * 令牌已被使用过时：第一次使用的时间（毫秒时间戳）
+         */
+        private final long usedAt;
+
+        public static ConsumeResult consumed() {
+            return CONSUMED;
+        }
+
+        public static ConsumeResult reused(String successorId, long usedAt) {
+            return new ConsumeResult(Status.REUSED, successorId, usedAt);
+        }
+
+        public static ConsumeResult notFound() {
+            return NOT_FOUND;
+        }
+    }
+
+    /**
+     * 使用状态
+     */
+    enum Status {
+
+        /**
+         * 使用成功
+         */
+        CONSUMED,
+
+        /**
+         * 令牌已被使用过（并发刷新或重放）
+         */
+        REUSED,
+
+        /**
+         * 令牌不存在、已过期或已被撤销
+         */
+        NOT_FOUND
+    }
+}
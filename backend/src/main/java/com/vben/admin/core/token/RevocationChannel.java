@@ -0,0 +1,26 @@
+package com.vben.admin.core.token;
+
+import java.util.function.Consumer;
+
+/**
+ * Token 撤销消息通道
+ * 多节点部署时由消息中间件实现，将撤销消息广播到所有节点（包括发布者自身）
+ *
+ * @author vben
+ */
+public interface RevocationChannel {
+
+    /**
+     * 发布撤销消息
+     *
+     * @param revocation 撤销消息
+     */
+    void publish(TokenRevocation revocation);
+
+    /**
+     * 订阅撤销消息
+     *
+     * @param subscriber 订阅者
+     */
+    void subscribe(Consumer<TokenRevocation> subscriber);
+}
@@ -0,0 +1,50 @@
+package com.vben.admin.core.token;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Token 撤销消息（不可变），通过 {@link RevocationChannel} 在节点间传播
+ *
+ * @author vben
+ */
+@Getter
+@RequiredArgsConstructor
+public class TokenRevocation {
+
+    /**
+     * 撤销类型
+     */
+    private final Type type;
+
+    /**
+     * 令牌ID（按令牌撤销）或用户ID（按用户撤销）
+     */
+    private final String key;
+
+    /**
+     * 按用户撤销时的生效时间（毫秒时间戳，此前签发的 token 均失效）；按令牌撤销时为 0
+     */
+    private final long notBefore;
+
+    /**
+     * 撤销记录的过期时间（毫秒时间戳，此后被撤销的 token 已自然过期）
+     */
+    private final long expiresAt;
+
+    /**
+     * 撤销类型
+     */
+    public enum Type {
+
+        /**
+         * 按令牌ID撤销（退出登录）
+         */
+        TOKEN,
+
+        /**
+         * 按用户撤销（强制下线）
+         */
+        USER
+    }
+}
@@ -1,12 +1,18 @@
 package com.vben.admin.core.utils;
 
+import com.vben.admin.core.model.JwtPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
 
@@ -18,6 +24,11 @@ import java.util.Map;
 @Component
 public class JwtUtils {
 
+    /**
+     * Token载荷：令牌类型（见 {@link JwtPrincipal#TOKEN_TYPE_ACCESS}、{@link JwtPrincipal#TOKEN_TYPE_REFRESH}）
+     */
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+
     @Value("${jwt.secret:vben-admin-secret-key-for-jwt-token-generation-minimum-256-bits}")
     private String secret;
 
@@ -27,6 +38,24 @@ public class JwtUtils {
     @Value("${jwt.refresh-token-expiration:604800000}")
     private Long refreshTokenExpiration; // 7天，单位：毫秒
 
+    /**
+     * 签名密钥（启动时构建一次）
+     */
+    private SecretKey key;
+
+    /**
+     * JWT 解析器（线程安全，启动时构建一次）
+     */
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
+
     /**
      * 生成 AccessToken
      *
@@ -34,7 +63,7 @@ public class JwtUtils {
      * @return token
      */
     public String generateAccessToken(Map<String, Object> claims) {
-        return generateToken(claims, accessTokenExpiration);
+        return generateToken(claims, JwtPrincipal.TOKEN_TYPE_ACCESS, accessTokenExpiration);
     }
 
     /**
@@ -44,24 +73,59 @@ public class JwtUtils {
      * @return token
      */
     public String generateRefreshToken(Map<String, Object> claims) {
-        return generateToken(claims, refreshTokenExpiration);
+        return generateToken(claims, JwtPrincipal.TOKEN_TYPE_REFRESH, refreshTokenExpiration);
+    }
+
+    /**
+     * 生成指定过期时间的 RefreshToken（轮换时沿用令牌族的过期时间）
+     *
+     * @param claims     载荷数据
+     * @param expiration 过期时间
+     * @return token
+     */
+    public String generateRefreshToken(Map<String, Object> claims, Date expiration) {
+        return Jwts.builder()
+                .claims(claims)
+                .claim(CLAIM_TOKEN_TYPE, JwtPrincipal.TOKEN_TYPE_REFRESH)
+                .issuedAt(new Date())
+                .expiration(expiration)
+                .signWith(key, Jwts.SIG.HS512)
+                .compact();
+    }
+
+    /**
+     * 获取 RefreshToken 有效期
+     *
+     * @return 有效期（毫秒）
+     */
+    public long getRefreshTokenExpiration() {
+        return refreshTokenExpiration;
+    }
+
+    /**
+     * 获取 AccessToken 有效期
+     *
+     * @return 有效期（毫秒）
+     */
+    public long getAccessTokenExpiration() {
+        return accessTokenExpiration;
     }
 
     /**
      * 生成 Token
      *
      * @param claims     载荷数据
+     * @param tokenType  令牌类型
      * @param expiration 过期时间（毫秒）
      * @return token
      */
-    private String generateToken(Map<String, Object> claims, Long expiration) {
+    private String generateToken(Map<String, Object> claims, String tokenType, Long expiration) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-
         return Jwts.builder()
                 .claims(claims)
+                .claim(CLAIM_TOKEN_TYPE, tokenType)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key, Jwts.SIG.HS512)
@@ -75,12 +139,30 @@ public class JwtUtils {
      * @return Claims
      */
     public Claims getClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * 认证 token：只进行一次签名校验和解析（解析时会同时校验过期时间）
+     *
+     * @param token token
+     * @return 认证主体，token 无效或已过期时返回 null
+     */
+    public JwtPrincipal authenticate(String token) {
+        try {
+            Claims claims = getClaimsFromToken(token);
+            return new JwtPrincipal(
+                    claims.getId(),
+                    claims.get("userId", String.class),
+                    claims.get("username", String.class),
+                    claims.get(CLAIM_TOKEN_TYPE, String.class),
+                    claims.getIssuedAt(),
+                    claims.getExpiration(),
+                    Collections.unmodifiableMap(claims)
+            );
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     /**
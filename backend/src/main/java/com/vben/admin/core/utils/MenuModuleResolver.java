@@ -1,19 +1,21 @@
 package com.vben.admin.core.utils;
 
-import com.vben.admin.model.vo.MenuVO;
-import com.vben.admin.service.MenuService;
+import com.vben.admin.core.cache.MenuSnapshot;
+import com.vben.admin.core.cache.MenuSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 菜单模块解析器
- * 从菜单树动态获取操作模块信息，而不是硬编码枚举
+ * 从菜单快照动态获取操作模块信息，而不是硬编码枚举
+ * 模块名称在菜单快照变化时一次性预计算为不可变映射，并整体原子替换，查询时不访问数据库也不遍历菜单树
  *
  * @author vben
  */
@@ -22,16 +24,12 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MenuModuleResolver {
 
-    private final MenuService menuService;
+    private final MenuSnapshotCache menuSnapshotCache;
 
     /**
-     * 模块信息缓存（路径 -> 模块信息）
-     * key: 模块路径（如 "user", "dashboard"）
-     * value: 模块中文名称（如 "用户管理", "仪表盘"）
+     * 预计算的模块名称（与菜单快照绑定，快照变化后重建）
      */
-    private Map<String, String> moduleCache = new HashMap<>();
-    private long cacheTimestamp = 0;
-    private static final long CACHE_EXPIRE_TIME = 5 * 60 * 1000; // 5分钟缓存
+    private volatile ModuleLabels labels;
 
     /**
      * 根据完整页面路径获取模块中文名称
@@ -53,21 +51,9 @@ public class MenuModuleResolver {
             return "个人中心";
         }
 
-        // 刷新缓存（如果过期）
-        refreshCacheIfNeeded();
-
-        // 从缓存中查找（使用完整路径作为key）
-        String cacheKey = fullPagePath.toLowerCase();
-        String label = moduleCache.get(cacheKey);
-        if (label != null) {
-            return label;
-        }
-
         // 优先根据完整路径查找菜单（会找到最具体的子菜单）
-        label = findMenuLabelByPath(fullPagePath);
+        String label = findMenuLabelByPath(fullPagePath);
         if (label != null) {
-            // 更新缓存
-            moduleCache.put(cacheKey, label);
             return label;
         }
 
@@ -101,20 +87,9 @@ public class MenuModuleResolver {
             return "个人中心";
         }
 
-        // 刷新缓存（如果过期）
-        refreshCacheIfNeeded();
-
-        // 从缓存中查找
-        String label = moduleCache.get(normalizedPath);
-        if (label != null) {
-            return label;
-        }
-
-        // 如果缓存中没有，尝试从菜单树中查找
-        label = findModuleLabelFromMenuTree(normalizedPath);
+        // 从预计算的模块名称中查找
+        String label = currentLabels().moduleLabels.get(normalizedPath);
         if (label != null) {
-            // 更新缓存
-            moduleCache.put(normalizedPath, label);
             return label;
         }
 
@@ -166,35 +141,18 @@ public class MenuModuleResolver {
      * @return 菜单中文名称，如果找不到则返回 null
      */
     private String findMenuLabelByPath(String pagePath) {
-        try {
-            // 1. 先尝试完整路径（如 "/dashboard/analytics"）
-            String menuNameChain = menuService.getMenuNameChainByPath(pagePath);
-            if (menuNameChain != null && !menuNameChain.isEmpty()) {
-                // 取名称链的最后一个（最具体的子菜单名称）
-                String[] parts = menuNameChain.split(" - ");
-                if (parts.length > 0) {
-                    return parts[parts.length - 1];
-                }
-            }
+        Map<String, String> activeLabels = currentLabels().activeLabelsByPath;
 
-            // 2. 如果完整路径找不到，尝试提取最后一部分路径（如 "/analytics"）
-            // 因为菜单表中的 path 可能是相对路径，而不是完整路径
-            if (pagePath.contains("/")) {
-                String lastPart = "/" + pagePath.substring(pagePath.lastIndexOf("/") + 1);
-                if (!lastPart.equals(pagePath)) { // 避免重复查询
-                    menuNameChain = menuService.getMenuNameChainByPath(lastPart);
-                    if (menuNameChain != null && !menuNameChain.isEmpty()) {
-                        String[] parts = menuNameChain.split(" - ");
-                        if (parts.length > 0) {
-                            return parts[parts.length - 1];
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.debug("根据路径查找菜单失败: {}", e.getMessage());
+        // 1. 先尝试完整路径（如 "/dashboard/analytics"）
+        String label = activeLabels.get(pagePath);
+        if (label != null) {
+            return label;
         }
-        return null;
+
+        // 2. 如果完整路径找不到，尝试提取最后一部分路径（如 "/analytics"）
+        // 因为菜单表中的 path 可能是相对路径，而不是完整路径
+        String lastPart = lastPathSegment(pagePath);
+        return lastPart != null ? activeLabels.get(lastPart) : null;
     }
 
     /**
@@ -218,7 +176,7 @@ public class MenuModuleResolver {
         }
 
         // 1. 优先根据完整路径匹配菜单，获取菜单名称
-        String menuTitle = findMenuTitleByPagePath(pagePath);
+        String menuTitle = findMenuTitleByPagePath(currentLabels().titlesByPath, pagePath);
         if (menuTitle != null && !menuTitle.isEmpty()) {
             return menuTitle;
         }
@@ -228,86 +186,37 @@ public class MenuModuleResolver {
     }
 
     /**
-     * 根据页面路径查找菜单名称（从菜单树中查找）
+     * 根据页面路径查找菜单名称
      * 例如：/dashboard/analytics -> 可能匹配到菜单 path="/analytics" -> 返回菜单 title "数据分析"
      *
-     * @param pagePath 页面路径
+     * @param titlesByPath 菜单路径 -> 菜单名称
+     * @param pagePath     页面路径
      * @return 菜单名称（title），如果找不到则返回 null
      */
-    private String findMenuTitleByPagePath(String pagePath) {
-        try {
-            // 从菜单树中查找匹配的菜单
-            List<MenuVO> menuTree = menuService.getMenuList(null);
-            MenuVO menu = findMenuInTree(menuTree, pagePath);
-            if (menu != null) {
-                return extractMenuTitle(menu);
-            }
-
-            // 如果完整路径找不到，尝试最后一部分路径（如 /analytics）
-            // 因为子菜单的 path 可能是相对路径，而不是完整路径
-            if (pagePath.contains("/")) {
-                String lastPart = "/" + pagePath.substring(pagePath.lastIndexOf("/") + 1);
-                if (!lastPart.equals(pagePath)) {
-                    menu = findMenuInTree(menuTree, lastPart);
-                    if (menu != null) {
-                        return extractMenuTitle(menu);
-                    }
-                }
-            }
-        } catch (Exception e) {
-            log.debug("根据页面路径查找菜单失败: {}", e.getMessage());
+    private String findMenuTitleByPagePath(Map<String, String> titlesByPath, String pagePath) {
+        String title = titlesByPath.get(pagePath);
+        if (title != null) {
+            return title;
         }
-        return null;
+
+        // 如果完整路径找不到，尝试最后一部分路径（如 /analytics）
+        // 因为子菜单的 path 可能是相对路径，而不是完整路径
+        String lastPart = lastPathSegment(pagePath);
+        return lastPart != null ? titlesByPath.get(lastPart) : null;
     }
 
     /**
-     * 在菜单树中递归查找匹配的菜单
+     * 提取路径的最后一部分（如 /dashboard/analytics -> /analytics）
      *
-     * @param menus    菜单列表
      * @param pagePath 页面路径
-     * @return 菜单对象，如果找不到则返回 null
+     * @return 最后一部分路径，与原路径相同时返回 null
      */
-    private MenuVO findMenuInTree(List<MenuVO> menus, String pagePath) {
-        if (menus == null || menus.isEmpty()) {
+    private String lastPathSegment(String pagePath) {
+        if (!pagePath.contains("/")) {
             return null;
         }
-
-        for (MenuVO menu : menus) {
-            // 排除 button 类型
-            if ("button".equals(menu.getType())) {
-                continue;
-            }
-
-            // 如果菜单 path 匹配页面路径，返回菜单对象
-            if (menu.getPath() != null && menu.getPath().equals(pagePath)) {
-                return menu;
-            }
-
-            // 递归查找子菜单
-            if (menu.getChildren() != null && !menu.getChildren().isEmpty()) {
-                MenuVO foundMenu = findMenuInTree(menu.getChildren(), pagePath);
-                if (foundMenu != null) {
-                    return foundMenu;
-                }
-            }
-        }
-
-        return null;
-    }
-
-    /**
-     * 提取菜单标题
-     *
-     * @param menu 菜单对象
-     * @return 菜单标题（优先使用 meta.title，否则使用 name）
-     */
-    private String extractMenuTitle(MenuVO menu) {
-        // 优先从 meta.title 获取
-        if (menu.getMeta() != null && menu.getMeta().get("title") != null) {
-            return menu.getMeta().get("title").toString();
-        }
-        // 如果没有 title，使用 name
-        return menu.getName();
+        String lastPart = "/" + pagePath.substring(pagePath.lastIndexOf("/") + 1);
+        return lastPart.equals(pagePath) ? null : lastPart;
     }
 
     /**
@@ -325,68 +234,136 @@ public class MenuModuleResolver {
     }
 
     /**
-     * 刷新缓存（如果过期）
+     * 获取当前的模块名称映射，菜单快照变化后重建
+     *
+     * @return 模块名称映射
      */
-    private void refreshCacheIfNeeded() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - cacheTimestamp > CACHE_EXPIRE_TIME) {
-            moduleCache.clear();
-            cacheTimestamp = currentTime;
+    private ModuleLabels currentLabels() {
+        MenuSnapshot snapshot = menuSnapshotCache.get();
+        ModuleLabels current = labels;
+        if (current != null && current.snapshot == snapshot) {
+            return current;
         }
+        // 并发重建时结果相同，后写入者覆盖即可，无需加锁
+        ModuleLabels rebuilt = buildLabels(snapshot);
+        labels = rebuilt;
+        return rebuilt;
     }
 
     /**
-     * 从菜单树中查找模块标签
+     * 根据菜单快照预计算模块名称映射
      *
-     * @param modulePath 模块路径
-     * @return 模块中文名称，如果找不到则返回 null
+     * @param snapshot 菜单快照
+     * @return 模块名称映射
      */
-    private String findModuleLabelFromMenuTree(String modulePath) {
-        try {
-            List<MenuVO> menuTree = menuService.getMenuList(null);
-            return findModuleLabelInTree(menuTree, modulePath);
-        } catch (Exception e) {
-            log.warn("从菜单树查找模块失败: {}", e.getMessage());
-            return null;
+    private ModuleLabels buildLabels(MenuSnapshot snapshot) {
+        // 启用菜单的路径 -> 显示名称（用于完整页面路径查找）
+        Map<String, String> activeLabelsByPath = new HashMap<>();
+        snapshot.getActiveMenusByPath().forEach((path, menu) -> activeLabelsByPath.put(path, menu.getDisplayName()));
+
+        // 按菜单树先序遍历（与启用菜单使用同一个快照，不包括 button 类型），路径相同时保留树中靠前的菜单
+        List<MenuSnapshot.MenuEntry> menus = preOrderMenus(snapshot);
+        Map<String, String> titlesByPath = new HashMap<>();
+        for (MenuSnapshot.MenuEntry menu : menus) {
+            if (menu.getPath() != null) {
+                titlesByPath.putIfAbsent(menu.getPath(), menu.getDisplayName());
+            }
+        }
+
+        // 模块路径 -> 模块名称（模块路径由菜单路径解析而来）
+        Map<String, String> moduleLabels = new HashMap<>();
+        for (MenuSnapshot.MenuEntry menu : menus) {
+            if (menu.getPath() != null && !menu.getPath().isEmpty()) {
+                String menuTitle = findMenuTitleByPagePath(titlesByPath, menu.getPath());
+                String menuModulePath = menuTitle != null && !menuTitle.isEmpty()
+                        ? menuTitle : formatPagePathAsModuleName(menu.getPath());
+                moduleLabels.putIfAbsent(normalizeModulePath(menuModulePath), menu.getDisplayName());
+            }
         }
+
+        return new ModuleLabels(snapshot,
+                Collections.unmodifiableMap(activeLabelsByPath),
+                Collections.unmodifiableMap(titlesByPath),
+                Collections.unmodifiableMap(moduleLabels));
     }
 
     /**
-     * 在菜单树中递归查找模块标签
+     * 按菜单树先序排列快照中的菜单（跳过 button 类型）
+     * 同级菜单保持快照的排序；父菜单不存在的菜单与根菜单同级（与构建菜单树时一致）
      *
-     * @param menus      菜单列表
-     * @param modulePath 模块路径
-     * @return 模块中文名称，如果找不到则返回 null
+     * @param snapshot 菜单快照
+     * @return 先序排列的菜单
      */
-    private String findModuleLabelInTree(List<MenuVO> menus, String modulePath) {
-        if (menus == null || menus.isEmpty()) {
-            return null;
-        }
-
-        String normalizedModulePath = normalizeModulePath(modulePath);
-
-        for (MenuVO menu : menus) {
-            // 排除 button 类型
+    private List<MenuSnapshot.MenuEntry> preOrderMenus(MenuSnapshot snapshot) {
+        List<MenuSnapshot.MenuEntry> roots = new ArrayList<>();
+        Map<String, List<MenuSnapshot.MenuEntry>> childrenByPid = new HashMap<>();
+        for (MenuSnapshot.MenuEntry menu : snapshot.all()) {
             if ("button".equals(menu.getType())) {
                 continue;
             }
-
-            // 从菜单路径提取模块名
-            String menuModulePath = extractModuleFromPath(menu.getPath());
-            if (menuModulePath != null && normalizedModulePath.equals(normalizeModulePath(menuModulePath))) {
-                // 找到匹配的菜单，返回菜单标题
-                return extractMenuTitle(menu);
+            String pid = menu.getPid();
+            if (pid == null || pid.isEmpty() || TreeHelper.ROOT_ID.equals(pid) || snapshot.get(pid) == null) {
+                roots.add(menu);
+            } else {
+                childrenByPid.computeIfAbsent(pid, key -> new ArrayList<>()).add(menu);
             }
+        }
 
-            // 递归查找子菜单
-            if (menu.getChildren() != null && !menu.getChildren().isEmpty()) {
-                String label = findModuleLabelInTree(menu.getChildren(), modulePath);
-                if (label != null) {
-                    return label;
-                }
-            }
+        List<MenuSnapshot.MenuEntry> result = new ArrayList<>(snapshot.all().size());
+        collectPreOrder(roots, childrenByPid, result);
+        return result;
+    }
+
+    /**
+     * 递归按先序收集菜单
+     *
+     * @param menus         同级菜单
+     * @param childrenByPid 父菜单ID -> 子菜单
+     * @param result        先序排列的菜单
+     */
+    private void collectPreOrder(List<MenuSnapshot.MenuEntry> menus,
+                                 Map<String, List<MenuSnapshot.MenuEntry>> childrenByPid,
+                                 List<MenuSnapshot.MenuEntry> result) {
+        if (menus == null) {
+            return;
         }
+        for (MenuSnapshot.MenuEntry menu : menus) {
+            result.add(menu);
+            collectPreOrder(childrenByPid.get(menu.getId()), childrenByPid, result);
+        }
+    }
 
-        return null;
+    /**
+     * 预计算的模块名称映射（不可变）
+     */
+    private static final class ModuleLabels {
+
+        /**
+         * 计算所基于的菜单快照
+         */
+        private final MenuSnapshot snapshot;
+
+        /**
+         * 启用菜单的路径 -> 显示名称
+         */
+        private final Map<String, String> activeLabelsByPath;
+
+        /**
+         * 菜单路径 -> 菜单标题
+         */
+        private final Map<String, String> titlesByPath;
+
+        /**
+         * 模块路径 -> 模块名称
+         */
+        private final Map<String, String> moduleLabels;
+
+        private ModuleLabels(MenuSnapshot snapshot, Map<String, String> activeLabelsByPath,
+                             Map<String, String> titlesByPath, Map<String, String> moduleLabels) {
+            this.snapshot = snapshot;
+            this.activeLabelsByPath = activeLabelsByPath;
+            this.titlesByPath = titlesByPath;
+            this.moduleLabels = moduleLabels;
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.vben.admin.core.utils;
+
+import com.vben.admin.core.model.RelationDelta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 关联关系同步工具类
+ * 对比当前关联和目标关联，只写入差异：新增的关联一次批量插入，删除的关联一次 DELETE ... IN
+ *
+ * @author vben
+ */
+public class RelationSyncHelper {
+
+    /**
+     * 计算当前关联到目标关联的差异
+     *
+     * @param current 当前关联ID
+     * @param target  目标关联ID（忽略空值和重复值）
+     * @return 差异（新增和删除的关联ID，按输入顺序）
+     */
+    public static RelationDelta diff(Collection<String> current, Collection<String> target) {
+        Set<String> currentSet = current == null ? new LinkedHashSet<>() : new LinkedHashSet<>(current);
+        Set<String> targetSet = new LinkedHashSet<>();
+        if (target != null) {
+            target.stream().filter(Objects::nonNull).forEach(targetSet::add);
+        }
+
+        List<String> added = new ArrayList<>();
+        for (String id : targetSet) {
+            if (!currentSet.contains(id)) {
+                added.add(id);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String id : currentSet) {
+            if (!targetSet.contains(id)) {
+                removed.add(id);
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            return RelationDelta.empty();
+        }
+        return new RelationDelta(added, removed);
+    }
+
+    /**
+     * 同步关联关系：计算差异后只执行必要的写入
+     *
+     * @param current 当前关联ID
+     * @param target  目标关联ID
+     * @param inserter 批量插入新增的关联（仅在有新增时调用一次）
+     * @param deleter  批量删除多余的关联（仅在有删除时调用一次）
+     * @return 差异
+     */
+    public static RelationDelta sync(Collection<String> current, Collection<String> target,
+                                     Consumer<List<String>> inserter, Consumer<List<String>> deleter) {
+        RelationDelta delta = diff(current, target);
+        if (!delta.getRemoved().isEmpty()) {
+            deleter.accept(delta.getRemoved());
+        }
+        if (!delta.getAdded().isEmpty()) {
+            inserter.accept(delta.getAdded());
+        }
+        return delta;
+    }
+}
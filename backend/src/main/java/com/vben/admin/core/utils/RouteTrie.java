@@ -0,0 +1,160 @@
+package com.vben.admin.core.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 路由分段前缀树
+ * 按 "/" 分段存储路由模式，一次查找的开销与请求路径的段数成正比，与规则数量无关
+ *
+ * <p>模式语法：</p>
+ * <ul>
+ *     <li>普通段：精确匹配，如 {@code /system/user}</li>
+ *     <li>{@code *} 或 {@code {id}}：匹配任意一个段</li>
+ *     <li>{@code **}：匹配剩余的零个或多个段（只能出现在末尾）</li>
+ * </ul>
+ * 匹配优先级：普通段 &gt; 单段通配 &gt; 多段通配；同一模式下精确的 HTTP 方法优先于未指定方法的规则。
+ * 构建完成后只读，可在多线程间共享
+ *
+ * @param <T> 规则类型
+ * @author vben
+ */
+public class RouteTrie<T> {
+
+    /**
+     * 匹配任意 HTTP 方法
+     */
+    public static final String ANY_METHOD = "*";
+
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "**";
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * 添加路由规则（同一模式和方法重复添加时后者覆盖前者）
+     *
+     * @param pattern 路由模式
+     * @param method  HTTP 方法，为空或 {@link #ANY_METHOD} 表示任意方法
+     * @param value   规则
+     * @throws IllegalArgumentException 如果 {@code **} 不在末尾
+     */
+    public void add(String pattern, String method, T value) {
+        String[] segments = split(pattern);
+        Node<T> node = root;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (MULTI_WILDCARD.equals(segment)) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("** 只能出现在路由模式末尾: " + pattern);
+                }
+                if (node.multiWildcard == null) {
+                    node.multiWildcard = new Node<>();
+                }
+                node = node.multiWildcard;
+            } else if (SINGLE_WILDCARD.equals(segment) || (segment.startsWith("{") && segment.endsWith("}"))) {
+                if (node.singleWildcard == null) {
+                    node.singleWildcard = new Node<>();
+                }
+                node = node.singleWildcard;
+            } else {
+                node = node.children.computeIfAbsent(segment, key -> new Node<>());
+            }
+        }
+        String key = method == null || method.isEmpty() ? ANY_METHOD : method.toUpperCase(Locale.ROOT);
+        node.values.put(key, value);
+    }
+
+    /**
+     * 查找与请求匹配的规则
+     *
+     * @param method HTTP 方法
+     * @param path   请求路径（不含上下文路径和查询参数）
+     * @return 匹配的规则，没有匹配时返回 null
+     */
+    public T match(String method, String path) {
+        return match(root, split(path), 0, method == null ? ANY_METHOD : method.toUpperCase(Locale.ROOT));
+    }
+
+    private T match(Node<T> node, String[] segments, int index, String method) {
+        if (index == segments.length) {
+            T value = node.get(method);
+            if (value == null && node.multiWildcard != null) {
+                value = node.multiWildcard.get(method);
+            }
+            return value;
+        }
+
+        Node<T> child = node.children.get(segments[index]);
+        if (child != null) {
+            T value = match(child, segments, index + 1, method);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (node.singleWildcard != null) {
+            T value = match(node.singleWildcard, segments, index + 1, method);
+            if (value != null) {
+                return value;
+            }
+        }
+        return node.multiWildcard != null ? node.multiWildcard.get(method) : null;
+    }
+
+    /**
+     * 按 "/" 拆分路径（忽略空段，"/a//b/" 与 "/a/b" 等价）
+     */
+    private static String[] split(String path) {
+        if (path == null || path.isEmpty()) {
+            return new String[0];
+        }
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start) {
+                    segments.add(path.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * 前缀树节点
+     */
+    private static final class Node<T> {
+
+        /**
+         * 普通段子节点
+         */
+        private final Map<String, Node<T>> children = new HashMap<>();
+
+        /**
+         * HTTP 方法 -> 规则
+         */
+        private final Map<String, T> values = new HashMap<>(4);
+
+        /**
+         * 单段通配子节点
+         */
+        private Node<T> singleWildcard;
+
+        /**
+         * 多段通配子节点
+         */
+        private Node<T> multiWildcard;
+
+        private T get(String method) {
+            if (values.isEmpty()) {
+                return null;
+            }
+            T value = values.get(method);
+            return value != null ? value : values.get(ANY_METHOD);
+        }
+    }
+}
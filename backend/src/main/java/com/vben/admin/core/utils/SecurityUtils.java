@@ -1,5 +1,6 @@
 package com.vben.admin.core.utils;
 
+import com.vben.admin.core.model.LoginUser;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -13,6 +14,34 @@ import org.springframework.web.context.request.ServletRequestAttributes;
  */
 public class SecurityUtils {
 
+    /**
+     * 请求属性：登录时按用户名加载的用户（供操作日志记录登录用户，避免重复查询）
+     */
+    public static final String LOGIN_ATTEMPT_USER_ATTRIBUTE = "loginAttemptUser";
+
+    /**
+     * 获取当前登录用户（JwtAuthenticationFilter 放入 SecurityContext）
+     *
+     * @return 登录用户，未登录时返回 null
+     */
+    public static LoginUser getLoginUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUser loginUser) {
+            return loginUser;
+        }
+        return null;
+    }
+
+    /**
+     * 获取当前用户真实姓名
+     *
+     * @return 真实姓名
+     */
+    public static String getCurrentRealName() {
+        LoginUser loginUser = getLoginUser();
+        return loginUser != null ? loginUser.getRealName() : null;
+    }
+
     /**
      * 获取当前用户名
      *
@@ -27,11 +56,15 @@ public class SecurityUtils {
     }
 
     /**
-     * 获取当前用户ID（从请求属性中获取）
+     * 获取当前用户ID（优先从登录用户中获取，其次从请求属性中获取）
      *
      * @return 用户ID
      */
     public static String getCurrentUserId() {
+        LoginUser loginUser = getLoginUser();
+        if (loginUser != null) {
+            return loginUser.getUserId();
+        }
         try {
             ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
             if (attributes != null) {
@@ -46,4 +79,17 @@ public class SecurityUtils {
         }
         return null;
     }
+
+    /**
+     * 设置当前请求的属性（不在请求上下文中时忽略）
+     *
+     * @param name  属性名
+     * @param value 属性值
+     */
+    public static void setRequestAttribute(String name, Object value) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.getRequest().setAttribute(name, value);
+        }
+    }
 }
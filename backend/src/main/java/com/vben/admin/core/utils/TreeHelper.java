@@ -2,11 +2,14 @@ package com.vben.admin.core.utils;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -124,4 +127,125 @@ public class TreeHelper {
     ) {
         return buildTree(items, getId, getPid, getChildren, setChildren, ROOT_ID);
     }
+
+    /**
+     * 查询树形结构（通用方法）
+     * 先定位到 pid 对应的子树（用于按层懒加载），再按条件过滤并限制深度
+     *
+     * @param roots       树形结构根节点列表
+     * @param getId       获取ID的方法
+     * @param getChildren 获取子节点列表的方法
+     * @param setChildren 设置子节点列表的方法
+     * @param pid         起始父节点ID（为空或根节点ID时从根节点开始）
+     * @param predicate   过滤条件（为空时不过滤）
+     * @param maxDepth    最大深度（从起始层开始计为 1，为空时不限制）
+     * @param <T>         数据类型
+     * @return 过滤后的树形结构列表
+     */
+    public static <T> List<T> queryTree(
+            List<T> roots,
+            Function<T, String> getId,
+            Function<T, List<T>> getChildren,
+            BiConsumer<T, List<T>> setChildren,
+            String pid,
+            Predicate<T> predicate,
+            Integer maxDepth
+    ) {
+        List<T> startNodes = roots;
+        if (pid != null && !pid.isEmpty() && !ROOT_ID.equals(pid)) {
+            T parent = findNode(roots, getId, getChildren, pid);
+            startNodes = parent != null ? getChildren.apply(parent) : null;
+        }
+        if (predicate == null && maxDepth == null) {
+            return startNodes != null ? startNodes : new ArrayList<>();
+        }
+        return filterTree(startNodes, getChildren, setChildren, predicate, maxDepth);
+    }
+
+    /**
+     * 过滤树形结构：保留匹配的节点及其所有祖先节点
+     * 单次后序遍历，每个节点只访问一次；会直接修改节点的子节点列表
+     *
+     * @param roots       树形结构根节点列表
+     * @param getChildren 获取子节点列表的方法
+     * @param setChildren 设置子节点列表的方法（没有保留的子节点时设置为 null）
+     * @param predicate   过滤条件（为空时所有节点都匹配）
+     * @param maxDepth    最大深度（根节点为 1，为空时不限制）
+     * @param <T>         数据类型
+     * @return 过滤后的树形结构列表
+     */
+    public static <T> List<T> filterTree(
+            List<T> roots,
+            Function<T, List<T>> getChildren,
+            BiConsumer<T, List<T>> setChildren,
+            Predicate<T> predicate,
+            Integer maxDepth
+    ) {
+        if (getChildren == null || setChildren == null) {
+            throw new IllegalArgumentException("方法引用不能为空");
+        }
+        return filterLevel(roots, getChildren, setChildren, predicate, maxDepth, 1);
+    }
+
+    /**
+     * 递归过滤一层节点（后序：先过滤子节点，再决定当前节点是否保留）
+     */
+    private static <T> List<T> filterLevel(
+            List<T> nodes,
+            Function<T, List<T>> getChildren,
+            BiConsumer<T, List<T>> setChildren,
+            Predicate<T> predicate,
+            Integer maxDepth,
+            int depth
+    ) {
+        List<T> result = new ArrayList<>();
+        if (nodes == null || nodes.isEmpty()) {
+            return result;
+        }
+        boolean canDescend = maxDepth == null || depth < maxDepth;
+        for (T node : nodes) {
+            List<T> keptChildren = canDescend
+                    ? filterLevel(getChildren.apply(node), getChildren, setChildren, predicate, maxDepth, depth + 1)
+                    : new ArrayList<>();
+            // 当前节点匹配，或者有子孙节点匹配（作为祖先保留）
+            if (predicate == null || predicate.test(node) || !keptChildren.isEmpty()) {
+                setChildren.accept(node, keptChildren.isEmpty() ? null : keptChildren);
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 在树形结构中查找节点
+     *
+     * @param roots       树形结构根节点列表
+     * @param getId       获取ID的方法
+     * @param getChildren 获取子节点列表的方法
+     * @param id          节点ID
+     * @param <T>         数据类型
+     * @return 节点，不存在时返回 null
+     */
+    public static <T> T findNode(
+            List<T> roots,
+            Function<T, String> getId,
+            Function<T, List<T>> getChildren,
+            String id
+    ) {
+        if (roots == null || id == null) {
+            return null;
+        }
+        Deque<T> stack = new ArrayDeque<>(roots);
+        while (!stack.isEmpty()) {
+            T node = stack.pop();
+            if (id.equals(getId.apply(node))) {
+                return node;
+            }
+            List<T> children = getChildren.apply(node);
+            if (children != null) {
+                children.forEach(stack::push);
+            }
+        }
+        return null;
+    }
 }
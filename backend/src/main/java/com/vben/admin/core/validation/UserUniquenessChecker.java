@@ -0,0 +1,171 @@
+package com.vben.admin.core.validation;
+
+import com.vben.admin.core.exception.BusinessException;
+import com.vben.admin.core.utils.ValidationUtils;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.model.entity.SysUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 用户唯一性校验
+ * 用户名、手机号、工号在一次查询中同时校验（分别命中 uk_username、uk_phone、uk_employee_no 索引），
+ * 批量校验时每 {@value #BATCH_SIZE} 个用户一次查询
+ *
+ * <p>查询包含已删除的用户，与唯一索引的约束范围一致</p>
+ *
+ * @author vben
+ */
+@Component
+@RequiredArgsConstructor
+public class UserUniquenessChecker {
+
+    /**
+     * 批量校验时每次查询的用户数
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private final UserMapper userMapper;
+
+    /**
+     * 校验单个用户的唯一键，存在冲突时抛出异常（按用户名、手机号、工号的顺序报告第一个冲突）
+     *
+     * @param id         用户ID（更新时传入，排除自身；创建时传入null）
+     * @param username   用户名（为空时不校验）
+     * @param phone      手机号（为空时不校验）
+     * @param employeeNo 工号（为空时不校验）
+     * @throws BusinessException 如果用户名、手机号或工号已存在
+     */
+    public void checkUnique(String id, String username, String phone, String employeeNo) {
+        Set<UniqueKey> conflicts = findConflicts(List.of(new Candidate(id, username, phone, employeeNo))).get(0);
+        if (!conflicts.isEmpty()) {
+            throw new BusinessException(conflicts.iterator().next().getMessage());
+        }
+    }
+
+    /**
+     * 批量查找唯一键冲突（只与数据库中的其他用户比较，候选用户之间的重复由调用方处理）
+     *
+     * @param candidates 待校验的用户
+     * @return 与 candidates 一一对应的冲突集合（无冲突时为空集合）
+     */
+    public List<Set<UniqueKey>> findConflicts(List<Candidate> candidates) {
+        List<Set<UniqueKey>> result = new ArrayList<>(candidates.size());
+        for (int from = 0; from < candidates.size(); from += BATCH_SIZE) {
+            result.addAll(findChunkConflicts(candidates.subList(from, Math.min(from + BATCH_SIZE, candidates.size()))));
+        }
+        return result;
+    }
+
+    private List<Set<UniqueKey>> findChunkConflicts(List<Candidate> candidates) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        Set<String> employeeNos = new HashSet<>();
+        for (Candidate candidate : candidates) {
+            addIfValid(usernames, candidate.getUsername());
+            addIfValid(phones, candidate.getPhone());
+            addIfValid(employeeNos, candidate.getEmployeeNo());
+        }
+
+        // 唯一键 -> 占用该键的用户ID
+        Map<String, String> usernameOwners = new HashMap<>();
+        Map<String, String> phoneOwners = new HashMap<>();
+        Map<String, String> employeeNoOwners = new HashMap<>();
+        if (!usernames.isEmpty() || !phones.isEmpty() || !employeeNos.isEmpty()) {
+            for (SysUser user : userMapper.selectByUniqueKeys(usernames, phones, employeeNos)) {
+                putIfPresent(usernameOwners, user.getUsername(), user.getId());
+                putIfPresent(phoneOwners, user.getPhone(), user.getId());
+                putIfPresent(employeeNoOwners, user.getEmployeeNo(), user.getId());
+            }
+        }
+
+        List<Set<UniqueKey>> result = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            Set<UniqueKey> conflicts = EnumSet.noneOf(UniqueKey.class);
+            if (isTakenByOther(usernameOwners, candidate.getUsername(), candidate.getId())) {
+                conflicts.add(UniqueKey.USERNAME);
+            }
+            if (isTakenByOther(phoneOwners, candidate.getPhone(), candidate.getId())) {
+                conflicts.add(UniqueKey.PHONE);
+            }
+            if (isTakenByOther(employeeNoOwners, candidate.getEmployeeNo(), candidate.getId())) {
+                conflicts.add(UniqueKey.EMPLOYEE_NO);
+            }
+            result.add(conflicts);
+        }
+        return result;
+    }
+
+    private static void addIfValid(Set<String> values, String value) {
+        if (ValidationUtils.isValidString(value)) {
+            values.add(value);
+        }
+    }
+
+    private static void putIfPresent(Map<String, String> owners, String value, String userId) {
+        if (value != null) {
+            owners.put(normalize(value), userId);
+        }
+    }
+
+    private static boolean isTakenByOther(Map<String, String> owners, String value, String id) {
+        if (ValidationUtils.isInvalidString(value)) {
+            return false;
+        }
+        String owner = owners.get(normalize(value));
+        return owner != null && !owner.equals(id);
+    }
+
+    /**
+     * 与数据库的比较规则保持一致（默认排序规则不区分大小写）
+     */
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 用户唯一键
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum UniqueKey {
+        USERNAME("用户名已存在"),
+        PHONE("手机号已存在"),
+        EMPLOYEE_NO("工号已存在");
+
+        /**
+         * 冲突时的提示信息
+         */
+        private final String message;
+    }
+
+    /**
+     * 待校验的用户
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Candidate {
+
+        /**
+         * 用户ID（更新时传入，排除自身；创建时为null）
+         */
+        private final String id;
+
+        private final String username;
+
+        private final String phone;
+
+        private final String employeeNo;
+    }
+}
@@ -4,6 +4,9 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.vben.admin.model.entity.SysDept;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * 部门 Mapper
  *
@@ -19,6 +22,15 @@ public interface DeptMapper extends BaseMapper<SysDept> {
      */
     int countByPid(@Param("pid") String pid);
 
+    /**
+     * 查询有子部门的父级ID（按父级分组）
+     *
+     * @param pids   父级ID集合
+     * @param status 子部门状态（null-所有状态）
+     * @return 有子部门的父级ID列表
+     */
+    List<String> selectPidsWithChildren(@Param("pids") Collection<String> pids, @Param("status") Integer status);
+
     /**
      * 检查部门名称是否存在
      *
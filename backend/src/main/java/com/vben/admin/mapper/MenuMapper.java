@@ -47,6 +47,14 @@ public interface MenuMapper extends BaseMapper<SysMenu> {
      */
     List<SysMenu> selectMenusByUserId(@Param("userId") String userId);
 
+    /**
+     * 根据角色ID列表查询启用的菜单ID列表（菜单详情从菜单快照中获取）
+     *
+     * @param roleIds 角色ID列表
+     * @return 菜单ID列表
+     */
+    List<String> selectMenuIdsByRoleIds(@Param("roleIds") List<String> roleIds);
+
     /**
      * 根据路径查询菜单
      *
@@ -54,4 +62,13 @@ public interface MenuMapper extends BaseMapper<SysMenu> {
      * @return 菜单实体
      */
     SysMenu selectByPath(@Param("path") String path);
+
+    /**
+     * 批量更新菜单的父级ID、排序和元数据（单条 UPDATE ... CASE 语句）
+     *
+     * @param menus    需要更新的菜单（只使用 id、pid、sortOrder、meta 字段）
+     * @param updateBy 更新人ID（为 null 时保留原值）
+     * @return 影响行数
+     */
+    int batchUpdateOrder(@Param("menus") List<SysMenu> menus, @Param("updateBy") String updateBy);
 }
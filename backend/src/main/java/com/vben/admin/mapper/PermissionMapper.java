@@ -20,4 +20,34 @@ public interface PermissionMapper extends BaseMapper<SysPermission> {
      * @return 权限码列表
      */
     List<String> selectCodesByUserId(@Param("userId") String userId);
+
+    /**
+     * 根据用户ID查询直接授予用户的权限码（sys_user_permission，仅限未删除且已启用的用户）
+     *
+     * @param userId 用户ID
+     * @return 权限码列表
+     */
+    List<String> selectDirectCodesByUserId(@Param("userId") String userId);
+
+    /**
+     * 查询权限版本号
+     *
+     * @return 权限版本号，版本记录不存在时返回 null
+     */
+    Long selectPermissionVersion();
+
+    /**
+     * 查询并锁定权限版本号（SELECT ... FOR UPDATE，在事务中调用时锁定到事务结束）
+     *
+     * @return 权限版本号，版本记录不存在时返回 null
+     */
+    Long selectPermissionVersionForUpdate();
+
+    /**
+     * 递增权限版本号（仅当当前版本号等于 expectedVersion 时）
+     *
+     * @param expectedVersion 预期的当前版本号
+     * @return 影响行数（0 表示版本号已被其他节点修改）
+     */
+    int incrementPermissionVersion(@Param("expectedVersion") long expectedVersion);
 }
@@ -0,0 +1,12 @@
+package com.vben.admin.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.vben.admin.model.entity.SysRefreshToken;
+
+/**
+ * 刷新令牌 Mapper
+ *
+ * @author vben
+ */
+public interface RefreshTokenMapper extends BaseMapper<SysRefreshToken> {
+}
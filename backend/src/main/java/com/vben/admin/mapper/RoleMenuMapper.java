@@ -2,6 +2,9 @@ package com.vben.admin.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.vben.admin.model.entity.SysRoleMenu;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 角色菜单关联 Mapper
@@ -9,4 +12,20 @@ import com.vben.admin.model.entity.SysRoleMenu;
  * @author vben
  */
 public interface RoleMenuMapper extends BaseMapper<SysRoleMenu> {
+
+    /**
+     * 根据角色ID查询菜单ID列表
+     *
+     * @param roleId 角色ID
+     * @return 菜单ID列表
+     */
+    List<String> selectMenuIdsByRoleId(@Param("roleId") String roleId);
+
+    /**
+     * 批量插入角色菜单关联（单条多行 INSERT）
+     *
+     * @param roleMenus 角色菜单关联列表（需预先生成ID）
+     * @return 影响行数
+     */
+    int insertBatch(@Param("roleMenus") List<SysRoleMenu> roleMenus);
 }
@@ -2,6 +2,10 @@ package com.vben.admin.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.vben.admin.model.entity.SysUser;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 用户 Mapper
@@ -9,4 +13,32 @@ import com.vben.admin.model.entity.SysUser;
  * @author vben
  */
 public interface UserMapper extends BaseMapper<SysUser> {
+
+    /**
+     * 批量更新最后登录时间和最后活跃时间（只前进不后退，不修改更新时间）
+     *
+     * @param users 用户列表（id、lastLoginTime、lastActiveTime，时间为空时保持原值）
+     * @return 影响行数
+     */
+    int batchUpdateActivity(@Param("users") List<SysUser> users);
+
+    /**
+     * 按用户名、手机号、工号查询已存在的用户（包含已删除的用户，与唯一索引一致）
+     *
+     * @param usernames   用户名集合
+     * @param phones      手机号集合
+     * @param employeeNos 工号集合
+     * @return 用户列表（只包含 id、username、phone、employeeNo）
+     */
+    List<SysUser> selectByUniqueKeys(@Param("usernames") Collection<String> usernames,
+                                     @Param("phones") Collection<String> phones,
+                                     @Param("employeeNos") Collection<String> employeeNos);
+
+    /**
+     * 批量插入用户（单条多行 INSERT，不经过字段自动填充）
+     *
+     * @param users 用户列表（需预先生成ID并设置创建人、创建时间、更新时间）
+     * @return 影响行数
+     */
+    int insertBatch(@Param("users") List<SysUser> users);
 }
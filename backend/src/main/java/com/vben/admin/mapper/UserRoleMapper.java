@@ -2,8 +2,11 @@ package com.vben.admin.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.vben.admin.model.entity.SysUserRole;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户角色关联 Mapper
@@ -19,4 +22,28 @@ public interface UserRoleMapper extends BaseMapper<SysUserRole> {
      * @return 角色ID列表
      */
     List<String> selectRoleIdsByUserId(String userId);
+
+    /**
+     * 根据用户ID查询角色ID列表（仅限未删除且已启用的用户）
+     *
+     * @param userId 用户ID
+     * @return 角色ID列表，用户不存在或已禁用时返回空列表
+     */
+    List<String> selectRoleIdsByActiveUserId(@Param("userId") String userId);
+
+    /**
+     * 批量插入用户角色关联（单条多行 INSERT）
+     *
+     * @param userRoles 用户角色关联列表（需预先生成ID）
+     * @return 影响行数
+     */
+    int insertBatch(@Param("userRoles") List<SysUserRole> userRoles);
+
+    /**
+     * 按角色统计用户数（一次 GROUP BY 查询，只统计未删除的用户）
+     *
+     * @param roleIds 角色ID集合
+     * @return 每行包含 roleId 和 userCount（没有用户的角色不返回）
+     */
+    List<Map<String, Object>> selectUserCountsByRoleIds(@Param("roleIds") Collection<String> roleIds);
 }
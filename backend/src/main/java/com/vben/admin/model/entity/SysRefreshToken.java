@@ -0,0 +1,64 @@
+package com.vben.admin.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌实体（数据库刷新令牌存储使用）
+ *
+ * @author vben
+ */
+@Data
+@TableName("sys_refresh_token")
+public class SysRefreshToken {
+
+    /**
+     * 令牌ID（JWT jti）
+     */
+    @TableId(type = IdType.INPUT)
+    private String id;
+
+    /**
+     * 令牌族ID
+     */
+    private String familyId;
+
+    /**
+     * 用户ID
+     */
+    private String userId;
+
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expireTime;
+
+    /**
+     * 是否已使用：0-未使用，1-已使用
+     */
+    private Integer used;
+
+    /**
+     * 使用时签发的新令牌ID
+     */
+    private String successorId;
+
+    /**
+     * 使用时间
+     */
+    private LocalDateTime usedTime;
+
+    /**
+     * 是否已撤销：0-未撤销，1-已撤销
+     */
+    private Integer revoked;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createTime;
+}
@@ -1,6 +1,7 @@
 package com.vben.admin.model.entity;
 
 import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
@@ -70,6 +71,18 @@ public class SysUser {
      */
     private Integer status;
 
+    /**
+     * 最后登录时间（只由在线用户登记表通过专用语句写入，updateById 不更新）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private LocalDateTime lastLoginTime;
+
+    /**
+     * 最后活跃时间（只由在线用户登记表通过专用语句写入，updateById 不更新）
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private LocalDateTime lastActiveTime;
+
     /**
      * 创建人ID
      */
@@ -0,0 +1,82 @@
+package com.vben.admin.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 缓存统计VO
+ *
+ * @author vben
+ */
+@Data
+@NoArgsConstructor
+@Schema(description = "缓存统计VO")
+public class CacheStatsVO {
+
+    /**
+     * 缓存名称
+     */
+    @Schema(description = "缓存名称")
+    private String name;
+
+    /**
+     * 当前条目数
+     */
+    @Schema(description = "当前条目数")
+    private Integer size;
+
+    /**
+     * 最大条目数
+     */
+    @Schema(description = "最大条目数")
+    private Integer maxSize;
+
+    /**
+     * 命中次数
+     */
+    @Schema(description = "命中次数")
+    private Long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    @Schema(description = "未命中次数")
+    private Long missCount;
+
+    /**
+     * 命中率（0-1）
+     */
+    @Schema(description = "命中率（0-1）")
+    private Double hitRate;
+
+    /**
+     * 移除次数（过期或撤销）
+     */
+    @Schema(description = "移除次数（过期或撤销）")
+    private Long evictionCount;
+
+    /**
+     * 创建缓存统计
+     *
+     * @param name          缓存名称
+     * @param size          当前条目数
+     * @param maxSize       最大条目数
+     * @param hitCount      命中次数
+     * @param missCount     未命中次数
+     * @param evictionCount 移除次数
+     * @return 缓存统计
+     */
+    public static CacheStatsVO of(String name, int size, int maxSize, long hitCount, long missCount, long evictionCount) {
+        CacheStatsVO vo = new CacheStatsVO();
+        vo.setName(name);
+        vo.setSize(size);
+        vo.setMaxSize(maxSize);
+        vo.setHitCount(hitCount);
+        vo.setMissCount(missCount);
+        long total = hitCount + missCount;
+        vo.setHitRate(total == 0 ? 0D : (double) hitCount / total);
+        vo.setEvictionCount(evictionCount);
+        return vo;
+    }
+}
@@ -86,6 +86,12 @@ public class DeptVO {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Shanghai")
     private LocalDateTime updateTime;
 
+    /**
+     * 是否有子部门
+     */
+    @Schema(description = "是否有子部门（按层懒加载时用于判断是否可以展开）")
+    private Boolean hasChildren;
+
     /**
      * 子部门
      */
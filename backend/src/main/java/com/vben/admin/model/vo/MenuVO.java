@@ -77,6 +77,12 @@ public class MenuVO {
     @Schema(description = "状态：0-禁用，1-启用")
     private Integer status;
 
+    /**
+     * 是否有子菜单
+     */
+    @Schema(description = "是否有子菜单（按层懒加载时用于判断是否可以展开）")
+    private Boolean hasChildren;
+
     /**
      * 子菜单
      */
@@ -0,0 +1,44 @@
+package com.vben.admin.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 在线用户统计VO
+ *
+ * @author vben
+ */
+@Data
+@Schema(description = "在线用户统计VO")
+public class OnlineStatsVO {
+
+    /**
+     * 在线用户数（超时时间内有请求的用户）
+     */
+    @Schema(description = "在线用户数（超时时间内有请求的用户）")
+    private Integer onlineCount;
+
+    /**
+     * 最近 1 分钟内活跃的用户数
+     */
+    @Schema(description = "最近 1 分钟内活跃的用户数")
+    private Integer active1m;
+
+    /**
+     * 最近 5 分钟内活跃的用户数
+     */
+    @Schema(description = "最近 5 分钟内活跃的用户数")
+    private Integer active5m;
+
+    /**
+     * 最近 15 分钟内活跃的用户数
+     */
+    @Schema(description = "最近 15 分钟内活跃的用户数")
+    private Integer active15m;
+
+    /**
+     * 在线超时时间（秒）
+     */
+    @Schema(description = "在线超时时间（秒）")
+    private Long idleTimeoutSeconds;
+}
@@ -0,0 +1,61 @@
+package com.vben.admin.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 在线用户VO
+ *
+ * @author vben
+ */
+@Data
+@Schema(description = "在线用户VO")
+public class OnlineUserVO {
+
+    /**
+     * 用户ID
+     */
+    @Schema(description = "用户ID")
+    private String userId;
+
+    /**
+     * 用户名
+     */
+    @Schema(description = "用户名")
+    private String username;
+
+    /**
+     * 最后访问的IP地址
+     */
+    @Schema(description = "最后访问的IP地址")
+    private String ipAddress;
+
+    /**
+     * 浏览器类型
+     */
+    @Schema(description = "浏览器类型")
+    private String browser;
+
+    /**
+     * 操作系统
+     */
+    @Schema(description = "操作系统")
+    private String os;
+
+    /**
+     * 登录时间（服务重启后未重新登录时为空）
+     */
+    @Schema(description = "登录时间（服务重启后未重新登录时为空）")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Shanghai")
+    private LocalDateTime loginTime;
+
+    /**
+     * 最后活跃时间
+     */
+    @Schema(description = "最后活跃时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "Asia/Shanghai")
+    private LocalDateTime lastActiveTime;
+}
@@ -0,0 +1,32 @@
+package com.vben.admin.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 角色选项VO（精简字段，用于下拉选项）
+ *
+ * @author vben
+ */
+@Data
+@Schema(description = "角色选项VO（精简字段，用于下拉选项）")
+public class RoleOptionVO {
+
+    /**
+     * 角色ID
+     */
+    @Schema(description = "角色ID")
+    private String id;
+
+    /**
+     * 角色名称
+     */
+    @Schema(description = "角色名称")
+    private String name;
+
+    /**
+     * 状态：0-禁用，1-启用
+     */
+    @Schema(description = "状态：0-禁用，1-启用")
+    private Integer status;
+}
@@ -46,6 +46,12 @@ public class RoleVO {
     @Schema(description = "状态：0-禁用，1-启用")
     private Integer status;
 
+    /**
+     * 用户数（拥有该角色的未删除用户）
+     */
+    @Schema(description = "用户数（拥有该角色的未删除用户）")
+    private Long userCount;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,79 @@
+package com.vben.admin.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 用户导入结果VO
+ *
+ * @author vben
+ */
+@Data
+@Schema(description = "用户导入结果VO")
+public class UserImportResultVO {
+
+    /**
+     * 数据行数（不含表头和空行）
+     */
+    @Schema(description = "数据行数（不含表头和空行）")
+    private Integer totalRows = 0;
+
+    /**
+     * 导入成功的行数
+     */
+    @Schema(description = "导入成功的行数")
+    private Integer successCount = 0;
+
+    /**
+     * 导入失败的行数
+     */
+    @Schema(description = "导入失败的行数")
+    private Integer failureCount = 0;
+
+    /**
+     * 耗时（毫秒）
+     */
+    @Schema(description = "耗时（毫秒）")
+    private Long elapsedMillis;
+
+    /**
+     * 错误明细是否已截断（失败行过多时只返回前面的错误）
+     */
+    @Schema(description = "错误明细是否已截断（失败行过多时只返回前面的错误）")
+    private Boolean errorsTruncated = false;
+
+    /**
+     * 错误明细
+     */
+    @Schema(description = "错误明细")
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 行错误
+     */
+    @Data
+    @Schema(description = "行错误")
+    public static class RowError {
+
+        /**
+         * 行号（从1开始，第1行为表头）
+         */
+        @Schema(description = "行号（从1开始，第1行为表头）")
+        private Long rowNumber;
+
+        /**
+         * 用户名
+         */
+        @Schema(description = "用户名")
+        private String username;
+
+        /**
+         * 错误信息
+         */
+        @Schema(description = "错误信息")
+        private String message;
+    }
+}
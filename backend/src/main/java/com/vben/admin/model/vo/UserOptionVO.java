@@ -0,0 +1,38 @@
+package com.vben.admin.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+/**
+ * 用户选项VO（精简字段，用于下拉选项）
+ *
+ * @author vben
+ */
+@Data
+@Schema(description = "用户选项VO（精简字段，用于下拉选项）")
+public class UserOptionVO {
+
+    /**
+     * 用户ID
+     */
+    @Schema(description = "用户ID")
+    private String id;
+
+    /**
+     * 用户名
+     */
+    @Schema(description = "用户名")
+    private String username;
+
+    /**
+     * 真实姓名
+     */
+    @Schema(description = "真实姓名")
+    private String realName;
+
+    /**
+     * 状态：0-禁用，1-启用
+     */
+    @Schema(description = "状态：0-禁用，1-启用")
+    private Integer status;
+}
@@ -16,23 +16,28 @@ public interface AuthService {
     /**
      * 登录
      *
-     * @param loginDTO 登录信息
+     * @param loginDTO  登录信息
+     * @param clientIp  客户端IP
+     * @param userAgent 客户端 User-Agent
      * @return 登录结果
      */
-    LoginResultVO login(LoginDTO loginDTO);
+    LoginResultVO login(LoginDTO loginDTO, String clientIp, String userAgent);
 
     /**
-     * 退出登录
+     * 退出登录（撤销访问Token和刷新Token所在的令牌族）
+     *
+     * @param accessToken  访问Token，可为空
+     * @param refreshToken 刷新Token，可为空
      */
-    void logout();
+    void logout(String accessToken, String refreshToken);
 
     /**
-     * 刷新Token
+     * 刷新Token（轮换：原刷新Token作废，同时签发新的刷新Token）
      *
      * @param refreshToken 刷新Token
-     * @return 新的AccessToken
+     * @return 新的AccessToken和RefreshToken
      */
-    String refreshToken(String refreshToken);
+    LoginResultVO refreshToken(String refreshToken);
 
     /**
      * 获取当前用户权限码列表
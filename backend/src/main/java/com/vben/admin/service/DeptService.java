@@ -14,11 +14,15 @@ import java.util.List;
 public interface DeptService {
 
     /**
-     * 获取部门列表
+     * 查询部门树（支持搜索，匹配的部门会保留所有上级部门）
      *
+     * @param status   状态（0-禁用，1-启用，null-所有状态）
+     * @param search   搜索关键词（匹配部门名称、备注，可选）
+     * @param maxDepth 最大深度（从起始层开始计为 1，可选）
+     * @param pid      起始父级ID（用于按层懒加载，只查询该父级下的部门，可选）
      * @return 部门列表（树形结构）
      */
-    List<DeptVO> getDeptList();
+    List<DeptVO> getDeptList(Integer status, String search, Integer maxDepth, String pid);
 
     /**
      * 创建部门
@@ -21,6 +21,14 @@ public interface MenuService {
      */
     List<MenuVO> getAllMenus();
 
+    /**
+     * 根据角色ID列表获取菜单（用于路由，包含所有父菜单，不包含按钮）
+     *
+     * @param roleIds 角色ID列表
+     * @return 菜单列表（树形结构）
+     */
+    List<MenuVO> getMenusByRoleIds(List<String> roleIds);
+
     /**
      * 获取菜单列表
      *
@@ -29,6 +37,18 @@ public interface MenuService {
      */
     List<MenuVO> getMenuList(Integer status);
 
+    /**
+     * 查询菜单树（支持搜索，匹配的菜单会保留所有父级菜单）
+     *
+     * @param status   状态（0-禁用，1-启用，null-所有状态）
+     * @param search   搜索关键词（匹配标题、名称、路径，可选）
+     * @param type     菜单类型（可选）
+     * @param maxDepth 最大深度（从起始层开始计为 1，可选）
+     * @param pid      起始父级ID（用于按层懒加载，可选）
+     * @return 菜单列表（树形结构）
+     */
+    List<MenuVO> getMenuList(Integer status, String search, String type, Integer maxDepth, String pid);
+
     /**
      * 检查菜单名称是否存在
      *
@@ -0,0 +1,36 @@
+package com.vben.admin.service;
+
+import com.vben.admin.model.vo.CacheStatsVO;
+import com.vben.admin.model.vo.OnlineStatsVO;
+import com.vben.admin.model.vo.OnlineUserVO;
+
+import java.util.List;
+
+/**
+ * 系统监控服务接口
+ *
+ * @author vben
+ */
+public interface MonitorService {
+
+    /**
+     * 获取 Token 校验缓存统计信息
+     *
+     * @return 缓存统计信息
+     */
+    CacheStatsVO getTokenCacheStats();
+
+    /**
+     * 获取在线用户列表
+     *
+     * @return 在线用户列表（按最后活跃时间倒序）
+     */
+    List<OnlineUserVO> getOnlineUsers();
+
+    /**
+     * 获取在线用户统计
+     *
+     * @return 在线用户统计
+     */
+    OnlineStatsVO getOnlineStats();
+}
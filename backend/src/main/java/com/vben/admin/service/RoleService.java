@@ -4,6 +4,7 @@ import com.vben.admin.core.model.PageResult;
 import com.vben.admin.core.validation.ValidId;
 import com.vben.admin.model.dto.RoleDTO;
 import com.vben.admin.model.dto.RoleOptionQueryDTO;
+import com.vben.admin.model.vo.RoleOptionVO;
 import com.vben.admin.model.vo.RoleVO;
 
 import java.util.List;
@@ -62,4 +63,12 @@ public interface RoleService {
      *         如果传了 page 和 pageSize，则使用分页查询；否则使用 limit 限制（默认 1000）
      */
     PageResult<RoleVO> getRoleOptions(RoleOptionQueryDTO queryDTO);
+
+    /**
+     * 获取精简角色选项列表（只查询ID、名称和状态，不关联菜单权限）
+     *
+     * @param queryDTO 查询条件（与 {@link #getRoleOptions} 相同）
+     * @return 精简角色选项列表
+     */
+    PageResult<RoleOptionVO> getRoleSimpleOptions(RoleOptionQueryDTO queryDTO);
 }
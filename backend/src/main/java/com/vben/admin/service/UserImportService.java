@@ -0,0 +1,21 @@
+package com.vben.admin.service;
+
+import com.vben.admin.model.vo.UserImportResultVO;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 用户导入服务接口
+ *
+ * @author vben
+ */
+public interface UserImportService {
+
+    /**
+     * 导入用户（CSV 或 XLSX，第一行为表头）
+     * 按块校验和写入，每块单独提交：校验失败的行记入错误明细，不影响其他行
+     *
+     * @param file 导入文件
+     * @return 导入结果（成功数、失败数和逐行错误）
+     */
+    UserImportResultVO importUsers(MultipartFile file);
+}
@@ -4,8 +4,11 @@ import com.vben.admin.core.model.PageResult;
 import com.vben.admin.core.validation.ValidId;
 import com.vben.admin.model.dto.UserDTO;
 import com.vben.admin.model.dto.UserOptionQueryDTO;
+import com.vben.admin.model.vo.UserOptionVO;
 import com.vben.admin.model.vo.UserVO;
 
+import java.util.List;
+
 /**
  * 用户服务接口
  *
@@ -76,6 +79,41 @@ public interface UserService {
      */
     void resetPassword(@ValidId(message = "用户ID不能为空或无效值") String id, String password);
 
+    /**
+     * 批量启用/禁用用户
+     *
+     * @param ids    用户ID列表
+     * @param status 状态（0-禁用，1-启用）
+     * @return 用户数
+     */
+    int batchUpdateUserStatus(List<String> ids, Integer status);
+
+    /**
+     * 批量设置用户角色（替换为指定的角色）
+     *
+     * @param ids     用户ID列表
+     * @param roleIds 角色ID列表（空列表表示清空角色）
+     * @return 角色发生变化的用户数
+     */
+    int batchUpdateUserRoles(List<String> ids, List<String> roleIds);
+
+    /**
+     * 批量调整用户部门
+     *
+     * @param ids    用户ID列表
+     * @param deptId 部门ID
+     * @return 用户数
+     */
+    int batchUpdateUserDept(List<String> ids, String deptId);
+
+    /**
+     * 批量删除用户（逻辑删除）
+     *
+     * @param ids 用户ID列表
+     * @return 用户数
+     */
+    int batchDeleteUsers(List<String> ids);
+
     /**
      * 修改当前用户密码
      *
@@ -99,4 +137,12 @@ public interface UserService {
      *         如果传了 page 和 pageSize，则使用分页查询；否则使用 limit 限制（默认 1000）
      */
     PageResult<UserVO> getUserOptions(UserOptionQueryDTO queryDTO);
+
+    /**
+     * 获取精简用户选项列表（只查询ID、用户名、真实姓名和状态，不关联角色、部门等信息）
+     *
+     * @param queryDTO 查询条件（与 {@link #getUserOptions} 相同）
+     * @return 精简用户选项列表
+     */
+    PageResult<UserOptionVO> getUserSimpleOptions(UserOptionQueryDTO queryDTO);
 }
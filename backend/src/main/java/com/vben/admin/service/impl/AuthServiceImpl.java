@@ -1,11 +1,21 @@
 package com.vben.admin.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.vben.admin.core.cache.PermissionCodeCache;
+import com.vben.admin.core.cache.TokenVerificationCache;
 import com.vben.admin.core.exception.BusinessException;
+import com.vben.admin.core.model.JwtPrincipal;
+import com.vben.admin.core.model.LoginUser;
+import com.vben.admin.core.security.LoginThrottle;
+import com.vben.admin.core.security.OnlineUserRegistry;
+import com.vben.admin.core.security.PasswordVerifier;
+import com.vben.admin.core.token.AccessTokenDenylist;
+import com.vben.admin.core.token.RefreshTokenRecord;
+import com.vben.admin.core.token.RefreshTokenStore;
+import com.vben.admin.core.token.RefreshTokenStore.ConsumeResult;
 import com.vben.admin.core.utils.JwtUtils;
 import com.vben.admin.core.utils.SecurityUtils;
 import com.vben.admin.core.utils.ValidationUtils;
-import com.vben.admin.mapper.PermissionMapper;
 import com.vben.admin.mapper.UserMapper;
 import com.vben.admin.mapper.UserRoleMapper;
 import com.vben.admin.model.dto.LoginDTO;
@@ -14,36 +24,66 @@ import com.vben.admin.model.vo.LoginResultVO;
 import com.vben.admin.model.vo.UserVO;
 import com.vben.admin.service.AuthService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * 认证服务实现
  *
  * @author vben
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
 
     private final UserMapper userMapper;
     private final UserRoleMapper userRoleMapper;
-    private final PermissionMapper permissionMapper;
+    private final PermissionCodeCache permissionCodeCache;
     private final JwtUtils jwtUtils;
-    private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenStore refreshTokenStore;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final TokenVerificationCache tokenVerificationCache;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
+    private final OnlineUserRegistry onlineUserRegistry;
+
+    /**
+     * Token载荷：令牌ID
+     */
+    private static final String CLAIM_TOKEN_ID = "jti";
+
+    /**
+     * 刷新Token载荷：令牌族ID
+     */
+    private static final String CLAIM_FAMILY_ID = "familyId";
+
+    /**
+     * 已使用的刷新Token再次使用的宽限期（毫秒），宽限期内返回已签发的新Token，超过后视为被盗用
+     */
+    @Value("${jwt.refresh-token-reuse-grace-ms:5000}")
+    private long refreshTokenReuseGraceMillis;
 
     @Override
-    public LoginResultVO login(LoginDTO loginDTO) {
+    public LoginResultVO login(LoginDTO loginDTO, String clientIp, String userAgent) {
         // 查询并验证用户
-        SysUser user = findAndValidateUser(loginDTO.getUsername(), loginDTO.getPassword());
+        SysUser user = findAndValidateUser(loginDTO.getUsername(), loginDTO.getPassword(), clientIp);
 
         // 生成Token
         String accessToken = generateAccessToken(user);
-        String refreshToken = generateRefreshToken(user);
+        Date refreshExpiration = new Date(System.currentTimeMillis() + jwtUtils.getRefreshTokenExpiration());
+        String refreshToken = issueRefreshToken(UUID.randomUUID().toString(), user.getId(), user.getUsername(),
+                UUID.randomUUID().toString(), refreshExpiration);
+
+        // 登记在线用户（最后登录时间定期批量写入数据库）
+        onlineUserRegistry.recordLogin(user.getId(), user.getUsername(), clientIp, userAgent);
 
         LoginResultVO result = new LoginResultVO();
         result.setAccessToken(accessToken);
@@ -52,28 +92,87 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public void logout() {
-        // 可以在这里实现token黑名单机制
-        // 当前简单实现，前端删除token即可
+    public void logout(String accessToken, String refreshToken) {
+        // 撤销访问Token，过期前不能再使用
+        if (accessToken != null) {
+            JwtPrincipal accessPrincipal = jwtUtils.authenticate(accessToken);
+            if (accessPrincipal != null && !accessPrincipal.isAccessToken()) {
+                accessPrincipal = null;
+            }
+            accessTokenDenylist.revokeToken(accessPrincipal);
+            tokenVerificationCache.invalidate(accessToken);
+            if (accessPrincipal != null) {
+                onlineUserRegistry.remove(accessPrincipal.getUserId());
+            }
+        }
+        if (refreshToken == null) {
+            return;
+        }
+        // 撤销当前登录的令牌族，之后该登录产生的刷新Token都不能再使用
+        JwtPrincipal principal = jwtUtils.authenticate(refreshToken);
+        String familyId = principal != null && principal.isRefreshToken()
+                ? (String) principal.getClaim(CLAIM_FAMILY_ID) : null;
+        if (familyId != null) {
+            refreshTokenStore.revokeFamily(familyId, principal.getExpiration().getTime());
+        }
     }
 
     @Override
-    public String refreshToken(String refreshToken) {
-        // 验证refreshToken
-        if (!jwtUtils.validateToken(refreshToken)) {
+    public LoginResultVO refreshToken(String refreshToken) {
+        // 验证refreshToken（一次解析同时获取用户信息）
+        JwtPrincipal principal = jwtUtils.authenticate(refreshToken);
+        if (principal == null) {
             throw new BusinessException("刷新Token已过期，请重新登录");
         }
+        // 访问Token不能用于换取新的Token
+        if (!principal.isRefreshToken()) {
+            throw new BusinessException("刷新Token已失效，请重新登录");
+        }
+        // 用户被强制下线前签发的刷新Token不能再使用
+        if (accessTokenDenylist.isRevoked(principal)) {
+            throw new BusinessException("刷新Token已失效，请重新登录");
+        }
+        String tokenId = principal.getTokenId();
+        String familyId = (String) principal.getClaim(CLAIM_FAMILY_ID);
+        if (tokenId == null || familyId == null) {
+            throw new BusinessException("刷新Token已失效，请重新登录");
+        }
 
-        // 从refreshToken中获取用户信息并生成新的AccessToken
-        String userId = jwtUtils.getUserIdFromToken(refreshToken);
-        String username = jwtUtils.getUsernameFromToken(refreshToken);
-        return generateAccessToken(userId, username);
+        // 每个刷新Token只能使用一次（轮换，新Token沿用令牌族的过期时间）
+        String successorId = UUID.randomUUID().toString();
+        ConsumeResult consumeResult = refreshTokenStore.consume(tokenId, successorId);
+        String newRefreshToken;
+        switch (consumeResult.getStatus()) {
+            case CONSUMED:
+                newRefreshToken = issueRefreshToken(successorId, principal.getUserId(), principal.getUsername(),
+                        familyId, principal.getExpiration());
+                break;
+            case REUSED:
+                // 宽限期内再次使用（如多个标签页同时刷新）：返回第一次使用时签发的新Token
+                if (consumeResult.getSuccessorId() != null
+                        && System.currentTimeMillis() - consumeResult.getUsedAt() <= refreshTokenReuseGraceMillis) {
+                    newRefreshToken = signRefreshToken(consumeResult.getSuccessorId(), principal.getUserId(),
+                            principal.getUsername(), familyId, principal.getExpiration());
+                    break;
+                }
+                // 超过宽限期后再次出现说明可能被盗用，撤销整个令牌族
+                log.warn("检测到刷新Token重复使用，撤销令牌族: userId={}, familyId={}", principal.getUserId(), familyId);
+                refreshTokenStore.revokeFamily(familyId, principal.getExpiration().getTime());
+                throw new BusinessException("刷新Token已失效，请重新登录");
+            default:
+                throw new BusinessException("刷新Token已失效，请重新登录");
+        }
+
+        LoginResultVO result = new LoginResultVO();
+        result.setAccessToken(generateAccessToken(principal.getUserId(), principal.getUsername()));
+        result.setRefreshToken(newRefreshToken);
+        return result;
     }
 
     @Override
     public List<String> getAccessCodes() {
         String userId = getCurrentUserIdOrThrow();
-        return permissionMapper.selectCodesByUserId(userId);
+        return permissionCodeCache.getUserCodes(userId);
     }
 
     @Override
@@ -81,8 +180,11 @@ public class AuthServiceImpl implements AuthService {
         String userId = getCurrentUserIdOrThrow();
         SysUser user = getUserByIdOrThrow(userId);
 
-        // 查询用户角色
-        List<String> roleIds = userRoleMapper.selectRoleIdsByUserId(userId);
+        // 用户角色（优先从当前登录用户中获取）
+        LoginUser loginUser = SecurityUtils.getLoginUser();
+        List<String> roleIds = loginUser != null && userId.equals(loginUser.getUserId())
+                ? loginUser.getRoleIds()
+                : userRoleMapper.selectRoleIdsByUserId(userId);
 
         // 构建用户信息VO
         return buildUserVO(user, roleIds);
@@ -93,10 +195,11 @@ public class AuthServiceImpl implements AuthService {
      *
      * @param username 用户名
      * @param password 密码
+     * @param clientIp 客户端IP
      * @return 用户实体
-     * @throws BusinessException 如果用户不存在、密码错误或用户被禁用
+     * @throws BusinessException 如果登录过于频繁、用户不存在、密码错误或用户被禁用
      */
-    private SysUser findAndValidateUser(String username, String password) {
+    private SysUser findAndValidateUser(String username, String password, String clientIp) {
         // 校验用户名和密码是否有效（拦截 "null"、"undefined"、空格等无效字符串）
         if (ValidationUtils.isInvalidString(username)) {
             throw new BusinessException("用户名不能为空或无效值");
@@ -105,6 +208,9 @@ public class AuthServiceImpl implements AuthService {
             throw new BusinessException("密码不能为空或无效值");
         }
 
+        // 限流检查（在查询数据库和校验密码之前）
+        loginThrottle.checkAndRecordAttempt(username, clientIp);
+
         // 查询用户（排除已删除的用户）
         SysUser user = userMapper.selectOne(
                 new LambdaQueryWrapper<SysUser>()
@@ -113,11 +219,16 @@ public class AuthServiceImpl implements AuthService {
         );
 
         if (user == null) {
+            loginThrottle.recordFailure(username, clientIp);
             throw new BusinessException("用户名或密码错误");
         }
 
-        // 验证密码
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        // 供操作日志记录登录用户，避免再次查询
+        SecurityUtils.setRequestAttribute(SecurityUtils.LOGIN_ATTEMPT_USER_ATTRIBUTE, user);
+
+        // 验证密码（在独立的线程池中执行）
+        if (!passwordVerifier.matches(password, user.getPassword())) {
+            loginThrottle.recordFailure(username, clientIp);
             throw new BusinessException("用户名或密码错误");
         }
 
@@ -126,6 +237,7 @@ public class AuthServiceImpl implements AuthService {
             throw new BusinessException("用户已被禁用");
         }
 
+        loginThrottle.recordSuccess(username, clientIp);
         return user;
     }
 
@@ -150,20 +262,42 @@ public class AuthServiceImpl implements AuthService {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
         claims.put("username", username);
+        claims.put(CLAIM_TOKEN_ID, UUID.randomUUID().toString());
         return jwtUtils.generateAccessToken(claims);
     }
 
     /**
-     * 生成刷新Token
+     * 签发刷新Token并记录到令牌存储
      *
-     * @param user 用户实体
+     * @param tokenId    令牌ID
+     * @param userId     用户ID
+     * @param username   用户名
+     * @param familyId   令牌族ID
+     * @param expiration 过期时间
      * @return 刷新Token
      */
-    private String generateRefreshToken(SysUser user) {
+    private String issueRefreshToken(String tokenId, String userId, String username, String familyId, Date expiration) {
+        refreshTokenStore.save(new RefreshTokenRecord(tokenId, familyId, userId, expiration.getTime()));
+        return signRefreshToken(tokenId, userId, username, familyId, expiration);
+    }
+
+    /**
+     * 为已记录的刷新令牌生成 JWT（不写入令牌存储）
+     *
+     * @param tokenId    令牌ID
+     * @param userId     用户ID
+     * @param username   用户名
+     * @param familyId   令牌族ID
+     * @param expiration 过期时间
+     * @return 刷新Token
+     */
+    private String signRefreshToken(String tokenId, String userId, String username, String familyId, Date expiration) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("userId", user.getId());
-        claims.put("username", user.getUsername());
-        return jwtUtils.generateRefreshToken(claims);
+        claims.put("userId", userId);
+        claims.put("username", username);
+        claims.put(CLAIM_TOKEN_ID, tokenId);
+        claims.put(CLAIM_FAMILY_ID, familyId);
+        return jwtUtils.generateRefreshToken(claims, expiration);
     }
 
     /**
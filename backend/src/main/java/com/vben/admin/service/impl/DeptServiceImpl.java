@@ -1,13 +1,13 @@
 package com.vben.admin.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.vben.admin.core.cache.UserNameCache;
 import com.vben.admin.core.exception.BusinessException;
 import com.vben.admin.core.utils.TreeHelper;
 import com.vben.admin.core.utils.ValidationUtils;
 import com.vben.admin.mapper.DeptMapper;
-import com.vben.admin.mapper.UserMapper;
 import com.vben.admin.model.dto.DeptDTO;
 import com.vben.admin.model.entity.SysDept;
-import com.vben.admin.model.entity.SysUser;
 import com.vben.admin.model.vo.DeptVO;
 import com.vben.admin.service.DeptService;
 import lombok.RequiredArgsConstructor;
@@ -17,7 +17,14 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -31,12 +38,39 @@ import java.util.stream.Collectors;
 public class DeptServiceImpl implements DeptService {
 
     private final DeptMapper deptMapper;
-    private final UserMapper userMapper;
+    private final UserNameCache userNameCache;
 
     @Override
-    public List<DeptVO> getDeptList() {
-        List<SysDept> depts = deptMapper.selectList(null);
-        return buildDeptTree(depts);
+    public List<DeptVO> getDeptList(Integer status, String search, Integer maxDepth, String pid) {
+        if (maxDepth != null && maxDepth < 1) {
+            throw new BusinessException("最大深度必须大于0");
+        }
+
+        // 搜索关键词（部门名称、备注，不区分大小写），未指定时不过滤
+        String keyword = ValidationUtils.cleanString(search);
+        Predicate<DeptVO> predicate = null;
+        if (keyword != null) {
+            String lowerKeyword = keyword.toLowerCase();
+            predicate = dept -> (dept.getName() != null && dept.getName().toLowerCase().contains(lowerKeyword))
+                    || (dept.getRemark() != null && dept.getRemark().toLowerCase().contains(lowerKeyword));
+        }
+
+        // 指定了起始父级时只逐层加载该父级下的部门（深度已在加载时限制）
+        String startPid = ValidationUtils.cleanString(pid);
+        if (startPid != null && !TreeHelper.ROOT_ID.equals(startPid)) {
+            List<DeptVO> subTree = loadSubTree(startPid, status, maxDepth);
+            return predicate == null ? subTree
+                    : TreeHelper.filterTree(subTree, DeptVO::getChildren, DeptVO::setChildren, predicate, null);
+        }
+
+        // 如果指定了状态，则按状态过滤
+        LambdaQueryWrapper<SysDept> queryWrapper = new LambdaQueryWrapper<>();
+        if (status != null) {
+            queryWrapper.eq(SysDept::getStatus, status);
+        }
+        List<DeptVO> deptTree = buildDeptTree(deptMapper.selectList(queryWrapper));
+        return TreeHelper.queryTree(deptTree, DeptVO::getId, DeptVO::getChildren, DeptVO::setChildren,
+                null, predicate, maxDepth);
     }
 
     @Override
@@ -93,9 +127,10 @@ public class DeptServiceImpl implements DeptService {
         List<DeptVO> deptVOs = depts.stream()
                 .map(this::convertToVO)
                 .collect(Collectors.toList());
+        fillOperatorNames(deptVOs);
 
         // 使用 TreeHelper 构建树形结构
-        return TreeHelper.buildTree(
+        List<DeptVO> deptTree = TreeHelper.buildTree(
                 deptVOs,
                 DeptVO::getId,
                 DeptVO::getPid,
@@ -103,6 +138,68 @@ public class DeptServiceImpl implements DeptService {
                 DeptVO::setChildren,
                 TreeHelper.ROOT_ID
         );
+        // 在按深度截断之前标记是否有子部门
+        for (DeptVO vo : deptVOs) {
+            vo.setHasChildren(vo.getChildren() != null && !vo.getChildren().isEmpty());
+        }
+        return deptTree;
+    }
+
+    /**
+     * 从指定父级开始逐层加载部门子树（每层一次查询，只读取该父级下的部门）
+     * 达到最大深度时不再加载下一层，最后一层的部门通过按父级分组的查询判断是否有子部门
+     *
+     * @param pid      起始父级ID
+     * @param status   状态（null-所有状态）
+     * @param maxDepth 最大深度（为空时不限制）
+     * @return 部门列表（树形结构）
+     */
+    private List<DeptVO> loadSubTree(String pid, Integer status, Integer maxDepth) {
+        List<DeptVO> roots = new ArrayList<>();
+        List<DeptVO> loaded = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        visited.add(pid);
+        Map<String, DeptVO> parents = Map.of();
+        Collection<String> parentIds = List.of(pid);
+        for (int depth = 1; ; depth++) {
+            List<SysDept> depts = deptMapper.selectList(new LambdaQueryWrapper<SysDept>()
+                    .in(SysDept::getPid, parentIds)
+                    .eq(status != null, SysDept::getStatus, status));
+
+            Map<String, DeptVO> level = new LinkedHashMap<>();
+            for (SysDept dept : depts) {
+                // 数据中存在环时跳过已经加载过的部门
+                if (!visited.add(dept.getId())) {
+                    continue;
+                }
+                DeptVO vo = convertToVO(dept);
+                vo.setHasChildren(false);
+                DeptVO parent = parents.get(dept.getPid());
+                if (parent == null) {
+                    roots.add(vo);
+                } else {
+                    if (parent.getChildren() == null) {
+                        parent.setChildren(new ArrayList<>());
+                    }
+                    parent.getChildren().add(vo);
+                    parent.setHasChildren(true);
+                }
+                level.put(vo.getId(), vo);
+                loaded.add(vo);
+            }
+            if (level.isEmpty()) {
+                break;
+            }
+            if (maxDepth != null && depth >= maxDepth) {
+                Set<String> withChildren = new HashSet<>(deptMapper.selectPidsWithChildren(level.keySet(), status));
+                level.values().forEach(vo -> vo.setHasChildren(withChildren.contains(vo.getId())));
+                break;
+            }
+            parents = level;
+            parentIds = level.keySet();
+        }
+        fillOperatorNames(loaded);
+        return roots;
     }
 
     @Override
@@ -185,31 +282,28 @@ public class DeptServiceImpl implements DeptService {
         BeanUtils.copyProperties(dept, vo);
         // 确保 createTime 被正确复制
         vo.setCreateTime(dept.getCreateTime());
-
-        // 查询创建人名称
-        if (StringUtils.hasText(dept.getCreateBy())) {
-            vo.setCreateByName(getUserName(dept.getCreateBy()));
-        }
-
-        // 查询更新人名称
-        if (StringUtils.hasText(dept.getUpdateBy())) {
-            vo.setUpdateByName(getUserName(dept.getUpdateBy()));
-        }
-
         return vo;
     }
 
     /**
-     * 获取用户名称（优先使用真实姓名，否则使用用户名）
+     * 填充创建人/更新人名称（用户名称缓存，整个列表中未缓存的用户合并为一次查询）
      *
-     * @param userId 用户ID
-     * @return 用户名称
+     * @param deptVOs 部门VO列表
      */
-    private String getUserName(String userId) {
-        SysUser user = userMapper.selectById(userId);
-        if (user != null) {
-            return user.getRealName() != null ? user.getRealName() : user.getUsername();
+    private void fillOperatorNames(List<DeptVO> deptVOs) {
+        Set<String> operatorIds = new HashSet<>();
+        for (DeptVO vo : deptVOs) {
+            operatorIds.add(vo.getCreateBy());
+            operatorIds.add(vo.getUpdateBy());
+        }
+        Map<String, String> operatorNames = userNameCache.getDisplayNames(operatorIds);
+        for (DeptVO vo : deptVOs) {
+            if (StringUtils.hasText(vo.getCreateBy())) {
+                vo.setCreateByName(operatorNames.get(vo.getCreateBy()));
+            }
+            if (StringUtils.hasText(vo.getUpdateBy())) {
+                vo.setUpdateByName(operatorNames.get(vo.getUpdateBy()));
+            }
         }
-        return null;
     }
 }
@@ -4,11 +4,15 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vben.admin.core.cache.MenuSnapshot;
+import com.vben.admin.core.cache.MenuSnapshotCache;
+import com.vben.admin.core.event.MenuChangedEvent;
 import com.vben.admin.core.exception.BusinessException;
 import com.vben.admin.core.utils.SecurityUtils;
 import com.vben.admin.core.utils.TreeHelper;
 import com.vben.admin.core.utils.ValidationUtils;
 import com.vben.admin.mapper.MenuMapper;
+import com.vben.admin.mapper.UserRoleMapper;
 import com.vben.admin.model.dto.MenuDTO;
 import com.vben.admin.model.dto.MenuOrderDTO;
 import com.vben.admin.model.entity.SysMenu;
@@ -16,15 +20,20 @@ import com.vben.admin.model.vo.MenuVO;
 import com.vben.admin.service.MenuService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
-import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -38,7 +47,10 @@ import java.util.stream.Collectors;
 public class MenuServiceImpl implements MenuService {
 
     private final MenuMapper menuMapper;
+    private final MenuSnapshotCache menuSnapshotCache;
+    private final UserRoleMapper userRoleMapper;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 菜单类型常量
     private static final String MENU_TYPE_CATALOG = "catalog"; // 目录
@@ -68,66 +80,126 @@ public class MenuServiceImpl implements MenuService {
             return new ArrayList<>();
         }
 
-        // 根据用户ID查询该用户有权限访问的菜单（通过角色关联）
-        List<SysMenu> userMenus = menuMapper.selectMenusByUserId(userId);
+        // 查询用户的角色（已禁用或已删除的用户没有任何角色）
+        List<String> roleIds = userRoleMapper.selectRoleIdsByActiveUserId(userId);
+        return getMenusByRoleIds(roleIds);
+    }
+
+    @Override
+    public List<MenuVO> getMenusByRoleIds(List<String> roleIds) {
+        // 没有角色，返回空列表
+        if (roleIds == null || roleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 根据角色ID查询有权限访问的菜单
+        List<String> menuIds = menuMapper.selectMenuIdsByRoleIds(roleIds);
 
-        // 如果用户没有任何菜单权限，返回空列表
-        if (userMenus.isEmpty()) {
+        // 如果角色没有任何菜单权限，返回空列表
+        if (menuIds.isEmpty()) {
             return new ArrayList<>();
         }
 
-        // 收集所有需要包含的菜单ID（包括父菜单）
-        Map<String, SysMenu> menuMap = new HashMap<>();
-        for (SysMenu menu : userMenus) {
+        // 从菜单快照中收集菜单及其所有父菜单（不再逐级查询数据库）
+        MenuSnapshot snapshot = menuSnapshotCache.get();
+        Map<String, MenuSnapshot.MenuEntry> menuMap = new HashMap<>();
+        for (String menuId : menuIds) {
+            MenuSnapshot.MenuEntry menu = snapshot.get(menuId);
+            if (menu == null || !menu.isActive()) {
+                continue;
+            }
             menuMap.put(menu.getId(), menu);
-            // 递归添加所有父菜单
-            addParentMenus(menu.getPid(), menuMap);
+            addParentMenus(snapshot, menu.getPid(), menuMap);
         }
 
         // 转换为列表并构建树形结构
         // 过滤掉按钮类型的菜单（按钮类型不应该显示在左侧菜单中）
-        List<SysMenu> allMenus = menuMap.values().stream()
+        List<MenuSnapshot.MenuEntry> allMenus = menuMap.values().stream()
                 .filter(menu -> !MENU_TYPE_BUTTON.equals(menu.getType()))
                 .collect(Collectors.toList());
         return buildMenuTree(allMenus);
     }
 
     /**
-     * 递归添加父菜单
+     * 添加所有父菜单（从菜单快照中查找；新授权在写入时已补齐祖先，这里兼容历史数据和移动过的菜单）
      *
-     * @param pid     父菜单ID
-     * @param menuMap 菜单映射表
+     * @param snapshot 菜单快照
+     * @param pid      父菜单ID
+     * @param menuMap  菜单映射表
      */
-    private void addParentMenus(String pid, Map<String, SysMenu> menuMap) {
-        // 如果父ID为空或者是根节点，则停止递归
-        if (pid == null || ROOT_MENU_ID.equals(pid) || menuMap.containsKey(pid)) {
-            return;
-        }
-
-        // 查询父菜单
-        SysMenu parentMenu = menuMapper.selectById(pid);
-        if (parentMenu != null && parentMenu.getStatus() == 1 && parentMenu.getDeleted() == 0) {
+    private void addParentMenus(MenuSnapshot snapshot, String pid, Map<String, MenuSnapshot.MenuEntry> menuMap) {
+        // 到达根节点或父菜单已收集时停止
+        while (pid != null && !ROOT_MENU_ID.equals(pid) && !menuMap.containsKey(pid)) {
+            MenuSnapshot.MenuEntry parentMenu = snapshot.get(pid);
+            if (parentMenu == null || !parentMenu.isActive()) {
+                return;
+            }
             menuMap.put(parentMenu.getId(), parentMenu);
-            // 继续递归添加父菜单的父菜单
-            addParentMenus(parentMenu.getPid(), menuMap);
+            pid = parentMenu.getPid();
         }
     }
 
     @Override
     public List<MenuVO> getMenuList(Integer status) {
-        // 构建查询条件
-        LambdaQueryWrapper<SysMenu> queryWrapper = new LambdaQueryWrapper<>();
+        // 从菜单快照中读取（快照已按排序字段排序），如果指定了状态，则按状态过滤
+        List<MenuSnapshot.MenuEntry> menus = menuSnapshotCache.get().all().stream()
+                .filter(menu -> status == null || status.equals(menu.getStatus()))
+                .collect(Collectors.toList());
+        return buildMenuTree(menus);
+    }
 
-        // 如果指定了状态，则按状态过滤
-        if (status != null) {
-            queryWrapper.eq(SysMenu::getStatus, status);
+    @Override
+    public List<MenuVO> getMenuList(Integer status, String search, String type, Integer maxDepth, String pid) {
+        if (maxDepth != null && maxDepth < 1) {
+            throw new BusinessException("最大深度必须大于0");
         }
 
-        // 按排序字段排序
-        queryWrapper.orderByAsc(SysMenu::getSortOrder);
+        List<MenuVO> menuTree = getMenuList(status);
+        // 在按深度截断之前标记是否有子菜单
+        markHasChildren(menuTree);
 
-        List<SysMenu> menus = menuMapper.selectList(queryWrapper);
-        return buildMenuTree(menus);
+        // 组合搜索条件（关键词、类型），未指定条件时不过滤
+        String keyword = ValidationUtils.cleanString(search);
+        String menuType = ValidationUtils.cleanString(type);
+        Predicate<MenuVO> predicate = null;
+        if (keyword != null || menuType != null) {
+            String lowerKeyword = keyword != null ? keyword.toLowerCase() : null;
+            predicate = menu -> (menuType == null || menuType.equals(menu.getType()))
+                    && (lowerKeyword == null || matchesMenuKeyword(menu, lowerKeyword));
+        }
+
+        return TreeHelper.queryTree(menuTree, MenuVO::getId, MenuVO::getChildren, MenuVO::setChildren,
+                ValidationUtils.cleanString(pid), predicate, maxDepth);
+    }
+
+    /**
+     * 标记菜单是否有子菜单（前端按层懒加载时，截断处的菜单据此判断是否可以展开）
+     *
+     * @param menus 菜单列表
+     */
+    private void markHasChildren(List<MenuVO> menus) {
+        if (menus == null) {
+            return;
+        }
+        for (MenuVO menu : menus) {
+            List<MenuVO> children = menu.getChildren();
+            menu.setHasChildren(children != null && !children.isEmpty());
+            markHasChildren(children);
+        }
+    }
+
+    /**
+     * 判断菜单是否匹配搜索关键词（标题、名称、路径，不区分大小写）
+     *
+     * @param menu         菜单
+     * @param lowerKeyword 小写的搜索关键词
+     * @return 是否匹配
+     */
+    private boolean matchesMenuKeyword(MenuVO menu, String lowerKeyword) {
+        Object title = menu.getMeta() != null ? menu.getMeta().get("title") : null;
+        return (title != null && title.toString().toLowerCase().contains(lowerKeyword))
+                || (menu.getName() != null && menu.getName().toLowerCase().contains(lowerKeyword))
+                || (menu.getPath() != null && menu.getPath().toLowerCase().contains(lowerKeyword));
     }
 
     @Override
@@ -158,6 +230,7 @@ public class MenuServiceImpl implements MenuService {
         processMenuFields(menu, menuDTO, menuType, true);
 
         menuMapper.insert(menu);
+        eventPublisher.publishEvent(new MenuChangedEvent(Set.of(menu.getId())));
         return menu.getId();
     }
 
@@ -165,6 +238,7 @@ public class MenuServiceImpl implements MenuService {
     @Transactional(rollbackFor = Exception.class)
     public void updateMenu(String id, MenuDTO menuDTO) {
         SysMenu menu = getMenuByIdOrThrow(id);
+        String oldAuthCode = menu.getAuthCode();
 
         // 校验菜单基本信息
         validateMenuBasicInfo(menuDTO, id);
@@ -180,18 +254,21 @@ public class MenuServiceImpl implements MenuService {
         processMenuFields(menu, menuDTO, menuType, false);
 
         menuMapper.updateById(menu);
+        boolean authCodeChanged = !Objects.equals(oldAuthCode, menu.getAuthCode());
+        eventPublisher.publishEvent(new MenuChangedEvent(Set.of(id), authCodeChanged));
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void deleteMenu(String id) {
-        getMenuByIdOrThrow(id);
+        SysMenu menu = getMenuByIdOrThrow(id);
 
         // 检查是否有子菜单
         checkNoChildMenus(id);
 
         // 删除菜单（逻辑删除）
         menuMapper.deleteById(id);
+        eventPublisher.publishEvent(new MenuChangedEvent(Set.of(id), menu.getAuthCode() != null));
     }
 
     @Override
@@ -212,64 +289,170 @@ public class MenuServiceImpl implements MenuService {
             throw new BusinessException("菜单列表中存在重复的菜单ID");
         }
 
+        // 第一步：在内存中规范化父级ID并解析排序值，不访问数据库
+        Map<String, String> targetPids = new LinkedHashMap<>();
+        Map<String, Integer> targetSortOrders = new HashMap<>();
         for (MenuOrderDTO menuOrderDTO : menus) {
             if (menuOrderDTO.getMeta() == null) {
                 throw new BusinessException("菜单元数据不能为空，菜单ID: " + menuOrderDTO.getId());
             }
 
-            SysMenu menu = getMenuByIdOrThrow(menuOrderDTO.getId());
-
-            // 处理父级ID（拦截 "null"、"undefined"、空格等无效字符串）
-            String pid = menuOrderDTO.getPid();
-            if (ValidationUtils.isInvalidString(pid)) {
-                pid = TreeHelper.ROOT_ID;
-            } else {
-                pid = ValidationUtils.cleanString(pid);
-                if (pid == null) {
-                    pid = TreeHelper.ROOT_ID;
-                }
-            }
+            String pid = normalizePid(menuOrderDTO.getPid());
 
             // 校验：防止菜单成为自己的父级（循环引用）
             if (menuOrderDTO.getId().equals(pid)) {
                 throw new BusinessException("菜单不能成为自己的父级，菜单ID: " + menuOrderDTO.getId());
             }
 
-            // 校验：如果 pid 不是根节点，检查父菜单是否存在
-            if (!TreeHelper.ROOT_ID.equals(pid)) {
-                getMenuByIdOrThrow(pid, "父菜单不存在，父菜单ID: " + pid + "，菜单ID: " + menuOrderDTO.getId());
+            targetPids.put(menuOrderDTO.getId(), pid);
+            // 处理排序字段：从 meta.order 读取
+            targetSortOrders.put(menuOrderDTO.getId(), parseSortOrderWithValidation(menuOrderDTO.getMeta(), menuOrderDTO.getId()));
+        }
+
+        // 第二步：一次性加载批次内的菜单及其目标父菜单
+        Set<String> loadIds = new HashSet<>(targetPids.keySet());
+        targetPids.values().stream().filter(pid -> !ROOT_MENU_ID.equals(pid)).forEach(loadIds::add);
+        Map<String, SysMenu> loadedMenus = menuMapper.selectBatchIds(loadIds).stream()
+                .collect(Collectors.toMap(SysMenu::getId, menu -> menu));
+
+        for (Map.Entry<String, String> entry : targetPids.entrySet()) {
+            if (!loadedMenus.containsKey(entry.getKey())) {
+                throw new BusinessException("菜单不存在");
+            }
+            String pid = entry.getValue();
+            if (!ROOT_MENU_ID.equals(pid) && !loadedMenus.containsKey(pid)) {
+                throw new BusinessException("父菜单不存在，父菜单ID: " + pid + "，菜单ID: " + entry.getKey());
             }
+        }
 
-            // 处理排序字段：从 meta.order 读取
-            Integer sortOrder = parseSortOrderWithValidation(menuOrderDTO.getMeta(), menuOrderDTO.getId());
+        // 第三步：以调整后的父子关系整体校验，防止出现环
+        checkNoCycles(targetPids, loadedMenus);
 
-            // 更新父级ID
-            menu.setPid(pid);
+        // 第四步：只收集真正发生变化的菜单，合并 meta 时保留原有字段
+        MenuSnapshot snapshot = menuSnapshotCache.get();
+        List<SysMenu> changedMenus = new ArrayList<>();
+        for (MenuOrderDTO menuOrderDTO : menus) {
+            String id = menuOrderDTO.getId();
+            SysMenu menu = loadedMenus.get(id);
+            String pid = targetPids.get(id);
+            Integer sortOrder = targetSortOrders.get(id);
 
-            // 更新 meta 字段（保留原有的 meta 数据，只更新 order）
+            String mergedMeta;
+            boolean metaChanged;
             try {
                 Map<String, Object> existingMeta = new HashMap<>();
-                if (menu.getMeta() != null && !menu.getMeta().isEmpty()) {
+                MenuSnapshot.MenuEntry cached = snapshot.get(id);
+                if (cached != null && Objects.equals(cached.getRawMeta(), menu.getMeta())) {
+                    // 快照中的 meta 与数据库一致，直接复用已解析的结果
+                    existingMeta = cached.getMeta();
+                } else if (menu.getMeta() != null && !menu.getMeta().isEmpty()) {
                     existingMeta = objectMapper.readValue(menu.getMeta(), new TypeReference<Map<String, Object>>() {});
                 }
                 // 合并新的 meta 数据
-                existingMeta.putAll(menuOrderDTO.getMeta());
-                menu.setMeta(objectMapper.writeValueAsString(existingMeta));
+                Map<String, Object> merged = new HashMap<>(existingMeta);
+                merged.putAll(menuOrderDTO.getMeta());
+                metaChanged = !merged.equals(existingMeta);
+                mergedMeta = metaChanged ? objectMapper.writeValueAsString(merged) : menu.getMeta();
             } catch (Exception e) {
-                throw new BusinessException("菜单元数据格式错误，菜单ID: " + menuOrderDTO.getId() + "，错误: " + e.getMessage());
+                throw new BusinessException("菜单元数据格式错误，菜单ID: " + id + "，错误: " + e.getMessage());
             }
 
-            // 设置排序值
-            menu.setSortOrder(sortOrder);
+            if (!metaChanged && pid.equals(menu.getPid()) && Objects.equals(sortOrder, menu.getSortOrder())) {
+                continue;
+            }
+
+            SysMenu changed = new SysMenu();
+            changed.setId(id);
+            changed.setPid(pid);
+            changed.setSortOrder(sortOrder);
+            changed.setMeta(mergedMeta);
+            changedMenus.add(changed);
+        }
+
+        if (changedMenus.isEmpty()) {
+            return;
+        }
+
+        // 第五步：一条 UPDATE ... CASE 语句写回所有变化的菜单（更新人与 updateById 的自动填充一致）
+        menuMapper.batchUpdateOrder(changedMenus, SecurityUtils.getCurrentUserId());
+
+        Set<String> menuIds = changedMenus.stream().map(SysMenu::getId).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new MenuChangedEvent(menuIds));
+    }
+
+    /**
+     * 规范化父级ID（拦截 "null"、"undefined"、空格等无效字符串）
+     *
+     * @param pid 原始父级ID
+     * @return 规范化后的父级ID，无效时返回根节点ID
+     */
+    private String normalizePid(String pid) {
+        if (ValidationUtils.isInvalidString(pid)) {
+            return ROOT_MENU_ID;
+        }
+        String cleaned = ValidationUtils.cleanString(pid);
+        return cleaned == null ? ROOT_MENU_ID : cleaned;
+    }
+
+    /**
+     * 校验调整后的菜单树中不存在环
+     * 批次内的菜单使用新的父级ID，批次外的祖先菜单使用数据库中的父级ID；
+     * 缺失的祖先按层批量加载，每层只查询一次
+     *
+     * @param targetPids  批次内菜单ID -> 新父级ID
+     * @param loadedMenus 已加载的菜单（会补充加载到的祖先菜单）
+     */
+    private void checkNoCycles(Map<String, String> targetPids, Map<String, SysMenu> loadedMenus) {
+        Map<String, String> parentOf = new HashMap<>();
+        loadedMenus.values().forEach(menu -> parentOf.put(menu.getId(), menu.getPid()));
+        parentOf.putAll(targetPids);
+
+        // 补充加载批次外的祖先菜单，直到所有链路都到达根节点或已知节点
+        Set<String> missing = findMissingParents(parentOf);
+        while (!missing.isEmpty()) {
+            List<SysMenu> ancestors = menuMapper.selectBatchIds(missing);
+            for (SysMenu ancestor : ancestors) {
+                loadedMenus.put(ancestor.getId(), ancestor);
+                parentOf.put(ancestor.getId(), ancestor.getPid());
+            }
+            // 数据库中已不存在的祖先视为链路终点
+            for (String id : missing) {
+                parentOf.putIfAbsent(id, ROOT_MENU_ID);
+            }
+            missing = findMissingParents(parentOf);
+        }
 
-            menuMapper.updateById(menu);
+        // 沿父链向上查找，已确认能到达根节点的菜单不再重复遍历
+        Set<String> verified = new HashSet<>();
+        for (String id : targetPids.keySet()) {
+            Set<String> path = new HashSet<>();
+            String current = id;
+            while (current != null && !ROOT_MENU_ID.equals(current) && !verified.contains(current)) {
+                if (!path.add(current)) {
+                    throw new BusinessException("菜单层级存在循环引用，菜单ID: " + id);
+                }
+                current = parentOf.get(current);
+            }
+            verified.addAll(path);
         }
     }
 
+    /**
+     * 查找父级ID尚未加载的菜单
+     *
+     * @param parentOf 菜单ID -> 父级ID
+     * @return 未加载的父级ID集合
+     */
+    private Set<String> findMissingParents(Map<String, String> parentOf) {
+        return parentOf.values().stream()
+                .filter(pid -> pid != null && !ROOT_MENU_ID.equals(pid) && !parentOf.containsKey(pid))
+                .collect(Collectors.toSet());
+    }
+
     /**
      * 构建菜单树
      */
-    private List<MenuVO> buildMenuTree(List<SysMenu> menus) {
+    private List<MenuVO> buildMenuTree(List<MenuSnapshot.MenuEntry> menus) {
         if (menus == null || menus.isEmpty()) {
             return List.of();
         }
@@ -296,21 +479,21 @@ public class MenuServiceImpl implements MenuService {
     }
 
     /**
-     * 转换为VO
+     * 转换为VO（meta 来自快照中已解析的结果，不再解析 JSON）
      */
-    private MenuVO convertToVO(SysMenu menu) {
+    private MenuVO convertToVO(MenuSnapshot.MenuEntry menu) {
         MenuVO vo = new MenuVO();
-        BeanUtils.copyProperties(menu, vo);
-
-        // 解析meta JSON
-        Map<String, Object> meta = new HashMap<>();
-        if (StringUtils.hasText(menu.getMeta())) {
-            try {
-                meta = objectMapper.readValue(menu.getMeta(), new TypeReference<Map<String, Object>>() {});
-            } catch (Exception e) {
-                // 忽略解析错误
-            }
-        }
+        vo.setId(menu.getId());
+        vo.setName(menu.getName());
+        vo.setPath(menu.getPath());
+        vo.setPid(menu.getPid());
+        vo.setType(menu.getType());
+        vo.setComponent(menu.getComponent());
+        vo.setRedirect(menu.getRedirect());
+        vo.setAuthCode(menu.getAuthCode());
+
+        // 复制 meta，避免修改快照中的共享数据
+        Map<String, Object> meta = new LinkedHashMap<>(menu.getMeta());
 
         // 将排序值放到 meta.order 中（从数据库 sort_order 字段读取）
         if (menu.getSortOrder() != null) {
@@ -376,26 +559,25 @@ public class MenuServiceImpl implements MenuService {
             return null;
         }
 
-        // 根据路径查询菜单
-        SysMenu menu = menuMapper.selectByPath(path);
+        // 根据路径从菜单快照中查找启用的菜单
+        MenuSnapshot snapshot = menuSnapshotCache.get();
+        MenuSnapshot.MenuEntry menu = snapshot.getActiveByPath(path);
         if (menu == null) {
             return null;
         }
 
         // 获取菜单名称（优先使用 meta.title，否则使用 name）
-        String menuName = getMenuDisplayName(menu);
-
-        // 递归获取父菜单名称链
         List<String> nameChain = new ArrayList<>();
-        nameChain.add(menuName);
+        nameChain.add(menu.getDisplayName());
 
+        // 逐级获取父菜单名称链
         String pid = menu.getPid();
         while (pid != null && !TreeHelper.ROOT_ID.equals(pid)) {
-            SysMenu parentMenu = menuMapper.selectById(pid);
-            if (parentMenu == null || parentMenu.getDeleted() == 1 || parentMenu.getStatus() == 0) {
+            MenuSnapshot.MenuEntry parentMenu = snapshot.get(pid);
+            if (parentMenu == null || !parentMenu.isActive() || nameChain.size() > snapshot.getMenusById().size()) {
                 break;
             }
-            nameChain.add(0, getMenuDisplayName(parentMenu));
+            nameChain.add(0, parentMenu.getDisplayName());
             pid = parentMenu.getPid();
         }
 
@@ -403,30 +585,6 @@ public class MenuServiceImpl implements MenuService {
         return String.join(" - ", nameChain);
     }
 
-    /**
-     * 获取菜单显示名称（优先使用 meta.title，否则使用 name）
-     */
-    private String getMenuDisplayName(SysMenu menu) {
-        if (menu == null) {
-            return "";
-        }
-
-        // 尝试从 meta.title 获取
-        if (StringUtils.hasText(menu.getMeta())) {
-            try {
-                Map<String, Object> meta = objectMapper.readValue(menu.getMeta(), new TypeReference<Map<String, Object>>() {});
-                if (meta != null && meta.get("title") != null) {
-                    return meta.get("title").toString();
-                }
-            } catch (Exception e) {
-                // 忽略解析错误
-            }
-        }
-
-        // 降级使用 name 字段
-        return menu.getName() != null ? menu.getName() : "";
-    }
-
     /**
      * 校验菜单基本信息（名称、类型）
      *
@@ -0,0 +1,40 @@
+package com.vben.admin.service.impl;
+
+import com.vben.admin.core.cache.TokenVerificationCache;
+import com.vben.admin.core.security.OnlineUserRegistry;
+import com.vben.admin.model.vo.CacheStatsVO;
+import com.vben.admin.model.vo.OnlineStatsVO;
+import com.vben.admin.model.vo.OnlineUserVO;
+import com.vben.admin.service.MonitorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 系统监控服务实现
+ *
+ * @author vben
+ */
+@Service
+@RequiredArgsConstructor
+public class MonitorServiceImpl implements MonitorService {
+
+    private final TokenVerificationCache tokenVerificationCache;
+    private final OnlineUserRegistry onlineUserRegistry;
+
+    @Override
+    public CacheStatsVO getTokenCacheStats() {
+        return tokenVerificationCache.getStats();
+    }
+
+    @Override
+    public List<OnlineUserVO> getOnlineUsers() {
+        return onlineUserRegistry.listOnlineUsers();
+    }
+
+    @Override
+    public OnlineStatsVO getOnlineStats() {
+        return onlineUserRegistry.getStats();
+    }
+}
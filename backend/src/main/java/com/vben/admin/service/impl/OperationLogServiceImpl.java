@@ -8,6 +8,7 @@ import com.vben.admin.core.exception.BusinessException;
 import com.vben.admin.core.model.PageResult;
 import com.vben.admin.core.utils.QueryHelper;
 import com.vben.admin.core.utils.SearchQueryConfig;
+import com.vben.admin.core.utils.TreeHelper;
 import com.vben.admin.core.utils.ValidationUtils;
 import com.vben.admin.mapper.OperationLogMapper;
 import com.vben.admin.model.dto.OperationLogQueryDTO;
@@ -206,11 +207,17 @@ public class OperationLogServiceImpl implements OperationLogService {
         List<MenuVO> menuTree = menuService.getMenuList(null);
 
         // 转换为 TreeOptionVO 树形结构
-        List<TreeOptionVO> optionTree = convertMenuTreeToOptionTree(menuTree, search);
+        List<TreeOptionVO> optionTree = convertMenuTreeToOptionTree(menuTree);
+
+        // 按搜索关键词过滤（单次后序遍历，保留匹配选项的所有父级选项）
+        if (StringUtils.hasText(search)) {
+            optionTree = TreeHelper.filterTree(optionTree, TreeOptionVO::getChildren, TreeOptionVO::setChildren,
+                    option -> matchesSearch(option, search), null);
+        }
 
         // 添加固定的"个人中心"选项（不在菜单树中）
         TreeOptionVO profileOption = createProfileOption();
-        if (shouldIncludeOption(profileOption, search)) {
+        if (matchesSearch(profileOption, search)) {
             optionTree.add(profileOption);
         }
 
@@ -221,10 +228,9 @@ public class OperationLogServiceImpl implements OperationLogService {
      * 将菜单树转换为选项树
      *
      * @param menuTree 菜单树
-     * @param search   搜索关键词（可选）
      * @return 选项树
      */
-    private List<TreeOptionVO> convertMenuTreeToOptionTree(List<MenuVO> menuTree, String search) {
+    private List<TreeOptionVO> convertMenuTreeToOptionTree(List<MenuVO> menuTree) {
         if (menuTree == null || menuTree.isEmpty()) {
             return new ArrayList<>();
         }
@@ -243,7 +249,7 @@ public class OperationLogServiceImpl implements OperationLogService {
             // 递归处理子菜单
             List<TreeOptionVO> children = new ArrayList<>();
             if (menu.getChildren() != null && !menu.getChildren().isEmpty()) {
-                children = convertMenuTreeToOptionTree(menu.getChildren(), search);
+                children = convertMenuTreeToOptionTree(menu.getChildren());
             }
 
             // 如果当前菜单有 value（有 path），则创建选项
@@ -259,10 +265,7 @@ public class OperationLogServiceImpl implements OperationLogService {
                     option.setChildren(children);
                 }
 
-                // 判断是否应该包含此选项
-                if (shouldIncludeOption(option, search, children)) {
-                    result.add(option);
-                }
+                result.add(option);
             } else {
                 // 如果当前菜单没有 value（可能是 catalog 类型），但有子菜单，则直接添加子菜单
                 if (!children.isEmpty()) {
@@ -274,60 +277,6 @@ public class OperationLogServiceImpl implements OperationLogService {
         return result;
     }
 
-    /**
-     * 判断是否应该包含选项
-     *
-     * @param option  选项
-     * @param search  搜索关键词
-     * @param children 子选项列表（可选）
-     * @return 是否应该包含
-     */
-    private boolean shouldIncludeOption(TreeOptionVO option, String search, List<TreeOptionVO> children) {
-        // 如果没有搜索条件，包含所有选项
-        if (!StringUtils.hasText(search)) {
-            return true;
-        }
-        // 如果当前选项匹配搜索条件，包含
-        if (matchesSearch(option, search)) {
-            return true;
-        }
-        // 如果有子选项匹配搜索条件，包含（即使当前选项不匹配）
-        if (children != null && !children.isEmpty() && hasMatchingChildren(children, search)) {
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * 判断是否应该包含选项（无子选项版本）
-     *
-     * @param option 选项
-     * @param search 搜索关键词
-     * @return 是否应该包含
-     */
-    private boolean shouldIncludeOption(TreeOptionVO option, String search) {
-        return shouldIncludeOption(option, search, null);
-    }
-
-    /**
-     * 检查子选项中是否有匹配搜索条件的
-     *
-     * @param children 子选项列表
-     * @param search   搜索关键词
-     * @return 是否有匹配的子选项
-     */
-    private boolean hasMatchingChildren(List<TreeOptionVO> children, String search) {
-        if (children == null || children.isEmpty() || !StringUtils.hasText(search)) {
-            return false;
-        }
-        for (TreeOptionVO child : children) {
-            if (matchesSearch(child, search) || hasMatchingChildren(child.getChildren(), search)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * 检查选项是否匹配搜索条件
      *
@@ -2,11 +2,17 @@ package com.vben.admin.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.vben.admin.core.cache.MenuSnapshot;
+import com.vben.admin.core.cache.MenuSnapshotCache;
 import com.vben.admin.core.constants.SystemConstants;
+import com.vben.admin.core.event.RolePermissionChangedEvent;
 import com.vben.admin.core.exception.BusinessException;
 import com.vben.admin.core.model.PageResult;
+import com.vben.admin.core.model.RelationDelta;
 import com.vben.admin.core.utils.QueryHelper;
+import com.vben.admin.core.utils.RelationSyncHelper;
 import com.vben.admin.core.utils.SearchQueryConfig;
 import com.vben.admin.core.utils.ValidationUtils;
 import com.vben.admin.mapper.RoleMapper;
@@ -16,16 +22,24 @@ import com.vben.admin.model.dto.RoleDTO;
 import com.vben.admin.model.dto.RoleOptionQueryDTO;
 import com.vben.admin.model.entity.SysRole;
 import com.vben.admin.model.entity.SysRoleMenu;
+import com.vben.admin.model.vo.RoleOptionVO;
 import com.vben.admin.model.vo.RoleVO;
 import com.vben.admin.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -41,6 +55,8 @@ public class RoleServiceImpl implements RoleService {
     private final RoleMapper roleMapper;
     private final RoleMenuMapper roleMenuMapper;
     private final UserRoleMapper userRoleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MenuSnapshotCache menuSnapshotCache;
 
     @Override
     public PageResult<RoleVO> getRoleList(Integer page, Integer pageSize, String search, String name, String id, String remark, Integer status, String startTime, String endTime) {
@@ -57,9 +73,7 @@ public class RoleServiceImpl implements RoleService {
         IPage<SysRole> pageResult = roleMapper.selectPage(pageParam, queryWrapper);
 
         // 转换为VO
-        List<RoleVO> voList = pageResult.getRecords().stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
+        List<RoleVO> voList = convertToVOList(pageResult.getRecords());
 
         return PageResult.of(voList, pageResult.getTotal());
     }
@@ -77,7 +91,8 @@ public class RoleServiceImpl implements RoleService {
 
         // 保存角色菜单关联
         if (roleDTO.getPermissions() != null && !roleDTO.getPermissions().isEmpty()) {
-            saveRoleMenus(role.getId(), roleDTO.getPermissions());
+            saveRoleMenus(role.getId(), resolveMenuGrants(roleDTO.getPermissions(), List.of()));
+            eventPublisher.publishEvent(new RolePermissionChangedEvent(role.getId()));
         }
 
         return role.getId();
@@ -115,6 +130,7 @@ public class RoleServiceImpl implements RoleService {
 
         // 删除角色（逻辑删除）
         roleMapper.deleteById(id);
+        eventPublisher.publishEvent(new RolePermissionChangedEvent(id));
     }
 
     /**
@@ -176,52 +192,107 @@ public class RoleServiceImpl implements RoleService {
     }
 
     /**
-     * 更新角色权限关联
+     * 更新角色权限关联（只写入差异，权限没有变化时不发布事件）
      *
      * @param roleId       角色ID
      * @param permissions  权限列表（菜单ID列表）
+     * @return 新增和删除的菜单ID
      */
-    private void updateRolePermissions(String roleId, List<String> permissions) {
+    private RelationDelta updateRolePermissions(String roleId, List<String> permissions) {
         // 如果传了 permissions，则更新；如果传了空数组，则清空；如果不传，则保持原样
-        if (permissions != null) {
-            // 删除原有关联
-            roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>().eq(SysRoleMenu::getRoleId, roleId));
+        if (permissions == null) {
+            return RelationDelta.empty();
+        }
+        List<String> current = roleMenuMapper.selectMenuIdsByRoleId(roleId);
+        RelationDelta delta = RelationSyncHelper.sync(current, resolveMenuGrants(permissions, current),
+                added -> saveRoleMenus(roleId, added),
+                removed -> roleMenuMapper.delete(new LambdaQueryWrapper<SysRoleMenu>()
+                        .eq(SysRoleMenu::getRoleId, roleId)
+                        .in(SysRoleMenu::getMenuId, removed)));
+        if (delta.isChanged()) {
+            eventPublisher.publishEvent(new RolePermissionChangedEvent(roleId));
+        }
+        return delta;
+    }
+
+    /**
+     * 按菜单快照规范化角色的菜单授权：补齐所有祖先菜单，保证存储的授权集合在树上是闭合的
+     * （前端勾选子菜单时父菜单为半选状态，不会提交）。
+     * 快照中不存在的菜单：如果角色原本就有（菜单已被删除），直接丢弃；否则重新加载一次快照
+     * （菜单可能刚在其他节点创建，本节点尚未刷新），仍不存在时视为无效的菜单ID。
+     *
+     * @param requested 提交的菜单ID列表
+     * @param current   角色当前的菜单ID列表
+     * @return 规范化后的菜单ID列表
+     * @throws BusinessException 如果包含不存在的菜单ID
+     */
+    private List<String> resolveMenuGrants(List<String> requested, Collection<String> current) {
+        MenuSnapshot snapshot = menuSnapshotCache.get();
+        if (!findUnknownMenuIds(snapshot, requested, current).isEmpty()) {
+            menuSnapshotCache.invalidate();
+            snapshot = menuSnapshotCache.get();
+        }
+        List<String> unknown = findUnknownMenuIds(snapshot, requested, current);
+        if (!unknown.isEmpty()) {
+            throw new BusinessException("菜单不存在: " + String.join(", ", unknown));
+        }
 
-            // 保存新的关联（如果权限列表不为空）
-            if (!permissions.isEmpty()) {
-                saveRoleMenus(roleId, permissions);
+        Set<String> known = new LinkedHashSet<>();
+        for (String menuId : requested) {
+            if (menuId != null && snapshot.get(menuId) != null) {
+                known.add(menuId);
             }
         }
+        return new ArrayList<>(snapshot.withAncestors(known));
     }
 
     /**
-     * 检查角色是否有关联用户
+     * 查找快照中不存在、角色原本也没有的菜单ID
+     *
+     * @param snapshot  菜单快照
+     * @param requested 提交的菜单ID列表
+     * @param current   角色当前的菜单ID列表
+     * @return 无效的菜单ID列表
+     */
+    private List<String> findUnknownMenuIds(MenuSnapshot snapshot, List<String> requested, Collection<String> current) {
+        List<String> unknown = new ArrayList<>();
+        for (String menuId : requested) {
+            if (menuId != null && snapshot.get(menuId) == null && !current.contains(menuId)) {
+                unknown.add(menuId);
+            }
+        }
+        return unknown;
+    }
+
+    /**
+     * 检查角色是否有关联用户（与列表中的用户数一致，只统计未删除的用户）
      *
      * @param roleId 角色ID
      * @throws BusinessException 如果角色已关联用户
      */
     private void checkRoleHasUsers(String roleId) {
-        long userCount = userRoleMapper.selectCount(
-                new LambdaQueryWrapper<com.vben.admin.model.entity.SysUserRole>()
-                        .eq(com.vben.admin.model.entity.SysUserRole::getRoleId, roleId)
-        );
-        if (userCount > 0) {
+        if (selectUserCounts(List.of(roleId)).getOrDefault(roleId, 0L) > 0) {
             throw new BusinessException("角色已关联用户，无法删除");
         }
     }
 
     /**
-     * 保存角色菜单关联
+     * 保存角色菜单关联（单条多行 INSERT）
      *
      * @param roleId  角色ID
      * @param menuIds 菜单ID列表
      */
-    private void saveRoleMenus(String roleId, List<String> menuIds) {
-        for (String menuId : menuIds) {
+    private void saveRoleMenus(String roleId, Collection<String> menuIds) {
+        List<SysRoleMenu> roleMenus = new ArrayList<>(menuIds.size());
+        for (String menuId : new LinkedHashSet<>(menuIds)) {
             SysRoleMenu roleMenu = new SysRoleMenu();
+            roleMenu.setId(IdWorker.getIdStr());
             roleMenu.setRoleId(roleId);
             roleMenu.setMenuId(menuId);
-            roleMenuMapper.insert(roleMenu);
+            roleMenus.add(roleMenu);
+        }
+        if (!roleMenus.isEmpty()) {
+            roleMenuMapper.insertBatch(roleMenus);
         }
     }
 
@@ -243,9 +314,7 @@ public class RoleServiceImpl implements RoleService {
             IPage<SysRole> pageResult = roleMapper.selectPage(pageParam, queryWrapper);
 
             // 转换为VO
-            List<RoleVO> voList = pageResult.getRecords().stream()
-                    .map(this::convertToVO)
-                    .collect(Collectors.toList());
+            List<RoleVO> voList = convertToVOList(pageResult.getRecords());
 
             return PageResult.of(voList, pageResult.getTotal());
         } else {
@@ -257,15 +326,54 @@ public class RoleServiceImpl implements RoleService {
             List<SysRole> roles = roleMapper.selectList(queryWrapper);
 
             // 转换为VO
-            List<RoleVO> options = roles.stream()
-                    .map(this::convertToVO)
-                    .collect(Collectors.toList());
+            List<RoleVO> options = convertToVOList(roles);
 
             // total 表示实际返回的数量（由于使用了 LIMIT，total = options.size()）
             return new PageResult<>(options, (long) options.size());
         }
     }
 
+    @Override
+    public PageResult<RoleOptionVO> getRoleSimpleOptions(RoleOptionQueryDTO queryDTO) {
+        LambdaQueryWrapper<SysRole> queryWrapper = buildBaseQueryWrapper(
+                queryDTO.getSearch(), queryDTO.getName(), queryDTO.getId(),
+                queryDTO.getRemark(), queryDTO.getStatus(), queryDTO.getStartTime(), queryDTO.getEndTime()
+        );
+        // 只查询选项需要的列，不加载角色菜单
+        queryWrapper.select(SysRole::getId, SysRole::getName, SysRole::getStatus);
+        queryWrapper.orderByAsc(SysRole::getName);
+
+        if (queryDTO.getPage() != null && queryDTO.getPageSize() != null) {
+            Page<SysRole> pageParam = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
+            IPage<SysRole> pageResult = roleMapper.selectPage(pageParam, queryWrapper);
+
+            List<RoleOptionVO> options = new ArrayList<>(pageResult.getRecords().size());
+            for (SysRole role : pageResult.getRecords()) {
+                options.add(convertToOptionVO(role));
+            }
+            return PageResult.of(options, pageResult.getTotal());
+        } else {
+            int maxLimit = QueryHelper.getValidLimit(queryDTO.getLimit());
+            queryWrapper.last("LIMIT " + maxLimit);
+
+            // 逐行转换，不保留实体列表
+            List<RoleOptionVO> options = new ArrayList<>(Math.min(maxLimit, 1024));
+            roleMapper.selectList(queryWrapper, context -> options.add(convertToOptionVO(context.getResultObject())));
+            return new PageResult<>(options, (long) options.size());
+        }
+    }
+
+    /**
+     * 转换为选项VO
+     */
+    private RoleOptionVO convertToOptionVO(SysRole role) {
+        RoleOptionVO vo = new RoleOptionVO();
+        vo.setId(role.getId());
+        vo.setName(role.getName());
+        vo.setStatus(role.getStatus());
+        return vo;
+    }
+
     /**
      * 构建基础查询条件（公共逻辑）
      * 用于 List 和 Options 接口
@@ -309,22 +417,47 @@ public class RoleServiceImpl implements RoleService {
     }
 
     /**
-     * 转换为VO
+     * 批量转换为VO（整页的菜单ID和用户数各用一次查询）
      */
-    private RoleVO convertToVO(SysRole role) {
-        RoleVO vo = new RoleVO();
-        BeanUtils.copyProperties(role, vo);
+    private List<RoleVO> convertToVOList(List<SysRole> roles) {
+        if (roles.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> roleIds = roles.stream().map(SysRole::getId).collect(Collectors.toList());
 
         // 查询角色关联的菜单ID列表（作为权限）
-        List<String> menuIds = roleMenuMapper.selectList(
-                new LambdaQueryWrapper<SysRoleMenu>()
-                        .eq(SysRoleMenu::getRoleId, role.getId())
-        ).stream().map(SysRoleMenu::getMenuId).collect(Collectors.toList());
-        vo.setPermissions(menuIds);
-
-        // 确保 createTime 被正确复制
-        vo.setCreateTime(role.getCreateTime());
+        Map<String, List<String>> menuIdsByRole = new HashMap<>();
+        for (SysRoleMenu roleMenu : roleMenuMapper.selectList(new LambdaQueryWrapper<SysRoleMenu>()
+                .select(SysRoleMenu::getRoleId, SysRoleMenu::getMenuId)
+                .in(SysRoleMenu::getRoleId, roleIds))) {
+            menuIdsByRole.computeIfAbsent(roleMenu.getRoleId(), key -> new ArrayList<>()).add(roleMenu.getMenuId());
+        }
+        Map<String, Long> userCounts = selectUserCounts(roleIds);
+
+        List<RoleVO> voList = new ArrayList<>(roles.size());
+        for (SysRole role : roles) {
+            RoleVO vo = new RoleVO();
+            BeanUtils.copyProperties(role, vo);
+            vo.setPermissions(menuIdsByRole.getOrDefault(role.getId(), new ArrayList<>()));
+            vo.setUserCount(userCounts.getOrDefault(role.getId(), 0L));
+            // 确保 createTime 被正确复制
+            vo.setCreateTime(role.getCreateTime());
+            voList.add(vo);
+        }
+        return voList;
+    }
 
-        return vo;
+    /**
+     * 按角色统计用户数（一次 GROUP BY 查询）
+     *
+     * @param roleIds 角色ID列表
+     * @return 角色ID -> 用户数（没有用户的角色不包含在内）
+     */
+    private Map<String, Long> selectUserCounts(List<String> roleIds) {
+        Map<String, Long> userCounts = new HashMap<>();
+        for (Map<String, Object> row : userRoleMapper.selectUserCountsByRoleIds(roleIds)) {
+            userCounts.put(String.valueOf(row.get("roleId")), ((Number) row.get("userCount")).longValue());
+        }
+        return userCounts;
     }
 }
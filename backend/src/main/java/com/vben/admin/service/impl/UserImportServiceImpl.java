@@ -0,0 +1,642 @@
+package com.vben.admin.service.impl;
+
+import cn.hutool.core.io.BOMInputStream;
+import cn.hutool.core.text.csv.CsvReader;
+import cn.hutool.core.text.csv.CsvUtil;
+import cn.hutool.poi.excel.ExcelUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.vben.admin.core.constants.SystemConstants;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.exception.BusinessException;
+import com.vben.admin.core.utils.SecurityUtils;
+import com.vben.admin.core.validation.UserUniquenessChecker;
+import com.vben.admin.mapper.DeptMapper;
+import com.vben.admin.mapper.RoleMapper;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.mapper.UserRoleMapper;
+import com.vben.admin.model.entity.SysDept;
+import com.vben.admin.model.entity.SysRole;
+import com.vben.admin.model.entity.SysUser;
+import com.vben.admin.model.entity.SysUserRole;
+import com.vben.admin.model.vo.UserImportResultVO;
+import com.vben.admin.service.UserImportService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * 用户导入服务实现
+ * 文件逐行流式解析（CSV 逐行读取，XLSX 使用 SAX 方式读取），每 {@value #CHUNK_SIZE} 行为一块：
+ *
+ * <ul>
+ *     <li>整块的部门、角色和唯一性（用户名、手机号、工号）各用一次集合查询校验，文件内的重复在内存中检查
+ *     （只与通过全部校验的行比较，校验或写入失败的行不占用唯一值）</li>
+ *     <li>密码在固定大小的线程池中并行加密，未填写密码的行共用一次默认密码加密结果</li>
+ *     <li>用户和用户角色各用一条多行 INSERT 写入，每块单独提交事务</li>
+ * </ul>
+ *
+ * @author vben
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    /**
+     * 每块的行数
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * 返回的错误明细上限
+     */
+    private static final int MAX_ERRORS = 1000;
+
+    private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-z][a-z0-9_]{3,19}$");
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^1[3-9]\\d{9}$");
+    private static final Pattern ROLE_ID_SEPARATOR = Pattern.compile("[,;，；|\\s]+");
+
+    private static final String FIELD_USERNAME = "username";
+    private static final String FIELD_PASSWORD = "password";
+    private static final String FIELD_REAL_NAME = "realName";
+    private static final String FIELD_NICKNAME = "nickname";
+    private static final String FIELD_PHONE = "phone";
+    private static final String FIELD_GENDER = "gender";
+    private static final String FIELD_EMPLOYEE_NO = "employeeNo";
+    private static final String FIELD_DEPT_ID = "deptId";
+    private static final String FIELD_ROLE_IDS = "roleIds";
+    private static final String FIELD_STATUS = "status";
+
+    /**
+     * 表头（中文或字段名，不区分大小写） -> 字段
+     */
+    private static final Map<String, String> HEADER_ALIASES = Map.ofEntries(
+            Map.entry("用户名", FIELD_USERNAME), Map.entry("username", FIELD_USERNAME),
+            Map.entry("密码", FIELD_PASSWORD), Map.entry("password", FIELD_PASSWORD),
+            Map.entry("真实姓名", FIELD_REAL_NAME), Map.entry("realname", FIELD_REAL_NAME),
+            Map.entry("昵称", FIELD_NICKNAME), Map.entry("nickname", FIELD_NICKNAME),
+            Map.entry("手机号", FIELD_PHONE), Map.entry("phone", FIELD_PHONE),
+            Map.entry("性别", FIELD_GENDER), Map.entry("gender", FIELD_GENDER),
+            Map.entry("工号", FIELD_EMPLOYEE_NO), Map.entry("employeeno", FIELD_EMPLOYEE_NO),
+            Map.entry("部门id", FIELD_DEPT_ID), Map.entry("deptid", FIELD_DEPT_ID),
+            Map.entry("角色id", FIELD_ROLE_IDS), Map.entry("roleids", FIELD_ROLE_IDS),
+            Map.entry("状态", FIELD_STATUS), Map.entry("status", FIELD_STATUS)
+    );
+
+    /**
+     * 必须包含的列
+     */
+    private static final List<String> REQUIRED_FIELDS = List.of(
+            FIELD_USERNAME, FIELD_REAL_NAME, FIELD_PHONE, FIELD_EMPLOYEE_NO, FIELD_DEPT_ID, FIELD_ROLE_IDS);
+
+    private final UserMapper userMapper;
+    private final UserUniquenessChecker userUniquenessChecker;
+    private final UserRoleMapper userRoleMapper;
+    private final RoleMapper roleMapper;
+    private final DeptMapper deptMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 密码加密并发数，未配置时使用一半的 CPU 核数
+     */
+    @Value("${user.import.hash-concurrency:0}")
+    private int hashConcurrency;
+
+    private ThreadPoolTaskExecutor hashExecutor;
+
+    private int hashThreads;
+
+    @PostConstruct
+    public void init() {
+        hashThreads = hashConcurrency > 0 ? hashConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        hashExecutor = new ThreadPoolTaskExecutor();
+        hashExecutor.setCorePoolSize(hashThreads);
+        hashExecutor.setMaxPoolSize(hashThreads);
+        hashExecutor.setThreadNamePrefix("user-import-hash-");
+        hashExecutor.setDaemon(true);
+        hashExecutor.initialize();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        hashExecutor.shutdown();
+    }
+
+    @Override
+    public UserImportResultVO importUsers(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("导入文件不能为空");
+        }
+        String filename = file.getOriginalFilename() != null
+                ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+        boolean csv = filename.endsWith(".csv");
+        if (!csv && !filename.endsWith(".xlsx")) {
+            throw new BusinessException("仅支持 CSV 或 XLSX 文件");
+        }
+
+        long start = System.currentTimeMillis();
+        ImportContext context = new ImportContext(SecurityUtils.getCurrentUserId());
+        try (InputStream in = file.getInputStream()) {
+            if (csv) {
+                // UTF-8 编码，兼容 Excel 导出时带的 BOM
+                CsvReader reader = CsvUtil.getReader();
+                reader.read(new InputStreamReader(new BOMInputStream(in), StandardCharsets.UTF_8),
+                        row -> context.accept(row.getOriginalLineNumber() + 1, row));
+            } else {
+                ExcelUtil.readBySax(in, 0, (sheetIndex, rowIndex, rowCells) -> context.accept(rowIndex + 1, rowCells));
+            }
+        } catch (IOException e) {
+            throw new BusinessException("读取导入文件失败");
+        }
+        if (context.headerError != null) {
+            throw new BusinessException(context.headerError);
+        }
+        if (context.columns == null) {
+            throw new BusinessException("导入文件没有表头");
+        }
+        context.processChunk();
+
+        UserImportResultVO result = context.result;
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("用户导入完成，文件: {}，共 {} 行，成功 {} 行，失败 {} 行，耗时 {} ms", file.getOriginalFilename(),
+                result.getTotalRows(), result.getSuccessCount(), result.getFailureCount(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * 并行加密密码（按线程数分片，每片一个任务）
+     *
+     * @param passwords 明文密码列表
+     * @return 加密后的密码列表（与输入顺序一致）
+     */
+    private List<String> encodePasswords(List<String> passwords) {
+        int sliceSize = Math.max(1, (passwords.size() + hashThreads - 1) / hashThreads);
+        List<CompletableFuture<List<String>>> futures = new ArrayList<>();
+        for (int from = 0; from < passwords.size(); from += sliceSize) {
+            List<String> slice = passwords.subList(from, Math.min(from + sliceSize, passwords.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<String> encoded = new ArrayList<>(slice.size());
+                for (String password : slice) {
+                    encoded.add(passwordEncoder.encode(password));
+                }
+                return encoded;
+            }, hashExecutor));
+        }
+        List<String> result = new ArrayList<>(passwords.size());
+        for (CompletableFuture<List<String>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    /**
+     * 单元格转为字符串（整数形式的数字去掉小数部分，如 Excel 中的手机号）
+     */
+    private static String cellToString(Object cell) {
+        if (cell == null) {
+            return null;
+        }
+        if (cell instanceof Double || cell instanceof Float) {
+            double value = ((Number) cell).doubleValue();
+            if (value == Math.rint(value) && !Double.isInfinite(value)) {
+                return String.valueOf((long) value);
+            }
+        }
+        String value = cell.toString().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 解析性别（0/1/2 或 未知/男/女，为空时为 0）
+     */
+    private static Integer parseGender(String value) {
+        if (value == null) {
+            return 0;
+        }
+        return switch (value) {
+            case "0", "未知" -> 0;
+            case "1", "男" -> 1;
+            case "2", "女" -> 2;
+            default -> null;
+        };
+    }
+
+    /**
+     * 解析状态（0/1 或 禁用/启用，为空时为 1）
+     */
+    private static Integer parseStatus(String value) {
+        if (value == null) {
+            return 1;
+        }
+        return switch (value) {
+            case "0", "禁用" -> 0;
+            case "1", "启用" -> 1;
+            default -> null;
+        };
+    }
+
+    /**
+     * 导入行
+     */
+    private static final class ImportRow {
+
+        private final long rowNumber;
+        private String username;
+        private String password;
+        private String realName;
+        private String nickname;
+        private String phone;
+        private Integer gender;
+        private String employeeNo;
+        private String deptId;
+        private Integer status;
+        private List<String> roleIds;
+
+        private ImportRow(long rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+
+    /**
+     * 一次导入的状态（解析回调在读取线程中依次调用，不需要同步）
+     */
+    private final class ImportContext {
+
+        private final String operatorId;
+        private final UserImportResultVO result = new UserImportResultVO();
+
+        /**
+         * 字段 -> 列序号（解析表头后设置）
+         */
+        private Map<String, Integer> columns;
+
+        private String headerError;
+
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        /**
+         * 已通过全部校验的行占用的用户名、手机号、工号（检查文件内重复，写入失败时释放）
+         */
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final Set<String> seenPhones = new HashSet<>();
+        private final Set<String> seenEmployeeNos = new HashSet<>();
+
+        /**
+         * 已查询过的部门、角色是否存在
+         */
+        private final Map<String, Boolean> knownDepts = new HashMap<>();
+        private final Map<String, Boolean> knownRoles = new HashMap<>();
+
+        /**
+         * 默认密码的加密结果（首次使用时加密）
+         */
+        private String defaultPasswordHash;
+
+        private ImportContext(String operatorId) {
+            this.operatorId = operatorId;
+        }
+
+        /**
+         * 处理一行（第一行为表头）
+         *
+         * @param rowNumber 行号（从1开始）
+         * @param cells     单元格
+         */
+        private void accept(long rowNumber, List<?> cells) {
+            if (headerError != null) {
+                return;
+            }
+            if (columns == null) {
+                parseHeader(cells);
+                return;
+            }
+            if (cells.stream().allMatch(cell -> cellToString(cell) == null)) {
+                return;
+            }
+
+            result.setTotalRows(result.getTotalRows() + 1);
+            ImportRow row = parseRow(rowNumber, cells);
+            if (row == null) {
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= CHUNK_SIZE) {
+                processChunk();
+            }
+        }
+
+        private void parseHeader(List<?> cells) {
+            Map<String, Integer> parsed = new HashMap<>();
+            for (int i = 0; i < cells.size(); i++) {
+                String header = cellToString(cells.get(i));
+                String field = header != null ? HEADER_ALIASES.get(header.toLowerCase(Locale.ROOT)) : null;
+                if (field != null) {
+                    parsed.putIfAbsent(field, i);
+                }
+            }
+            for (String field : REQUIRED_FIELDS) {
+                if (!parsed.containsKey(field)) {
+                    headerError = "导入文件缺少必需的列: " + field;
+                    return;
+                }
+            }
+            columns = parsed;
+        }
+
+        private String get(List<?> cells, String field) {
+            Integer index = columns.get(field);
+            return index != null && index < cells.size() ? cellToString(cells.get(index)) : null;
+        }
+
+        /**
+         * 解析并校验一行格式（文件内重复在整块校验时检查）
+         *
+         * @return 导入行，校验失败时返回 null
+         */
+        private ImportRow parseRow(long rowNumber, List<?> cells) {
+            ImportRow row = new ImportRow(rowNumber);
+            row.username = get(cells, FIELD_USERNAME);
+            row.password = get(cells, FIELD_PASSWORD);
+            row.realName = get(cells, FIELD_REAL_NAME);
+            row.nickname = get(cells, FIELD_NICKNAME);
+            row.phone = get(cells, FIELD_PHONE);
+            row.employeeNo = get(cells, FIELD_EMPLOYEE_NO);
+            row.deptId = get(cells, FIELD_DEPT_ID);
+            row.gender = parseGender(get(cells, FIELD_GENDER));
+            row.status = parseStatus(get(cells, FIELD_STATUS));
+            String roleIds = get(cells, FIELD_ROLE_IDS);
+            row.roleIds = roleIds != null
+                    ? new ArrayList<>(new LinkedHashSet<>(List.of(ROLE_ID_SEPARATOR.split(roleIds))))
+                    : List.of();
+
+            String error = validate(row);
+            if (error != null) {
+                addError(row, error);
+                return null;
+            }
+            // 昵称未填写时使用真实姓名
+            if (row.nickname == null) {
+                row.nickname = row.realName;
+            }
+            return row;
+        }
+
+        private String validate(ImportRow row) {
+            if (row.username == null || !USERNAME_PATTERN.matcher(row.username).matches()) {
+                return "用户名必须以小写字母开头，只能包含小写字母、数字和下划线，长度4-20";
+            }
+            if (row.password != null && (row.password.length() < 6 || row.password.length() > 50)) {
+                return "密码长度必须在6-50之间";
+            }
+            if (row.realName == null || row.realName.length() > 50) {
+                return "真实姓名不能为空且长度不能超过50";
+            }
+            if (row.nickname != null && row.nickname.length() > 50) {
+                return "昵称长度不能超过50";
+            }
+            if (row.phone == null || !PHONE_PATTERN.matcher(row.phone).matches()) {
+                return "手机号格式不正确";
+            }
+            if (row.employeeNo == null || row.employeeNo.length() > 50) {
+                return "工号不能为空且长度不能超过50";
+            }
+            if (row.deptId == null) {
+                return "部门不能为空";
+            }
+            if (row.roleIds.isEmpty()) {
+                return "至少需要分配一个角色";
+            }
+            if (row.gender == null) {
+                return "性别无效，必须为0/1/2或未知/男/女";
+            }
+            if (row.status == null) {
+                return "状态无效，必须为0/1或禁用/启用";
+            }
+            return null;
+        }
+
+        /**
+         * 检查文件内重复：按文件顺序与已占用的唯一值比较，未重复的行占用其唯一值
+         * 在部门、角色和数据库唯一性校验之后执行，这些校验失败的行不会让后面修正过的同一行被误判为重复
+         */
+        private List<ImportRow> filterDuplicates(List<ImportRow> rows) {
+            List<ImportRow> valid = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                String error = findDuplicate(row);
+                if (error != null) {
+                    addError(row, error);
+                    continue;
+                }
+                seenUsernames.add(row.username);
+                seenPhones.add(row.phone);
+                seenEmployeeNos.add(row.employeeNo);
+                valid.add(row);
+            }
+            return valid;
+        }
+
+        private String findDuplicate(ImportRow row) {
+            if (seenUsernames.contains(row.username)) {
+                return "用户名在文件中重复";
+            }
+            if (seenPhones.contains(row.phone)) {
+                return "手机号在文件中重复";
+            }
+            if (seenEmployeeNos.contains(row.employeeNo)) {
+                return "工号在文件中重复";
+            }
+            return null;
+        }
+
+        /**
+         * 校验并写入当前块
+         */
+        private void processChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<ImportRow> rows = filterByReferences(new ArrayList<>(chunk));
+            chunk.clear();
+            rows = filterDuplicates(filterByExistingUsers(rows));
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            // 并行加密密码（未填写密码的行共用默认密码的加密结果）
+            List<String> passwords = new ArrayList<>();
+            for (ImportRow row : rows) {
+                if (row.password != null) {
+                    passwords.add(row.password);
+                }
+            }
+            List<String> encoded = encodePasswords(passwords);
+            if (defaultPasswordHash == null && passwords.size() < rows.size()) {
+                defaultPasswordHash = passwordEncoder.encode(SystemConstants.DEFAULT_USER_PASSWORD);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            List<SysUser> users = new ArrayList<>(rows.size());
+            List<SysUserRole> userRoles = new ArrayList<>();
+            int passwordIndex = 0;
+            for (ImportRow row : rows) {
+                SysUser user = new SysUser();
+                user.setId(IdWorker.getIdStr());
+                user.setUsername(row.username);
+                user.setPassword(row.password != null ? encoded.get(passwordIndex++) : defaultPasswordHash);
+                user.setRealName(row.realName);
+                user.setNickname(row.nickname);
+                user.setPhone(row.phone);
+                user.setGender(row.gender);
+                user.setEmployeeNo(row.employeeNo);
+                user.setDeptId(row.deptId);
+                user.setStatus(row.status);
+                user.setCreateBy(operatorId);
+                user.setCreateTime(now);
+                user.setUpdateTime(now);
+                users.add(user);
+                for (String roleId : row.roleIds) {
+                    SysUserRole userRole = new SysUserRole();
+                    userRole.setId(IdWorker.getIdStr());
+                    userRole.setUserId(user.getId());
+                    userRole.setRoleId(roleId);
+                    userRoles.add(userRole);
+                }
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    userMapper.insertBatch(users);
+                    userRoleMapper.insertBatch(userRoles);
+                });
+                result.setSuccessCount(result.getSuccessCount() + users.size());
+                // 失效用户相关的缓存、重新加载搜索索引，并通知其他节点
+                eventPublisher.publishEvent(new UserChangedEvent(users.stream().map(SysUser::getId).toList(), false));
+            } catch (DataAccessException e) {
+                // 校验之后被其他请求占用了唯一值等情况，整块回滚
+                log.warn("用户导入写入失败（第 {} - {} 行）: {}", rows.get(0).rowNumber,
+                        rows.get(rows.size() - 1).rowNumber, e.getMessage());
+                for (ImportRow row : rows) {
+                    // 未写入的行释放占用的唯一值，文件后面相同的行仍可导入
+                    seenUsernames.remove(row.username);
+                    seenPhones.remove(row.phone);
+                    seenEmployeeNos.remove(row.employeeNo);
+                    addError(row, "写入失败，请检查后重新导入");
+                }
+            }
+        }
+
+        /**
+         * 校验部门和角色是否存在（只查询之前未查询过的ID）
+         */
+        private List<ImportRow> filterByReferences(List<ImportRow> rows) {
+            Set<String> unknownDepts = new HashSet<>();
+            Set<String> unknownRoles = new HashSet<>();
+            for (ImportRow row : rows) {
+                if (!knownDepts.containsKey(row.deptId)) {
+                    unknownDepts.add(row.deptId);
+                }
+                for (String roleId : row.roleIds) {
+                    if (!knownRoles.containsKey(roleId)) {
+                        unknownRoles.add(roleId);
+                    }
+                }
+            }
+            if (!unknownDepts.isEmpty()) {
+                unknownDepts.forEach(deptId -> knownDepts.put(deptId, false));
+                for (SysDept dept : deptMapper.selectBatchIds(unknownDepts)) {
+                    knownDepts.put(dept.getId(), true);
+                }
+            }
+            if (!unknownRoles.isEmpty()) {
+                unknownRoles.forEach(roleId -> knownRoles.put(roleId, false));
+                for (SysRole role : roleMapper.selectBatchIds(unknownRoles)) {
+                    knownRoles.put(role.getId(), true);
+                }
+            }
+
+            List<ImportRow> valid = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                if (!knownDepts.get(row.deptId)) {
+                    addError(row, "部门不存在: " + row.deptId);
+                    continue;
+                }
+                String missingRole = row.roleIds.stream()
+                        .filter(roleId -> !knownRoles.get(roleId))
+                        .findFirst()
+                        .orElse(null);
+                if (missingRole != null) {
+                    addError(row, "角色不存在: " + missingRole);
+                    continue;
+                }
+                valid.add(row);
+            }
+            return valid;
+        }
+
+        /**
+         * 校验用户名、手机号、工号在数据库中不存在（整块一次查询）
+         */
+        private List<ImportRow> filterByExistingUsers(List<ImportRow> rows) {
+            if (rows.isEmpty()) {
+                return rows;
+            }
+            List<UserUniquenessChecker.Candidate> candidates = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                candidates.add(new UserUniquenessChecker.Candidate(null, row.username, row.phone, row.employeeNo));
+            }
+            List<Set<UserUniquenessChecker.UniqueKey>> conflicts = userUniquenessChecker.findConflicts(candidates);
+
+            List<ImportRow> valid = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Set<UserUniquenessChecker.UniqueKey> rowConflicts = conflicts.get(i);
+                if (rowConflicts.isEmpty()) {
+                    valid.add(rows.get(i));
+                } else {
+                    addError(rows.get(i), rowConflicts.iterator().next().getMessage());
+                }
+            }
+            return valid;
+        }
+
+        private void addError(ImportRow row, String message) {
+            result.setFailureCount(result.getFailureCount() + 1);
+            if (result.getErrors().size() >= MAX_ERRORS) {
+                result.setErrorsTruncated(true);
+                return;
+            }
+            UserImportResultVO.RowError error = new UserImportResultVO.RowError();
+            error.setRowNumber(row.rowNumber);
+            error.setUsername(row.username);
+            error.setMessage(message);
+            result.getErrors().add(error);
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.vben.admin.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.vben.admin.core.cache.UserNameCache;
+import com.vben.admin.core.cache.UserSearchIndex;
 import com.vben.admin.core.constants.SystemConstants;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.event.UserRoleChangedEvent;
 import com.vben.admin.core.exception.BusinessException;
 import com.vben.admin.core.model.PageResult;
+import com.vben.admin.core.model.RelationDelta;
 import com.vben.admin.core.utils.QueryHelper;
+import com.vben.admin.core.utils.RelationSyncHelper;
 import com.vben.admin.core.utils.SearchQueryConfig;
 import com.vben.admin.core.utils.SecurityUtils;
 import com.vben.admin.core.utils.ValidationUtils;
+import com.vben.admin.core.validation.UserUniquenessChecker;
 import com.vben.admin.mapper.DeptMapper;
 import com.vben.admin.mapper.RoleMapper;
 import com.vben.admin.mapper.UserMapper;
@@ -20,17 +29,27 @@ import com.vben.admin.model.entity.SysDept;
 import com.vben.admin.model.entity.SysRole;
 import com.vben.admin.model.entity.SysUser;
 import com.vben.admin.model.entity.SysUserRole;
+import com.vben.admin.model.vo.UserOptionVO;
 import com.vben.admin.model.vo.UserVO;
 import com.vben.admin.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -43,11 +62,30 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    /**
+     * 使用搜索索引过滤时，IN 条件的最大用户ID数（匹配更多时使用模糊查询）
+     */
+    private static final int MAX_INDEXED_SEARCH_IDS = 1000;
+
+    /**
+     * 批量操作的最大用户数
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * 批量写入时每条 SQL 的最大行数
+     */
+    private static final int BATCH_CHUNK_SIZE = 500;
+
     private final UserMapper userMapper;
     private final UserRoleMapper userRoleMapper;
     private final RoleMapper roleMapper;
     private final DeptMapper deptMapper;
+    private final UserNameCache userNameCache;
+    private final UserSearchIndex userSearchIndex;
+    private final UserUniquenessChecker userUniquenessChecker;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public PageResult<UserVO> getUserList(Integer page, Integer pageSize, String search, String username, String realName, String deptId, Integer status, String startTime, String endTime) {
@@ -59,9 +97,7 @@ public class UserServiceImpl implements UserService {
         Page<SysUser> pageParam = new Page<>(page, pageSize);
         IPage<SysUser> pageResult = userMapper.selectPage(pageParam, queryWrapper);
 
-        List<UserVO> voList = pageResult.getRecords().stream()
-                .map(this::convertToVO)
-                .collect(Collectors.toList());
+        List<UserVO> voList = convertToVOList(pageResult.getRecords());
 
         return PageResult.of(voList, pageResult.getTotal());
     }
@@ -83,6 +119,7 @@ public class UserServiceImpl implements UserService {
             saveUserRoles(user.getId(), userDTO.getRoleIds());
         }
 
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
         return user.getId();
     }
 
@@ -92,9 +129,15 @@ public class UserServiceImpl implements UserService {
         SysUser user = getUserByIdOrThrow(id);
 
         validateUserUniquenessForUpdate(user, userDTO, id);
+        String oldPassword = user.getPassword();
         updateUserBasicInfo(user, userDTO);
         userMapper.updateById(user);
         updateUserRoles(id, userDTO.getRoleIds());
+
+        // 禁用或修改密码时强制下线
+        boolean signOut = !Objects.equals(oldPassword, user.getPassword())
+                || user.getStatus() == null || user.getStatus() == 0;
+        eventPublisher.publishEvent(new UserChangedEvent(id, signOut));
     }
 
     @Override
@@ -114,6 +157,7 @@ public class UserServiceImpl implements UserService {
         // 不删除用户角色关联，保留关联数据以支持恢复用户
         // 查询时通过用户状态过滤，已删除或已禁用的用户无法访问菜单和权限
         userMapper.deleteById(id);
+        eventPublisher.publishEvent(new UserChangedEvent(id, true));
     }
 
     @Override
@@ -138,6 +182,7 @@ public class UserServiceImpl implements UserService {
 
         user.setStatus(status);
         userMapper.updateById(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, status == 0));
     }
 
     @Override
@@ -147,6 +192,128 @@ public class UserServiceImpl implements UserService {
         validatePassword(password);
         user.setPassword(passwordEncoder.encode(password));
         userMapper.updateById(user);
+        eventPublisher.publishEvent(new UserChangedEvent(id, true));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchUpdateUserStatus(List<String> ids, Integer status) {
+        if (status == null || (status != 0 && status != 1)) {
+            throw new BusinessException("状态值无效，必须为0或1");
+        }
+        List<String> userIds = loadBatchUserIds(ids);
+        if (status == 0 && !selectAdminUserIds(userIds).isEmpty()) {
+            throw new BusinessException("超级管理员不能被禁用");
+        }
+
+        SysUser patch = new SysUser();
+        patch.setStatus(status);
+        updateUsersInChunks(userIds, patch);
+        eventPublisher.publishEvent(new UserChangedEvent(userIds, status == 0));
+        return userIds.size();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchUpdateUserRoles(List<String> ids, List<String> roleIds) {
+        if (roleIds == null) {
+            throw new BusinessException("角色列表不能为空");
+        }
+        List<String> userIds = loadBatchUserIds(ids);
+        Set<String> targetRoleIds = new LinkedHashSet<>(roleIds);
+        if (targetRoleIds.stream().anyMatch(ValidationUtils::isInvalidId)) {
+            throw new BusinessException("角色ID无效");
+        }
+        if (!targetRoleIds.isEmpty() && roleMapper.selectBatchIds(targetRoleIds).size() != targetRoleIds.size()) {
+            throw new BusinessException("角色不存在");
+        }
+        if (!targetRoleIds.contains(SystemConstants.ADMIN_ROLE_ID) && !selectAdminUserIds(userIds).isEmpty()) {
+            throw new BusinessException("所选用户中有超级管理员，角色列表必须包含超级管理员角色");
+        }
+
+        // 一次查询当前关联，计算每个用户需要新增的角色和需要删除关联的用户
+        Map<String, Set<String>> currentRoles = new HashMap<>(mapCapacity(userIds.size()));
+        for (SysUserRole userRole : userRoleMapper.selectList(new LambdaQueryWrapper<SysUserRole>()
+                .select(SysUserRole::getUserId, SysUserRole::getRoleId)
+                .in(SysUserRole::getUserId, userIds))) {
+            currentRoles.computeIfAbsent(userRole.getUserId(), key -> new HashSet<>()).add(userRole.getRoleId());
+        }
+
+        List<String> changedUserIds = new ArrayList<>();
+        List<String> usersWithRemovals = new ArrayList<>();
+        List<SysUserRole> additions = new ArrayList<>();
+        for (String userId : userIds) {
+            Set<String> current = currentRoles.getOrDefault(userId, Set.of());
+            boolean removed = current.stream().anyMatch(roleId -> !targetRoleIds.contains(roleId));
+            boolean added = false;
+            for (String roleId : targetRoleIds) {
+                if (!current.contains(roleId)) {
+                    SysUserRole userRole = new SysUserRole();
+                    userRole.setId(IdWorker.getIdStr());
+                    userRole.setUserId(userId);
+                    userRole.setRoleId(roleId);
+                    additions.add(userRole);
+                    added = true;
+                }
+            }
+            if (removed) {
+                usersWithRemovals.add(userId);
+            }
+            if (removed || added) {
+                changedUserIds.add(userId);
+            }
+        }
+
+        for (List<String> chunk : chunks(usersWithRemovals)) {
+            LambdaQueryWrapper<SysUserRole> deleteWrapper = new LambdaQueryWrapper<SysUserRole>()
+                    .in(SysUserRole::getUserId, chunk);
+            if (!targetRoleIds.isEmpty()) {
+                deleteWrapper.notIn(SysUserRole::getRoleId, targetRoleIds);
+            }
+            userRoleMapper.delete(deleteWrapper);
+        }
+        for (List<SysUserRole> chunk : chunks(additions)) {
+            userRoleMapper.insertBatch(chunk);
+        }
+
+        if (!changedUserIds.isEmpty()) {
+            eventPublisher.publishEvent(new UserRoleChangedEvent(changedUserIds));
+        }
+        return changedUserIds.size();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchUpdateUserDept(List<String> ids, String deptId) {
+        if (ValidationUtils.isInvalidId(deptId)) {
+            throw new BusinessException("部门ID不能为空或无效值");
+        }
+        if (deptMapper.selectById(deptId) == null) {
+            throw new BusinessException("部门不存在");
+        }
+        List<String> userIds = loadBatchUserIds(ids);
+
+        SysUser patch = new SysUser();
+        patch.setDeptId(deptId);
+        updateUsersInChunks(userIds, patch);
+        eventPublisher.publishEvent(new UserChangedEvent(userIds, false));
+        return userIds.size();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchDeleteUsers(List<String> ids) {
+        List<String> userIds = loadBatchUserIds(ids);
+        if (!selectAdminUserIds(userIds).isEmpty()) {
+            throw new BusinessException("超级管理员不能被删除");
+        }
+
+        // 与单个删除一致，保留用户角色关联以支持恢复用户
+        for (List<String> chunk : chunks(userIds)) {
+            userMapper.deleteBatchIds(chunk);
+        }
+        eventPublisher.publishEvent(new UserChangedEvent(userIds, true));
+        return userIds.size();
     }
 
     @Override
@@ -167,6 +334,8 @@ public class UserServiceImpl implements UserService {
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userMapper.updateById(user);
+        // 修改密码后强制下线，已签发的 token 都需要重新登录
+        eventPublisher.publishEvent(new UserChangedEvent(userId, true));
     }
 
     @Override
@@ -176,6 +345,7 @@ public class UserServiceImpl implements UserService {
         SysUser user = getUserByIdOrThrow(userId);
         updateCurrentUserBasicInfo(user, userDTO);
         userMapper.updateById(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
     }
 
     /**
@@ -208,111 +378,111 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * 验证用户唯一性（创建时）
+     * 校验批量操作的用户ID（去重后一次查询确认全部存在）
      *
-     * @param userDTO 用户DTO
-     * @param id      用户ID（创建时传入null）
-     * @throws BusinessException 如果用户名、手机号或工号已存在
+     * @param ids 用户ID列表
+     * @return 去重后的用户ID列表
+     * @throws BusinessException 如果列表为空、超过上限、包含无效ID或有用户不存在
      */
-    private void validateUserUniqueness(UserDTO userDTO, String id) {
-        if (ValidationUtils.isValidString(userDTO.getUsername())) {
-            checkUsernameNotExists(userDTO.getUsername(), id);
+    private List<String> loadBatchUserIds(List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BusinessException("用户ID列表不能为空");
         }
-        if (ValidationUtils.isValidString(userDTO.getPhone())) {
-            checkPhoneNotExists(userDTO.getPhone(), id);
+        List<String> userIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (userIds.size() > MAX_BATCH_SIZE) {
+            throw new BusinessException("单次最多操作 " + MAX_BATCH_SIZE + " 个用户");
         }
-        if (ValidationUtils.isValidString(userDTO.getEmployeeNo())) {
-            checkEmployeeNoNotExists(userDTO.getEmployeeNo(), id);
+        if (userIds.stream().anyMatch(ValidationUtils::isInvalidId)) {
+            throw new BusinessException("用户ID不能为空或无效值");
+        }
+
+        Set<String> existing = new HashSet<>(mapCapacity(userIds.size()));
+        for (SysUser user : userMapper.selectList(new LambdaQueryWrapper<SysUser>()
+                .select(SysUser::getId)
+                .in(SysUser::getId, userIds))) {
+            existing.add(user.getId());
         }
+        if (existing.size() != userIds.size()) {
+            List<String> missing = userIds.stream().filter(id -> !existing.contains(id)).limit(10).toList();
+            throw new BusinessException("用户不存在: " + String.join(", ", missing));
+        }
+        return userIds;
     }
 
     /**
-     * 验证用户唯一性（更新时，只验证变更的字段）
+     * 查询拥有超级管理员角色的用户（一次查询）
      *
-     * @param user    当前用户实体
-     * @param userDTO 用户DTO
-     * @param id      用户ID
-     * @throws BusinessException 如果用户名、手机号或工号已存在
+     * @param userIds 用户ID列表
+     * @return 超级管理员用户ID集合
      */
-    private void validateUserUniquenessForUpdate(SysUser user, UserDTO userDTO, String id) {
-        if (ValidationUtils.isValidString(userDTO.getUsername()) && !userDTO.getUsername().equals(user.getUsername())) {
-            checkUsernameNotExists(userDTO.getUsername(), id);
-        }
-        if (ValidationUtils.isValidString(userDTO.getPhone()) && !userDTO.getPhone().equals(user.getPhone())) {
-            checkPhoneNotExists(userDTO.getPhone(), id);
-        }
-        if (ValidationUtils.isValidString(userDTO.getEmployeeNo()) && !userDTO.getEmployeeNo().equals(user.getEmployeeNo())) {
-            checkEmployeeNoNotExists(userDTO.getEmployeeNo(), id);
-        }
+    private Set<String> selectAdminUserIds(List<String> userIds) {
+        return userRoleMapper.selectList(new LambdaQueryWrapper<SysUserRole>()
+                        .select(SysUserRole::getUserId)
+                        .eq(SysUserRole::getRoleId, SystemConstants.ADMIN_ROLE_ID)
+                        .in(SysUserRole::getUserId, userIds))
+                .stream().map(SysUserRole::getUserId).collect(Collectors.toSet());
     }
 
     /**
-     * 检查用户名不存在
+     * 按块执行 UPDATE ... WHERE id IN（只更新 patch 中的非空字段，更新人和更新时间自动填充）
      *
-     * @param username 用户名
-     * @param id       用户ID（更新时传入，创建时传入null）
-     * @throws BusinessException 如果用户名已存在
+     * @param userIds 用户ID列表
+     * @param patch   要更新的字段
      */
-    private void checkUsernameNotExists(String username, String id) {
-        if (ValidationUtils.isInvalidString(username)) {
-            throw new BusinessException("用户名不能为空或无效值");
+    private void updateUsersInChunks(List<String> userIds, SysUser patch) {
+        for (List<String> chunk : chunks(userIds)) {
+            userMapper.update(patch, new LambdaUpdateWrapper<SysUser>().in(SysUser::getId, chunk));
         }
+    }
 
-        LambdaQueryWrapper<SysUser> queryWrapper = new LambdaQueryWrapper<SysUser>()
-                .eq(SysUser::getUsername, username);
-        if (id != null) {
-            queryWrapper.ne(SysUser::getId, id);
-        }
-        long count = userMapper.selectCount(queryWrapper);
-        if (count > 0) {
-            throw new BusinessException("用户名已存在");
+    /**
+     * 按 {@value #BATCH_CHUNK_SIZE} 个一块拆分列表（控制单条 SQL 的参数个数）
+     */
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>((items.size() + BATCH_CHUNK_SIZE - 1) / BATCH_CHUNK_SIZE);
+        for (int from = 0; from < items.size(); from += BATCH_CHUNK_SIZE) {
+            chunks.add(items.subList(from, Math.min(from + BATCH_CHUNK_SIZE, items.size())));
         }
+        return chunks;
     }
 
     /**
-     * 检查手机号不存在
+     * 验证用户唯一性（创建时，用户名、手机号、工号一次查询）
      *
-     * @param phone 手机号
-     * @param id    用户ID（更新时传入，创建时传入null）
-     * @throws BusinessException 如果手机号已存在
+     * @param userDTO 用户DTO
+     * @param id      用户ID（创建时传入null）
+     * @throws BusinessException 如果用户名、手机号或工号已存在
      */
-    private void checkPhoneNotExists(String phone, String id) {
-        if (ValidationUtils.isInvalidString(phone)) {
-            throw new BusinessException("手机号不能为空或无效值");
-        }
-
-        LambdaQueryWrapper<SysUser> queryWrapper = new LambdaQueryWrapper<SysUser>()
-                .eq(SysUser::getPhone, phone);
-        if (id != null) {
-            queryWrapper.ne(SysUser::getId, id);
-        }
-        long count = userMapper.selectCount(queryWrapper);
-        if (count > 0) {
-            throw new BusinessException("手机号已存在");
-        }
+    private void validateUserUniqueness(UserDTO userDTO, String id) {
+        userUniquenessChecker.checkUnique(id, userDTO.getUsername(), userDTO.getPhone(), userDTO.getEmployeeNo());
     }
 
     /**
-     * 检查工号不存在
+     * 验证用户唯一性（更新时，只验证变更的字段，一次查询）
      *
-     * @param employeeNo 工号
-     * @param id         用户ID（更新时传入，创建时传入null）
-     * @throws BusinessException 如果工号已存在
+     * @param user    当前用户实体
+     * @param userDTO 用户DTO
+     * @param id      用户ID
+     * @throws BusinessException 如果用户名、手机号或工号已存在
      */
-    private void checkEmployeeNoNotExists(String employeeNo, String id) {
-        if (ValidationUtils.isInvalidString(employeeNo)) {
-            throw new BusinessException("工号不能为空或无效值");
+    private void validateUserUniquenessForUpdate(SysUser user, UserDTO userDTO, String id) {
+        String username = changedValue(userDTO.getUsername(), user.getUsername());
+        String phone = changedValue(userDTO.getPhone(), user.getPhone());
+        String employeeNo = changedValue(userDTO.getEmployeeNo(), user.getEmployeeNo());
+        if (username != null || phone != null || employeeNo != null) {
+            userUniquenessChecker.checkUnique(id, username, phone, employeeNo);
         }
+    }
 
-        LambdaQueryWrapper<SysUser> queryWrapper = new LambdaQueryWrapper<SysUser>()
-                .eq(SysUser::getEmployeeNo, employeeNo);
-        if (id != null) {
-            queryWrapper.ne(SysUser::getId, id);
-        }
-        long count = userMapper.selectCount(queryWrapper);
-        if (count > 0) {
-            throw new BusinessException("工号已存在");
-        }
+    /**
+     * 获取变更后的唯一键值
+     *
+     * @param newValue     提交的值
+     * @param currentValue 当前值
+     * @return 有效且与当前值不同时返回提交的值，否则返回null
+     */
+    private String changedValue(String newValue, String currentValue) {
+        return ValidationUtils.isValidString(newValue) && !newValue.equals(currentValue) ? newValue : null;
     }
 
     /**
@@ -343,7 +513,7 @@ public class UserServiceImpl implements UserService {
         user.setUsername(userDTO.getUsername());
         String password = ValidationUtils.isValidString(userDTO.getPassword())
                 ? userDTO.getPassword()
-                : "88888888";
+                : SystemConstants.DEFAULT_USER_PASSWORD;
         user.setPassword(passwordEncoder.encode(password));
         user.setRealName(userDTO.getRealName());
         user.setNickname(userDTO.getNickname());
@@ -417,7 +587,7 @@ public class UserServiceImpl implements UserService {
         if (ValidationUtils.isValidString(userDTO.getPhone())) {
             String cleanedPhone = ValidationUtils.cleanString(userDTO.getPhone());
             if (!cleanedPhone.equals(user.getPhone())) {
-                checkPhoneNotExists(cleanedPhone, user.getId());
+                userUniquenessChecker.checkUnique(user.getId(), null, cleanedPhone, null);
             }
             user.setPhone(cleanedPhone);
         }
@@ -428,32 +598,44 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * 更新用户角色关联
+     * 更新用户角色关联（只写入差异，角色没有变化时不发布事件）
      *
      * @param userId   用户ID
      * @param roleIds  角色ID列表
+     * @return 新增和删除的角色ID
      */
-    private void updateUserRoles(String userId, List<String> roleIds) {
-        if (roleIds != null) {
-            userRoleMapper.delete(new LambdaQueryWrapper<SysUserRole>().eq(SysUserRole::getUserId, userId));
-            if (!roleIds.isEmpty()) {
-                saveUserRoles(userId, roleIds);
-            }
-        }
+    private RelationDelta updateUserRoles(String userId, List<String> roleIds) {
+        if (roleIds == null) {
+            return RelationDelta.empty();
+        }
+        RelationDelta delta = RelationSyncHelper.sync(userRoleMapper.selectRoleIdsByUserId(userId), roleIds,
+                added -> saveUserRoles(userId, added),
+                removed -> userRoleMapper.delete(new LambdaQueryWrapper<SysUserRole>()
+                        .eq(SysUserRole::getUserId, userId)
+                        .in(SysUserRole::getRoleId, removed)));
+        if (delta.isChanged()) {
+            eventPublisher.publishEvent(new UserRoleChangedEvent(userId));
+        }
+        return delta;
     }
 
     /**
-     * 保存用户角色关联
+     * 保存用户角色关联（单条多行 INSERT）
      *
      * @param userId  用户ID
      * @param roleIds 角色ID列表
      */
-    private void saveUserRoles(String userId, List<String> roleIds) {
-        for (String roleId : roleIds) {
+    private void saveUserRoles(String userId, Collection<String> roleIds) {
+        List<SysUserRole> userRoles = new ArrayList<>(roleIds.size());
+        for (String roleId : new LinkedHashSet<>(roleIds)) {
             SysUserRole userRole = new SysUserRole();
+            userRole.setId(IdWorker.getIdStr());
             userRole.setUserId(userId);
             userRole.setRoleId(roleId);
-            userRoleMapper.insert(userRole);
+            userRoles.add(userRole);
+        }
+        if (!userRoles.isEmpty()) {
+            userRoleMapper.insertBatch(userRoles);
         }
     }
 
@@ -461,45 +643,105 @@ public class UserServiceImpl implements UserService {
      * 转换为VO
      */
     private UserVO convertToVO(SysUser user) {
-        UserVO vo = new UserVO();
-        BeanUtils.copyProperties(user, vo);
+        return convertToVOList(List.of(user)).get(0);
+    }
 
-        List<String> roleIds = userRoleMapper.selectList(
-                new LambdaQueryWrapper<SysUserRole>()
-                        .eq(SysUserRole::getUserId, user.getId())
-        ).stream().map(SysUserRole::getRoleId).collect(Collectors.toList());
-        vo.setRoles(roleIds);
-
-        if (!roleIds.isEmpty()) {
-            List<SysRole> roles = roleMapper.selectBatchIds(roleIds);
-            List<String> roleNames = roles.stream()
-                    .map(SysRole::getName)
-                    .collect(Collectors.toList());
-            vo.setRoleNames(roleNames);
-        } else {
-            vo.setRoleNames(List.of());
+    /**
+     * 批量转换为VO
+     * 整页用户共用固定次数的查询（用户角色、角色、部门各一次，创建人/更新人名称来自缓存），在内存中关联
+     *
+     * @param users 用户列表
+     * @return VO列表（与用户列表顺序一致）
+     */
+    private List<UserVO> convertToVOList(List<SysUser> users) {
+        if (users.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<String> userIds = new ArrayList<>(users.size());
+        Set<String> deptIds = new HashSet<>();
+        Set<String> operatorIds = new HashSet<>();
+        for (SysUser user : users) {
+            userIds.add(user.getId());
+            if (StringUtils.hasText(user.getDeptId())) {
+                deptIds.add(user.getDeptId());
+            }
+            if (StringUtils.hasText(user.getCreateBy())) {
+                operatorIds.add(user.getCreateBy());
+            }
+            if (StringUtils.hasText(user.getUpdateBy())) {
+                operatorIds.add(user.getUpdateBy());
+            }
         }
 
-        if (StringUtils.hasText(user.getDeptId())) {
-            SysDept dept = deptMapper.selectById(user.getDeptId());
-            if (dept != null) {
-                vo.setDeptName(dept.getName());
-            }
+        // 用户角色关联
+        Map<String, List<String>> roleIdsByUser = new HashMap<>(mapCapacity(users.size()));
+        Set<String> allRoleIds = new HashSet<>();
+        for (SysUserRole userRole : userRoleMapper.selectList(new LambdaQueryWrapper<SysUserRole>()
+                .in(SysUserRole::getUserId, userIds))) {
+            roleIdsByUser.computeIfAbsent(userRole.getUserId(), k -> new ArrayList<>()).add(userRole.getRoleId());
+            allRoleIds.add(userRole.getRoleId());
         }
 
-        if (StringUtils.hasText(user.getCreateBy())) {
-            vo.setCreateByName(getUserName(user.getCreateBy()));
+        // 角色名称
+        Map<String, String> roleNames = new HashMap<>(mapCapacity(allRoleIds.size()));
+        if (!allRoleIds.isEmpty()) {
+            for (SysRole role : roleMapper.selectBatchIds(allRoleIds)) {
+                roleNames.put(role.getId(), role.getName());
+            }
         }
 
-        if (StringUtils.hasText(user.getUpdateBy())) {
-            vo.setUpdateByName(getUserName(user.getUpdateBy()));
+        // 部门名称
+        Map<String, String> deptNames = new HashMap<>(mapCapacity(deptIds.size()));
+        if (!deptIds.isEmpty()) {
+            for (SysDept dept : deptMapper.selectBatchIds(deptIds)) {
+                deptNames.put(dept.getId(), dept.getName());
+            }
         }
 
-        return vo;
+        // 创建人/更新人名称（用户名称缓存，未缓存的用户合并为一次查询）
+        Map<String, String> operatorNames = userNameCache.getDisplayNames(operatorIds);
+
+        List<UserVO> voList = new ArrayList<>(users.size());
+        for (SysUser user : users) {
+            UserVO vo = new UserVO();
+            BeanUtils.copyProperties(user, vo);
+
+            List<String> roleIds = roleIdsByUser.getOrDefault(user.getId(), List.of());
+            vo.setRoles(roleIds);
+            List<String> userRoleNames = new ArrayList<>(roleIds.size());
+            for (String roleId : roleIds) {
+                String roleName = roleNames.get(roleId);
+                if (roleName != null) {
+                    userRoleNames.add(roleName);
+                }
+            }
+            vo.setRoleNames(userRoleNames);
+
+            if (StringUtils.hasText(user.getDeptId())) {
+                vo.setDeptName(deptNames.get(user.getDeptId()));
+            }
+            if (StringUtils.hasText(user.getCreateBy())) {
+                vo.setCreateByName(operatorNames.get(user.getCreateBy()));
+            }
+            if (StringUtils.hasText(user.getUpdateBy())) {
+                vo.setUpdateByName(operatorNames.get(user.getUpdateBy()));
+            }
+            voList.add(vo);
+        }
+        return voList;
     }
 
     @Override
     public PageResult<UserVO> getUserOptions(UserOptionQueryDTO queryDTO) {
+        // 关键词搜索优先使用搜索索引，按匹配程度排序
+        UserSearchIndex.SearchResult hits = searchOptionIds(queryDTO);
+        if (hits != null) {
+            List<SysUser> users = selectUsersInOrder(new LambdaQueryWrapper<>(), hits.getUserIds());
+            long total = queryDTO.getPage() != null && queryDTO.getPageSize() != null ? hits.getTotal() : users.size();
+            return PageResult.of(convertToVOList(users), total);
+        }
+
         LambdaQueryWrapper<SysUser> queryWrapper = buildBaseQueryWrapper(
                 queryDTO.getSearch(), queryDTO.getUsername(), queryDTO.getRealName(),
                 queryDTO.getDeptId(), queryDTO.getStatus(), queryDTO.getStartTime(), queryDTO.getEndTime()
@@ -512,9 +754,7 @@ public class UserServiceImpl implements UserService {
             Page<SysUser> pageParam = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
             IPage<SysUser> pageResult = userMapper.selectPage(pageParam, queryWrapper);
 
-            List<UserVO> voList = pageResult.getRecords().stream()
-                    .map(this::convertToVO)
-                    .collect(Collectors.toList());
+            List<UserVO> voList = convertToVOList(pageResult.getRecords());
 
             return PageResult.of(voList, pageResult.getTotal());
         } else {
@@ -523,14 +763,68 @@ public class UserServiceImpl implements UserService {
 
             List<SysUser> users = userMapper.selectList(queryWrapper);
 
-            List<UserVO> options = users.stream()
-                    .map(this::convertToVO)
-                    .collect(Collectors.toList());
+            List<UserVO> options = convertToVOList(users);
+
+            return new PageResult<>(options, (long) options.size());
+        }
+    }
+
+    @Override
+    public PageResult<UserOptionVO> getUserSimpleOptions(UserOptionQueryDTO queryDTO) {
+        // 关键词搜索优先使用搜索索引，按匹配程度排序
+        UserSearchIndex.SearchResult hits = searchOptionIds(queryDTO);
+        if (hits != null) {
+            List<SysUser> users = selectUsersInOrder(new LambdaQueryWrapper<SysUser>()
+                    .select(SysUser::getId, SysUser::getUsername, SysUser::getRealName, SysUser::getStatus),
+                    hits.getUserIds());
+            List<UserOptionVO> options = new ArrayList<>(users.size());
+            for (SysUser user : users) {
+                options.add(convertToOptionVO(user));
+            }
+            long total = queryDTO.getPage() != null && queryDTO.getPageSize() != null ? hits.getTotal() : options.size();
+            return PageResult.of(options, total);
+        }
+
+        LambdaQueryWrapper<SysUser> queryWrapper = buildBaseQueryWrapper(
+                queryDTO.getSearch(), queryDTO.getUsername(), queryDTO.getRealName(),
+                queryDTO.getDeptId(), queryDTO.getStatus(), queryDTO.getStartTime(), queryDTO.getEndTime()
+        );
+        // 只查询选项需要的列
+        queryWrapper.select(SysUser::getId, SysUser::getUsername, SysUser::getRealName, SysUser::getStatus);
+        queryWrapper.orderByAsc(SysUser::getUsername);
+
+        if (queryDTO.getPage() != null && queryDTO.getPageSize() != null) {
+            Page<SysUser> pageParam = new Page<>(queryDTO.getPage(), queryDTO.getPageSize());
+            IPage<SysUser> pageResult = userMapper.selectPage(pageParam, queryWrapper);
 
+            List<UserOptionVO> options = new ArrayList<>(pageResult.getRecords().size());
+            for (SysUser user : pageResult.getRecords()) {
+                options.add(convertToOptionVO(user));
+            }
+            return PageResult.of(options, pageResult.getTotal());
+        } else {
+            int maxLimit = QueryHelper.getValidLimit(queryDTO.getLimit());
+            queryWrapper.last("LIMIT " + maxLimit);
+
+            // 逐行转换，不保留实体列表
+            List<UserOptionVO> options = new ArrayList<>(Math.min(maxLimit, 1024));
+            userMapper.selectList(queryWrapper, context -> options.add(convertToOptionVO(context.getResultObject())));
             return new PageResult<>(options, (long) options.size());
         }
     }
 
+    /**
+     * 转换为选项VO
+     */
+    private UserOptionVO convertToOptionVO(SysUser user) {
+        UserOptionVO vo = new UserOptionVO();
+        vo.setId(user.getId());
+        vo.setUsername(user.getUsername());
+        vo.setRealName(user.getRealName());
+        vo.setStatus(user.getStatus());
+        return vo;
+    }
+
     /**
      * 构建基础查询条件（公共逻辑）
      * 用于 List 和 Options 接口
@@ -550,14 +844,17 @@ public class UserServiceImpl implements UserService {
     ) {
         LambdaQueryWrapper<SysUser> queryWrapper = new LambdaQueryWrapper<>();
 
-        QueryHelper.applySearch(
-                queryWrapper,
-                SearchQueryConfig.<SysUser>of(search)
-                        .searchField(SysUser::getUsername)
-                        .searchField(SysUser::getRealName)
-                        .fallbackField(SysUser::getUsername, username)
-                        .fallbackField(SysUser::getRealName, realName)
-        );
+        // 关键词匹配的用户不多时由搜索索引给出用户ID，避免模糊查询全表扫描
+        if (!applyIndexedSearch(queryWrapper, search, deptId, status)) {
+            QueryHelper.applySearch(
+                    queryWrapper,
+                    SearchQueryConfig.<SysUser>of(search)
+                            .searchField(SysUser::getUsername)
+                            .searchField(SysUser::getRealName)
+                            .fallbackField(SysUser::getUsername, username)
+                            .fallbackField(SysUser::getRealName, realName)
+            );
+        }
 
         if (ValidationUtils.isValidId(deptId)) {
             queryWrapper.eq(SysUser::getDeptId, deptId);
@@ -572,16 +869,87 @@ public class UserServiceImpl implements UserService {
     }
 
     /**
-     * 获取用户名称（优先使用真实姓名，否则使用用户名）
+     * 使用搜索索引应用关键词条件（用户ID IN 匹配结果）
+     *
+     * @param queryWrapper 查询包装器
+     * @param search       搜索关键词
+     * @param deptId       部门ID
+     * @param status       状态
+     * @return 是否已应用；索引不可用或匹配的用户过多时返回 false，由调用方使用模糊查询
+     */
+    private boolean applyIndexedSearch(LambdaQueryWrapper<SysUser> queryWrapper, String search,
+                                       String deptId, Integer status) {
+        if (!StringUtils.hasText(search)) {
+            return false;
+        }
+        UserSearchIndex.SearchResult hits = userSearchIndex.search(search,
+                ValidationUtils.isValidId(deptId) ? deptId : null, status, 0, MAX_INDEXED_SEARCH_IDS);
+        if (hits == null || hits.getTotal() > MAX_INDEXED_SEARCH_IDS) {
+            return false;
+        }
+        if (hits.getUserIds().isEmpty()) {
+            queryWrapper.apply("1 = 0");
+        } else {
+            queryWrapper.in(SysUser::getId, hits.getUserIds());
+        }
+        return true;
+    }
+
+    /**
+     * 通过搜索索引查询选项的用户ID（按匹配程度排序后分页或截取）
      *
-     * @param userId 用户ID
-     * @return 用户名称
+     * @param queryDTO 查询条件
+     * @return 搜索结果；没有关键词、带时间范围条件或索引不可用时返回 null
      */
-    private String getUserName(String userId) {
-        SysUser user = userMapper.selectById(userId);
-        if (user != null) {
-            return user.getRealName() != null ? user.getRealName() : user.getUsername();
+    private UserSearchIndex.SearchResult searchOptionIds(UserOptionQueryDTO queryDTO) {
+        if (!StringUtils.hasText(queryDTO.getSearch())
+                || StringUtils.hasText(queryDTO.getStartTime()) || StringUtils.hasText(queryDTO.getEndTime())) {
+            return null;
         }
-        return null;
+        int offset = 0;
+        int limit;
+        if (queryDTO.getPage() != null && queryDTO.getPageSize() != null) {
+            offset = Math.max(queryDTO.getPage() - 1, 0) * queryDTO.getPageSize();
+            limit = queryDTO.getPageSize();
+        } else {
+            limit = QueryHelper.getValidLimit(queryDTO.getLimit());
+        }
+        String deptId = ValidationUtils.isValidId(queryDTO.getDeptId()) ? queryDTO.getDeptId() : null;
+        return userSearchIndex.search(queryDTO.getSearch(), deptId, queryDTO.getStatus(), offset, limit);
+    }
+
+    /**
+     * 按给定的用户ID顺序查询用户（查询期间被删除的用户不返回）
+     *
+     * @param queryWrapper 查询包装器（可指定查询列）
+     * @param userIds      用户ID列表
+     * @return 用户列表
+     */
+    private List<SysUser> selectUsersInOrder(LambdaQueryWrapper<SysUser> queryWrapper, List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, SysUser> userMap = new HashMap<>(mapCapacity(userIds.size()));
+        for (SysUser user : userMapper.selectList(queryWrapper.in(SysUser::getId, userIds))) {
+            userMap.put(user.getId(), user);
+        }
+        List<SysUser> users = new ArrayList<>(userMap.size());
+        for (String userId : userIds) {
+            SysUser user = userMap.get(userId);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * 计算 HashMap 的初始容量（按默认负载因子容纳指定数量的元素而不扩容）
+     *
+     * @param expectedSize 元素数量
+     * @return 初始容量
+     */
+    private static int mapCapacity(int expectedSize) {
+        return (int) (expectedSize / 0.75F) + 1;
     }
 }
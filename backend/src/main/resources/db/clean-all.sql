@@ -19,11 +19,13 @@ DROP TABLE IF EXISTS `sys_user_role`;
 
 -- 删除业务表
 DROP TABLE IF EXISTS `sys_operation_log`;
+DROP TABLE IF EXISTS `sys_refresh_token`;
 DROP TABLE IF EXISTS `sys_user`;
 DROP TABLE IF EXISTS `sys_role`;
 DROP TABLE IF EXISTS `sys_menu`;
 DROP TABLE IF EXISTS `sys_dept`;
 DROP TABLE IF EXISTS `sys_permission`;
+DROP TABLE IF EXISTS `sys_permission_version`;
 
 -- 恢复外键检查
 SET FOREIGN_KEY_CHECKS = 1;
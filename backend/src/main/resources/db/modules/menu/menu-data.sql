@@ -41,5 +41,7 @@ INSERT INTO `sys_menu` (`id`, `name`, `path`, `pid`, `type`, `component`, `redir
 ('31', 'DeptDelete', NULL, '6', 'button', NULL, NULL, 'ac:system:dept:delete', '{"title":"删除"}', 3, 1, 0),
 -- 操作日志按钮权限
 ('33', 'OperationLogView', NULL, '32', 'button', NULL, NULL, 'ac:system:operation-log:view', '{"title":"查看"}', 1, 1, 0),
-('34', 'OperationLogDelete', NULL, '32', 'button', NULL, NULL, 'ac:system:operation-log:delete', '{"title":"删除"}', 2, 1, 0)
+('34', 'OperationLogDelete', NULL, '32', 'button', NULL, NULL, 'ac:system:operation-log:delete', '{"title":"删除"}', 2, 1, 0),
+-- 系统监控权限（在线用户、缓存统计接口，暂无页面，挂在系统管理下）
+('35', 'SystemMonitorView', NULL, '2', 'button', NULL, NULL, 'ac:system:monitor:view', '{"title":"系统监控"}', 6, 1, 0)
 ON DUPLICATE KEY UPDATE `name` = `name`;
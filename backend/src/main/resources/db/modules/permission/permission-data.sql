@@ -34,5 +34,13 @@ INSERT INTO `sys_permission` (`id`, `code`, `name`, `type`, `deleted`) VALUES
 ('16', 'ac:system:dept:edit', '部门管理编辑', 'button', 0),
 ('17', 'ac:system:dept:delete', '部门管理删除', 'button', 0),
 ('20', 'ac:system:operation-log:view', '操作日志查看', 'menu', 0),
-('21', 'ac:system:operation-log:delete', '操作日志删除', 'button', 0)
+('21', 'ac:system:operation-log:delete', '操作日志删除', 'button', 0),
+('22', 'ac:system:monitor:view', '系统监控查看', 'button', 0)
 ON DUPLICATE KEY UPDATE `code` = `code`;
+
+-- =============================================
+-- 初始化权限版本
+-- =============================================
+INSERT INTO `sys_permission_version` (`id`, `version`) VALUES
+(1, 0)
+ON DUPLICATE KEY UPDATE `id` = `id`;
@@ -25,3 +25,13 @@ CREATE TABLE IF NOT EXISTS `sys_permission` (
     KEY `idx_type` (`type`),
     KEY `idx_deleted` (`deleted`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='权限码表';
+
+-- =============================================
+-- 权限版本表（单行，权限相关数据变化时递增，多节点据此判断本地权限缓存是否过期）
+-- =============================================
+CREATE TABLE IF NOT EXISTS `sys_permission_version` (
+    `id` INT(11) NOT NULL COMMENT '主键ID（固定为1）',
+    `version` BIGINT(20) NOT NULL DEFAULT 0 COMMENT '权限版本号',
+    `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='权限版本表';
@@ -46,7 +46,9 @@ INSERT INTO `sys_role_menu` (`id`, `role_id`, `menu_id`) VALUES
 ('31', '1', '31'),
 -- 操作日志按钮权限
 ('33', '1', '33'),
-('34', '1', '34')
+('34', '1', '34'),
+-- 系统监控权限
+('35', '1', '35')
 ON DUPLICATE KEY UPDATE `role_id` = `role_id`;
 
 -- =============================================
@@ -73,5 +75,6 @@ INSERT INTO `sys_user_permission` (`id`, `user_id`, `permission_id`) VALUES
 ('16', '1', '16'),
 ('17', '1', '17'),
 ('20', '1', '20'),
-('21', '1', '21')
+('21', '1', '21'),
+('22', '1', '22')
 ON DUPLICATE KEY UPDATE `user_id` = `user_id`;
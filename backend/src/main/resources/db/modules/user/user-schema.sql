@@ -24,6 +24,8 @@ CREATE TABLE IF NOT EXISTS `sys_user` (
     `employee_no` VARCHAR(50) NOT NULL COMMENT '工号',
     `dept_id` VARCHAR(64) NOT NULL COMMENT '部门ID',
     `status` INT(1) DEFAULT 1 COMMENT '状态：0-禁用，1-启用',
+    `last_login_time` DATETIME DEFAULT NULL COMMENT '最后登录时间',
+    `last_active_time` DATETIME DEFAULT NULL COMMENT '最后活跃时间（在线用户登记表定期批量写入）',
     `create_by` VARCHAR(64) DEFAULT NULL COMMENT '创建人ID',
     `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `update_by` VARCHAR(64) DEFAULT NULL COMMENT '更新人ID',
@@ -37,3 +39,46 @@ CREATE TABLE IF NOT EXISTS `sys_user` (
     KEY `idx_deleted` (`deleted`),
     KEY `idx_dept_id` (`dept_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户表';
+
+-- 已有数据库升级（添加最后登录时间和最后活跃时间，列已存在时跳过，可重复执行）
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE `sys_user`
+        ADD COLUMN `last_login_time` DATETIME DEFAULT NULL COMMENT ''最后登录时间'' AFTER `status`,
+        ADD COLUMN `last_active_time` DATETIME DEFAULT NULL COMMENT ''最后活跃时间（在线用户登记表定期批量写入）'' AFTER `last_login_time`',
+    'SELECT 1')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sys_user' AND COLUMN_NAME = 'last_login_time');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- =============================================
+-- 刷新令牌表（jwt.refresh-token-store.type=jdbc 时使用，默认使用进程内存储）
+-- =============================================
+CREATE TABLE IF NOT EXISTS `sys_refresh_token` (
+    `id` VARCHAR(64) NOT NULL COMMENT '令牌ID（JWT jti）',
+    `family_id` VARCHAR(64) NOT NULL COMMENT '令牌族ID（同一次登录轮换产生的令牌共享）',
+    `user_id` VARCHAR(64) NOT NULL COMMENT '用户ID',
+    `expire_time` DATETIME NOT NULL COMMENT '过期时间',
+    `used` INT(1) NOT NULL DEFAULT 0 COMMENT '是否已使用：0-未使用，1-已使用',
+    `successor_id` VARCHAR(64) DEFAULT NULL COMMENT '使用时签发的新令牌ID（宽限期内重复使用时返回）',
+    `used_time` DATETIME DEFAULT NULL COMMENT '使用时间',
+    `revoked` INT(1) NOT NULL DEFAULT 0 COMMENT '是否已撤销：0-未撤销，1-已撤销',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_family_id` (`family_id`),
+    KEY `idx_user_id` (`user_id`),
+    KEY `idx_expire_time` (`expire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='刷新令牌表';
+
+-- 已有数据库升级（添加新令牌ID和使用时间，列已存在时跳过，可重复执行）
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE `sys_refresh_token`
+        ADD COLUMN `successor_id` VARCHAR(64) DEFAULT NULL COMMENT ''使用时签发的新令牌ID（宽限期内重复使用时返回）'' AFTER `used`,
+        ADD COLUMN `used_time` DATETIME DEFAULT NULL COMMENT ''使用时间'' AFTER `successor_id`',
+    'SELECT 1')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sys_refresh_token' AND COLUMN_NAME = 'successor_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,101 @@
+package com.vben.admin.core.filter;
+
+import com.vben.admin.core.cache.LoginUserCache;
+import com.vben.admin.core.cache.PermissionCodeCache;
+import com.vben.admin.core.cache.TokenVerificationCache;
+import com.vben.admin.core.exception.CustomAccessDeniedHandler;
+import com.vben.admin.core.exception.CustomAuthenticationEntryPoint;
+import com.vben.admin.core.model.LoginUser;
+import com.vben.admin.core.security.OnlineUserRegistry;
+import com.vben.admin.core.token.AccessTokenDenylist;
+import com.vben.admin.core.utils.JwtUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * JWT 认证过滤器测试：只有访问Token可以访问受保护的接口
+ *
+ * @author vben
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String PROTECTED_PATH = "/user/list";
+
+    @Mock
+    private AccessTokenDenylist accessTokenDenylist;
+    @Mock
+    private LoginUserCache loginUserCache;
+    @Mock
+    private PermissionCodeCache permissionCodeCache;
+    @Mock
+    private OnlineUserRegistry onlineUserRegistry;
+
+    private JwtUtils jwtUtils;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", "test-secret-key-for-jwt-token-generation-minimum-256-bits");
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpiration", 7200000L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpiration", 604800000L);
+        jwtUtils.init();
+
+        filter = new JwtAuthenticationFilter(new TokenVerificationCache(jwtUtils, 100), accessTokenDenylist,
+                loginUserCache, permissionCodeCache, onlineUserRegistry, new CustomAuthenticationEntryPoint(),
+                new CustomAccessDeniedHandler(), new RouteAuthorizationTable(List.of("/auth/login"), List.of()));
+    }
+
+    @Test
+    void accessTokenPassesThrough() throws Exception {
+        when(loginUserCache.get("u1", "alice")).thenReturn(new LoginUser("u1", "alice", "Alice", List.of(), 0L));
+        String accessToken = jwtUtils.generateAccessToken(Map.of("userId", "u1", "username", "alice", "jti", "a1"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(accessToken), response, chain);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void refreshTokenIsRejectedOnProtectedEndpoint() throws Exception {
+        String refreshToken = jwtUtils.generateRefreshToken(
+                Map.of("userId", "u1", "username", "alice", "jti", "r1", "familyId", "f1"),
+                new Date(System.currentTimeMillis() + 604800000L));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(refreshToken), response, chain);
+
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+        assertNull(chain.getRequest());
+        verifyNoInteractions(loginUserCache, onlineUserRegistry);
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PROTECTED_PATH);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,74 @@
+package com.vben.admin.core.utils;
+
+import com.vben.admin.core.model.JwtPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 认证基准测试：每个请求一次签名校验（authenticate）与原来的三次解析（校验 + 取用户ID + 取用户名）对比
+ * 运行方式：mvn test-compile 后执行 main 方法，或在 IDE 中直接运行
+ *
+ * @author vben
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", "benchmark-secret-key-for-jwt-token-generation-minimum-256-bits");
+        ReflectionTestUtils.setField(jwtUtils, "accessTokenExpiration", 7200000L);
+        ReflectionTestUtils.setField(jwtUtils, "refreshTokenExpiration", 604800000L);
+        jwtUtils.init();
+        token = jwtUtils.generateAccessToken(Map.of("userId", "1", "username", "admin", "jti", "benchmark"));
+    }
+
+    /**
+     * 原来的实现：校验一次，再分别解析用户ID和用户名（共三次签名校验）
+     */
+    @Benchmark
+    public void tripleParse(Blackhole blackhole) {
+        if (jwtUtils.validateToken(token)) {
+            blackhole.consume(jwtUtils.getUserIdFromToken(token));
+            blackhole.consume(jwtUtils.getUsernameFromToken(token));
+        }
+    }
+
+    /**
+     * 现在的实现：一次签名校验得到认证主体
+     */
+    @Benchmark
+    public void authenticate(Blackhole blackhole) {
+        JwtPrincipal principal = jwtUtils.authenticate(token);
+        blackhole.consume(principal.getUserId());
+        blackhole.consume(principal.getUsername());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtUtilsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
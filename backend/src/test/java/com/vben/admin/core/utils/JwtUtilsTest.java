@@ -0,0 +1,87 @@
+package com.vben.admin.core.utils;
+
+import com.vben.admin.core.model.JwtPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * JWT 工具类测试：authenticate 只校验一次签名，过期或被篡改的 token 返回 null
+ *
+ * @author vben
+ */
+class JwtUtilsTest {
+
+    private static final Map<String, Object> CLAIMS = Map.of("userId", "u1", "username", "alice", "jti", "t1");
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = jwtUtils(7200000L);
+    }
+
+    @Test
+    void authenticateVerifiesOnceAndReturnsPrincipal() {
+        String token = jwtUtils.generateAccessToken(CLAIMS);
+        JwtUtils spied = spy(jwtUtils);
+
+        JwtPrincipal principal = spied.authenticate(token);
+
+        verify(spied, times(1)).getClaimsFromToken(anyString());
+        assertNotNull(principal);
+        assertEquals("t1", principal.getTokenId());
+        assertEquals("u1", principal.getUserId());
+        assertEquals("alice", principal.getUsername());
+        assertTrue(principal.isAccessToken());
+        assertNotNull(principal.getIssuedAt());
+        assertTrue(principal.getExpiration().after(principal.getIssuedAt()));
+    }
+
+    @Test
+    void authenticateReturnsNullForExpiredToken() {
+        String token = jwtUtils(-1000L).generateAccessToken(CLAIMS);
+
+        assertNull(jwtUtils.authenticate(token));
+    }
+
+    @Test
+    void authenticateReturnsNullForTamperedToken() {
+        String token = jwtUtils.generateAccessToken(CLAIMS);
+        // 修改签名中间的一个字符（末尾字符可能只包含填充位）
+        int index = token.lastIndexOf('.') + 10;
+        char replacement = token.charAt(index) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, index) + replacement + token.substring(index + 1);
+
+        assertNull(jwtUtils.authenticate(tampered));
+    }
+
+    @Test
+    void authenticateReturnsNullForTokenSignedWithAnotherKey() {
+        JwtUtils other = jwtUtils(7200000L);
+        ReflectionTestUtils.setField(other, "secret", "another-secret-key-for-jwt-token-generation-minimum-256-bits");
+        other.init();
+
+        assertNull(jwtUtils.authenticate(other.generateAccessToken(CLAIMS)));
+    }
+
+    private static JwtUtils jwtUtils(long accessTokenExpiration) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "secret", "test-secret-key-for-jwt-token-generation-minimum-256-bits");
+        ReflectionTestUtils.setField(utils, "accessTokenExpiration", accessTokenExpiration);
+        ReflectionTestUtils.setField(utils, "refreshTokenExpiration", 604800000L);
+        utils.init();
+        return utils;
+    }
+}
@@ -0,0 +1,156 @@
+package com.vben.admin.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.vben.admin.core.cache.MenuSnapshot;
+import com.vben.admin.core.cache.MenuSnapshotCache;
+import com.vben.admin.core.event.RolePermissionChangedEvent;
+import com.vben.admin.core.exception.BusinessException;
+import com.vben.admin.mapper.RoleMapper;
+import com.vben.admin.mapper.RoleMenuMapper;
+import com.vben.admin.mapper.UserRoleMapper;
+import com.vben.admin.model.dto.RoleDTO;
+import com.vben.admin.model.entity.SysRole;
+import com.vben.admin.model.entity.SysRoleMenu;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 角色菜单授权规范化测试：补齐祖先菜单、丢弃已删除的菜单、快照过期时重新加载
+ *
+ * @author vben
+ */
+@ExtendWith(MockitoExtension.class)
+class RoleServiceImplTest {
+
+    private static final String ROLE_ID = "r1";
+
+    @Mock
+    private RoleMapper roleMapper;
+    @Mock
+    private RoleMenuMapper roleMenuMapper;
+    @Mock
+    private UserRoleMapper userRoleMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private MenuSnapshotCache menuSnapshotCache;
+
+    private RoleServiceImpl roleService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // Lambda 查询条件需要实体的表信息（正常运行时由 MyBatis-Plus 在启动时初始化）
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        for (Class<?> entity : List.of(SysRole.class, SysRoleMenu.class)) {
+            TableInfoHelper.initTableInfo(assistant, entity);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        roleService = new RoleServiceImpl(roleMapper, roleMenuMapper, userRoleMapper, eventPublisher, menuSnapshotCache);
+        SysRole role = new SysRole();
+        role.setId(ROLE_ID);
+        when(roleMapper.selectById(ROLE_ID)).thenReturn(role);
+    }
+
+    @Test
+    void grantAddsAncestorMenus() {
+        when(menuSnapshotCache.get()).thenReturn(snapshot(menu("system", "0"), menu("user", "system"),
+                menu("user-add", "user")));
+        when(roleMenuMapper.selectMenuIdsByRoleId(ROLE_ID)).thenReturn(List.of());
+
+        roleService.updateRole(ROLE_ID, permissions("user-add"));
+
+        assertEquals(Set.of("user-add", "user", "system"), insertedMenuIds());
+        verify(eventPublisher).publishEvent(any(RolePermissionChangedEvent.class));
+        verify(menuSnapshotCache, never()).invalidate();
+    }
+
+    @Test
+    void grantDropsDeletedMenusTheRoleAlreadyHad() {
+        when(menuSnapshotCache.get()).thenReturn(snapshot(menu("system", "0")));
+        when(roleMenuMapper.selectMenuIdsByRoleId(ROLE_ID)).thenReturn(List.of("system", "deleted"));
+
+        roleService.updateRole(ROLE_ID, permissions("system", "deleted"));
+
+        // 已删除的菜单从授权中移除，不视为无效ID
+        verify(roleMenuMapper).delete(any());
+        verify(roleMenuMapper, never()).insertBatch(anyList());
+    }
+
+    @Test
+    void grantReloadsStaleSnapshotForMenusCreatedOnAnotherNode() {
+        MenuSnapshot stale = snapshot(menu("system", "0"));
+        MenuSnapshot fresh = snapshot(menu("system", "0"), menu("report", "system"));
+        when(menuSnapshotCache.get()).thenReturn(stale, fresh);
+        when(roleMenuMapper.selectMenuIdsByRoleId(ROLE_ID)).thenReturn(List.of());
+
+        roleService.updateRole(ROLE_ID, permissions("report"));
+
+        verify(menuSnapshotCache).invalidate();
+        assertEquals(Set.of("report", "system"), insertedMenuIds());
+    }
+
+    @Test
+    void grantRejectsUnknownMenus() {
+        when(menuSnapshotCache.get()).thenReturn(snapshot(menu("system", "0")));
+        when(roleMenuMapper.selectMenuIdsByRoleId(ROLE_ID)).thenReturn(List.of());
+
+        BusinessException e = assertThrows(BusinessException.class,
+                () -> roleService.updateRole(ROLE_ID, permissions("system", "missing")));
+
+        assertTrue(e.getMessage().contains("missing"));
+        verify(roleMenuMapper, never()).insertBatch(anyList());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<String> insertedMenuIds() {
+        ArgumentCaptor<List<SysRoleMenu>> captor = ArgumentCaptor.forClass(List.class);
+        verify(roleMenuMapper).insertBatch(captor.capture());
+        return captor.getValue().stream().map(SysRoleMenu::getMenuId).collect(Collectors.toSet());
+    }
+
+    private static RoleDTO permissions(String... menuIds) {
+        RoleDTO roleDTO = new RoleDTO();
+        roleDTO.setPermissions(List.of(menuIds));
+        return roleDTO;
+    }
+
+    private static MenuSnapshot snapshot(MenuSnapshot.MenuEntry... menus) {
+        Map<String, MenuSnapshot.MenuEntry> byId = new LinkedHashMap<>();
+        for (MenuSnapshot.MenuEntry menu : menus) {
+            byId.put(menu.getId(), menu);
+        }
+        return new MenuSnapshot(1L, byId, Map.of());
+    }
+
+    private static MenuSnapshot.MenuEntry menu(String id, String pid) {
+        return new MenuSnapshot.MenuEntry(id, id, "/" + id, pid, "menu", null, null, null, 0, 1,
+                id, null, false, null, null, null, Map.of());
+    }
+}
@@ -0,0 +1,230 @@
+package com.vben.admin.service.impl;
+
+import com.vben.admin.core.constants.SystemConstants;
+import com.vben.admin.core.event.UserChangedEvent;
+import com.vben.admin.core.validation.UserUniquenessChecker;
+import com.vben.admin.mapper.DeptMapper;
+import com.vben.admin.mapper.RoleMapper;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.mapper.UserRoleMapper;
+import com.vben.admin.model.entity.SysDept;
+import com.vben.admin.model.entity.SysRole;
+import com.vben.admin.model.entity.SysUser;
+import com.vben.admin.model.entity.SysUserRole;
+import com.vben.admin.model.vo.UserImportResultVO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户导入测试：表头别名、文件内重复，以及校验或写入失败的行不占用唯一值
+ *
+ * @author vben
+ */
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    private static final String HEADER = "username,realName,phone,employeeNo,deptId,roleIds";
+
+    private static final Set<String> EXISTING_DEPTS = Set.of("d1");
+    private static final Set<String> EXISTING_ROLES = Set.of("r1", "r2");
+
+    @Mock
+    private UserMapper userMapper;
+    @Mock
+    private UserRoleMapper userRoleMapper;
+    @Mock
+    private RoleMapper roleMapper;
+    @Mock
+    private DeptMapper deptMapper;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(userMapper, new UserUniquenessChecker(userMapper), userRoleMapper,
+                roleMapper, deptMapper, passwordEncoder, transactionTemplate, eventPublisher);
+        ReflectionTestUtils.setField(userImportService, "hashConcurrency", 1);
+        userImportService.init();
+
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+        lenient().when(deptMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            return ids.stream().filter(EXISTING_DEPTS::contains).map(id -> {
+                SysDept dept = new SysDept();
+                dept.setId((String) id);
+                return dept;
+            }).toList();
+        });
+        lenient().when(roleMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<?> ids = invocation.getArgument(0);
+            return ids.stream().filter(EXISTING_ROLES::contains).map(id -> {
+                SysRole role = new SysRole();
+                role.setId((String) id);
+                return role;
+            }).toList();
+        });
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.destroy();
+    }
+
+    @Test
+    void importResolvesChineseAndFieldNameHeaderAliases() {
+        UserImportResultVO result = importCsv("用户名,RealName,手机号,EMPLOYEENO,部门ID,角色ID,性别,状态,密码",
+                "alice,Alice,13800000001,E001,d1,r1;r2,男,禁用,",
+                "bob,Bob,13800000002,E002,d1,r1,,,secret123");
+
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(0, result.getFailureCount());
+        List<SysUser> users = insertedUsers().get(0);
+        SysUser alice = users.get(0);
+        assertEquals("alice", alice.getUsername());
+        assertEquals("Alice", alice.getNickname());
+        assertEquals("13800000001", alice.getPhone());
+        assertEquals("E001", alice.getEmployeeNo());
+        assertEquals(1, alice.getGender());
+        assertEquals(0, alice.getStatus());
+        assertEquals("hash:" + SystemConstants.DEFAULT_USER_PASSWORD, alice.getPassword());
+        assertEquals("hash:secret123", users.get(1).getPassword());
+        assertEquals(1, users.get(1).getStatus());
+        assertEquals(3, insertedUserRoles().size());
+        verify(eventPublisher).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void importRejectsDuplicatesWithinFile() {
+        UserImportResultVO result = importCsv(HEADER,
+                "alice,Alice,13800000001,E001,d1,r1",
+                "alice,Alice,13800000002,E002,d1,r1",
+                "bob,Bob,13800000001,E003,d1,r1",
+                "carol,Carol,13800000003,E001,d1,r1");
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(List.of("用户名在文件中重复", "手机号在文件中重复", "工号在文件中重复"), errorMessages(result));
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(UserImportResultVO.RowError::getRowNumber).toList());
+    }
+
+    @Test
+    void rowWithMissingDeptOrRoleDoesNotBlockCorrectedCopy() {
+        UserImportResultVO result = importCsv(HEADER,
+                "alice,Alice,13800000001,E001,d-missing,r1",
+                "alice,Alice,13800000001,E001,d1,r1",
+                "bob,Bob,13800000002,E002,d1,r-missing",
+                "bob,Bob,13800000002,E002,d1,r2");
+
+        assertEquals(2, result.getSuccessCount());
+        assertEquals(List.of("部门不存在: d-missing", "角色不存在: r-missing"), errorMessages(result));
+        assertEquals(List.of("alice", "bob"), insertedUsers().get(0).stream().map(SysUser::getUsername).toList());
+    }
+
+    @Test
+    void rowConflictingWithDatabaseDoesNotBlockCorrectedCopy() {
+        SysUser existing = new SysUser();
+        existing.setId("existing");
+        existing.setUsername("someone");
+        existing.setPhone("13800000001");
+        when(userMapper.selectByUniqueKeys(anyCollection(), anyCollection(), anyCollection())).thenReturn(List.of(existing));
+
+        UserImportResultVO result = importCsv(HEADER,
+                "alice,Alice,13800000001,E001,d1,r1",
+                "alice,Alice,13800000002,E001,d1,r1");
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(List.of(UserUniquenessChecker.UniqueKey.PHONE.getMessage()), errorMessages(result));
+        assertEquals("13800000002", insertedUsers().get(0).get(0).getPhone());
+    }
+
+    @Test
+    void rolledBackChunkReleasesKeysForLaterRows() {
+        when(userMapper.insertBatch(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(1);
+
+        // 第一块 1000 行整块回滚，第二块中与第一块相同的行仍可导入
+        String[] rows = new String[1001];
+        for (int i = 0; i < 1000; i++) {
+            rows[i] = row(i);
+        }
+        rows[1000] = row(0);
+        UserImportResultVO result = importCsv(HEADER, rows);
+
+        assertEquals(1, result.getSuccessCount());
+        assertEquals(1000, result.getFailureCount());
+        assertEquals("写入失败，请检查后重新导入", result.getErrors().get(0).getMessage());
+        List<List<SysUser>> batches = insertedUsers();
+        assertEquals(2, batches.size());
+        assertEquals(List.of("user0000"), batches.get(1).stream().map(SysUser::getUsername).toList());
+        verify(eventPublisher, times(1)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    private UserImportResultVO importCsv(String header, String... rows) {
+        String content = header + "\n" + String.join("\n", rows) + "\n";
+        return userImportService.importUsers(new MockMultipartFile("file", "users.csv", "text/csv",
+                content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String row(int i) {
+        return String.format("user%04d,User %d,1380000%04d,E%04d,d1,r1", i, i, i, i);
+    }
+
+    private static List<String> errorMessages(UserImportResultVO result) {
+        return result.getErrors().stream().map(UserImportResultVO.RowError::getMessage).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<SysUser>> insertedUsers() {
+        ArgumentCaptor<List<SysUser>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userMapper, atLeastOnce()).insertBatch(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<SysUserRole> insertedUserRoles() {
+        ArgumentCaptor<List<SysUserRole>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRoleMapper).insertBatch(captor.capture());
+        return captor.getValue();
+    }
+}
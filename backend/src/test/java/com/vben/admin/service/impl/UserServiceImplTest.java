@@ -0,0 +1,228 @@
+package com.vben.admin.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.vben.admin.core.cache.UserNameCache;
+import com.vben.admin.core.cache.UserSearchIndex;
+import com.vben.admin.core.model.PageResult;
+import com.vben.admin.core.validation.UserUniquenessChecker;
+import com.vben.admin.mapper.DeptMapper;
+import com.vben.admin.mapper.RoleMapper;
+import com.vben.admin.mapper.UserMapper;
+import com.vben.admin.mapper.UserRoleMapper;
+import com.vben.admin.model.entity.SysDept;
+import com.vben.admin.model.entity.SysRole;
+import com.vben.admin.model.entity.SysUser;
+import com.vben.admin.model.entity.SysUserRole;
+import com.vben.admin.model.vo.UserVO;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户列表关联信息测试：整页用户的角色、部门和创建人/更新人名称使用固定次数的查询
+ *
+ * @author vben
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    /**
+     * 每页的查询次数：分页查询 + 用户角色、角色、部门、创建人/更新人名称各一次
+     */
+    private static final int QUERIES_PER_PAGE = 5;
+
+    private static final int ROLE_COUNT = 4;
+    private static final int DEPT_COUNT = 3;
+    private static final int OPERATOR_COUNT = 5;
+
+    @Mock
+    private UserMapper userMapper;
+    @Mock
+    private UserRoleMapper userRoleMapper;
+    @Mock
+    private RoleMapper roleMapper;
+    @Mock
+    private DeptMapper deptMapper;
+    @Mock
+    private UserSearchIndex userSearchIndex;
+    @Mock
+    private UserUniquenessChecker userUniquenessChecker;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserServiceImpl userService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // Lambda 查询条件需要实体的表信息（正常运行时由 MyBatis-Plus 在启动时初始化）
+        MapperBuilderAssistant assistant = new MapperBuilderAssistant(new MybatisConfiguration(), "");
+        for (Class<?> entity : List.of(SysUser.class, SysUserRole.class, SysRole.class, SysDept.class)) {
+            TableInfoHelper.initTableInfo(assistant, entity);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        UserNameCache userNameCache = new UserNameCache(userMapper);
+        ReflectionTestUtils.setField(userNameCache, "maxSize", 10000);
+        userService = new UserServiceImpl(userMapper, userRoleMapper, roleMapper, deptMapper, userNameCache,
+                userSearchIndex, userUniquenessChecker, passwordEncoder, eventPublisher);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100, 1000})
+    void getUserListUsesConstantQueriesPerPage(int pageSize) {
+        stubPage(pageSize);
+
+        PageResult<UserVO> result = userService.getUserList(1, pageSize, null, null, null, null, null, null, null);
+
+        assertEquals(pageSize, result.getList().size());
+        assertEquals(QUERIES_PER_PAGE, countMapperCalls());
+    }
+
+    @Test
+    void getUserListJoinsRolesDeptAndOperatorNames() {
+        stubPage(10);
+
+        List<UserVO> users = userService.getUserList(1, 10, null, null, null, null, null, null, null).getList();
+
+        for (int i = 0; i < users.size(); i++) {
+            UserVO user = users.get(i);
+            assertEquals("u" + i, user.getId());
+            assertEquals(List.of("r" + i % ROLE_COUNT, "r" + (i + 1) % ROLE_COUNT), user.getRoles());
+            assertEquals(List.of("角色" + i % ROLE_COUNT, "角色" + (i + 1) % ROLE_COUNT), user.getRoleNames());
+            assertEquals("部门" + i % DEPT_COUNT, user.getDeptName());
+            assertEquals("管理员", user.getCreateByName());
+            assertEquals("操作员" + i % OPERATOR_COUNT, user.getUpdateByName());
+        }
+    }
+
+    @Test
+    void getUserListKeepsMissingRelationsEmpty() {
+        SysUser user = user(0);
+        user.setDeptId("missing");
+        user.setUpdateBy(null);
+        when(userMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<SysUser> page = invocation.getArgument(0);
+            page.setRecords(List.of(user));
+            page.setTotal(1);
+            return page;
+        });
+        when(userRoleMapper.selectList(any())).thenReturn(List.of());
+        when(deptMapper.selectBatchIds(anyCollection())).thenReturn(List.of());
+        when(userMapper.selectList(any())).thenReturn(List.of());
+
+        UserVO vo = userService.getUserList(1, 10, null, null, null, null, null, null, null).getList().get(0);
+
+        assertEquals(List.of(), vo.getRoles());
+        assertEquals(List.of(), vo.getRoleNames());
+        assertNull(vo.getDeptName());
+        assertNull(vo.getCreateByName());
+        assertNull(vo.getUpdateByName());
+        // 没有角色时不查询角色表
+        assertEquals(QUERIES_PER_PAGE - 1, countMapperCalls());
+    }
+
+    /**
+     * 模拟一页用户：每个用户两个角色，部门和更新人轮流分配，创建人相同
+     *
+     * @param pageSize 每页大小
+     */
+    private void stubPage(int pageSize) {
+        List<SysUser> users = new ArrayList<>(pageSize);
+        List<SysUserRole> userRoles = new ArrayList<>(pageSize * 2);
+        for (int i = 0; i < pageSize; i++) {
+            users.add(user(i));
+            userRoles.add(userRole("u" + i, "r" + i % ROLE_COUNT));
+            userRoles.add(userRole("u" + i, "r" + (i + 1) % ROLE_COUNT));
+        }
+
+        List<SysRole> roles = new ArrayList<>();
+        for (int i = 0; i < ROLE_COUNT; i++) {
+            SysRole role = new SysRole();
+            role.setId("r" + i);
+            role.setName("角色" + i);
+            roles.add(role);
+        }
+        List<SysDept> depts = new ArrayList<>();
+        for (int i = 0; i < DEPT_COUNT; i++) {
+            SysDept dept = new SysDept();
+            dept.setId("d" + i);
+            dept.setName("部门" + i);
+            depts.add(dept);
+        }
+        List<SysUser> operators = new ArrayList<>();
+        operators.add(operator("admin", "管理员"));
+        for (int i = 0; i < OPERATOR_COUNT; i++) {
+            operators.add(operator("op" + i, "操作员" + i));
+        }
+
+        when(userMapper.selectPage(any(), any())).thenAnswer(invocation -> {
+            Page<SysUser> page = invocation.getArgument(0);
+            page.setRecords(users);
+            page.setTotal(users.size());
+            return page;
+        });
+        when(userRoleMapper.selectList(any())).thenReturn(userRoles);
+        when(roleMapper.selectBatchIds(anyCollection())).thenReturn(roles);
+        when(deptMapper.selectBatchIds(anyCollection())).thenReturn(depts);
+        when(userMapper.selectList(any())).thenReturn(operators);
+    }
+
+    private int countMapperCalls() {
+        int count = 0;
+        for (Object mapper : List.of(userMapper, userRoleMapper, roleMapper, deptMapper)) {
+            count += mockingDetails(mapper).getInvocations().size();
+        }
+        return count;
+    }
+
+    private static SysUser user(int index) {
+        SysUser user = new SysUser();
+        user.setId("u" + index);
+        user.setUsername("user" + index);
+        user.setRealName("用户" + index);
+        user.setDeptId("d" + index % DEPT_COUNT);
+        user.setCreateBy("admin");
+        user.setUpdateBy("op" + index % OPERATOR_COUNT);
+        return user;
+    }
+
+    private static SysUser operator(String id, String realName) {
+        SysUser user = new SysUser();
+        user.setId(id);
+        user.setUsername(id);
+        user.setRealName(realName);
+        return user;
+    }
+
+    private static SysUserRole userRole(String userId, String roleId) {
+        SysUserRole userRole = new SysUserRole();
+        userRole.setUserId(userId);
+        userRole.setRoleId(roleId);
+        return userRole;
+    }
+}